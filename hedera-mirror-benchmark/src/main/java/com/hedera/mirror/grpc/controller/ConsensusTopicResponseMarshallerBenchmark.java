@@ -0,0 +1,114 @@
+package com.hedera.mirror.grpc.controller;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hedera.mirror.api.proto.ConsensusServiceGrpc;
+import com.hedera.mirror.api.proto.ConsensusTopicResponse;
+import com.hedera.mirror.grpc.domain.TopicMessage;
+
+/**
+ * Measures writing a new topic message to all the subscribers of its topic, like gRPC does for each subscriber stream,
+ * with the generated protobuf marshaller and with the marshaller that serializes the response once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class ConsensusTopicResponseMarshallerBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int subscribers;
+
+    @Param({"100", "1024"})
+    public int messageSize;
+
+    private final OutputStream outputStream = OutputStream.nullOutputStream();
+    private byte[] message;
+    private byte[] runningHash;
+    private MethodDescriptor.Marshaller<ConsensusTopicResponse> protobufMarshaller;
+    private MethodDescriptor.Marshaller<ConsensusTopicResponse> sharedMarshaller;
+    private long sequenceNumber = 0L;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(messageSize);
+        message = new byte[messageSize];
+        runningHash = new byte[48];
+        random.nextBytes(message);
+        random.nextBytes(runningHash);
+        protobufMarshaller = ConsensusServiceGrpc.getSubscribeTopicMethod().getResponseMarshaller();
+        sharedMarshaller = new ConsensusTopicResponseMarshaller(protobufMarshaller);
+    }
+
+    @Benchmark
+    public int protobuf() throws IOException {
+        return fanOut(protobufMarshaller);
+    }
+
+    @Benchmark
+    public int shared() throws IOException {
+        return fanOut(sharedMarshaller);
+    }
+
+    private int fanOut(MethodDescriptor.Marshaller<ConsensusTopicResponse> marshaller) throws IOException {
+        ConsensusTopicResponse response = topicMessage().getResponse();
+        int bytes = 0;
+
+        for (int i = 0; i < subscribers; i++) {
+            bytes += ((Drainable) marshaller.stream(response)).drainTo(outputStream);
+        }
+
+        return bytes;
+    }
+
+    private TopicMessage topicMessage() {
+        return TopicMessage.builder()
+                .consensusTimestamp(Instant.now())
+                .message(message)
+                .realmNum(0)
+                .runningHash(runningHash)
+                .runningHashVersion(2)
+                .sequenceNumber(++sequenceNumber)
+                .topicNum(1000)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.hedera.mirror.importer.addressbook;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import lombok.RequiredArgsConstructor;
+
+import com.hedera.mirror.importer.domain.AddressBook;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.FileData;
+
+/**
+ * Serves a fixed address book without a database, treating no file as an address book file.
+ */
+@RequiredArgsConstructor
+public class StaticAddressBookService implements AddressBookService {
+
+    private final AddressBook addressBook;
+
+    @Override
+    public AddressBook getCurrent() {
+        return addressBook;
+    }
+
+    @Override
+    public boolean isAddressBook(EntityId entityId) {
+        return false;
+    }
+
+    @Override
+    public AddressBook migrate() {
+        return addressBook;
+    }
+
+    @Override
+    public void update(FileData fileData) {
+        // The address book never changes during a benchmark
+    }
+}
@@ -0,0 +1,103 @@
+package com.hedera.mirror.importer.domain;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.hederahashgraph.api.proto.java.AccountID;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hedera.mirror.importer.util.EntityIdEndec;
+
+/**
+ * Measures converting entity IDs between their protobuf, string and encoded forms, which happens several times for
+ * every transaction the importer ingests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class EntityIdBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private final AccountID[] accountIds = new AccountID[COUNT];
+    private final long[] encodedIds = new long[COUNT];
+    private final long[] nums = new long[COUNT];
+    private final String[] strings = new String[COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(COUNT);
+
+        for (int i = 0; i < COUNT; i++) {
+            nums[i] = 1L + random.nextInt(Integer.MAX_VALUE);
+            accountIds[i] = AccountID.newBuilder().setAccountNum(nums[i]).build();
+            encodedIds[i] = EntityIdEndec.encode(0L, 0L, nums[i]);
+            strings[i] = "0.0." + nums[i];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void encode(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(EntityIdEndec.encode(0L, 0L, nums[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void decode(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(EntityIdEndec.decode(encodedIds[i], EntityTypeEnum.ACCOUNT));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void ofAccountId(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(EntityId.of(accountIds[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void ofString(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(EntityId.of(strings[i], EntityTypeEnum.ACCOUNT));
+        }
+    }
+}
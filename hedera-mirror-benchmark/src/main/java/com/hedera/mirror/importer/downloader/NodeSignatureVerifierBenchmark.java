@@ -0,0 +1,125 @@
+package com.hedera.mirror.importer.downloader;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hedera.mirror.importer.MirrorProperties;
+import com.hedera.mirror.importer.addressbook.StaticAddressBookService;
+import com.hedera.mirror.importer.domain.AddressBook;
+import com.hedera.mirror.importer.domain.AddressBookEntry;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.FileStreamSignature;
+import com.hedera.mirror.importer.domain.FileStreamSignature.SignatureType;
+import com.hedera.mirror.importer.domain.StreamType;
+
+/**
+ * Measures verifying the signature files of one record file against an address book with freshly generated RSA keys of
+ * the same size as the network's node keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class NodeSignatureVerifierBenchmark {
+
+    private static final int KEY_SIZE = 3072;
+
+    @Param({"4", "13", "39"})
+    public int nodes;
+
+    private final List<FileStreamSignature> signatures = new ArrayList<>();
+    private NodeSignatureVerifier nodeSignatureVerifier;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        Random random = new Random(nodes);
+        byte[] fileHash = new byte[48];
+        byte[] metadataHash = new byte[48];
+        random.nextBytes(fileHash);
+        random.nextBytes(metadataHash);
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(KEY_SIZE);
+        List<AddressBookEntry> entries = new ArrayList<>();
+
+        for (int i = 0; i < nodes; i++) {
+            KeyPair keyPair = keyPairGenerator.generateKeyPair();
+            EntityId nodeAccountId = EntityId.of(0L, 0L, 3L + i, EntityTypeEnum.ACCOUNT);
+            entries.add(AddressBookEntry.builder()
+                    .nodeAccountId(nodeAccountId)
+                    .publicKey(Hex.encodeHexString(keyPair.getPublic().getEncoded()))
+                    .build());
+
+            Signature signer = Signature.getInstance("SHA384withRSA", "SunRsaSign");
+            signer.initSign(keyPair.getPrivate());
+
+            FileStreamSignature fileStreamSignature = new FileStreamSignature();
+            fileStreamSignature.setFilename("2021-01-11T22_09_24.063739000Z.rcd_sig");
+            fileStreamSignature.setFileHash(fileHash);
+            fileStreamSignature.setFileHashSignature(sign(signer, fileHash));
+            fileStreamSignature.setMetadataHash(metadataHash);
+            fileStreamSignature.setMetadataHashSignature(sign(signer, metadataHash));
+            fileStreamSignature.setNodeAccountId(nodeAccountId);
+            fileStreamSignature.setSignatureType(SignatureType.SHA_384_WITH_RSA);
+            fileStreamSignature.setStreamType(StreamType.RECORD);
+            signatures.add(fileStreamSignature);
+        }
+
+        AddressBook addressBook = AddressBook.builder().entries(entries).nodeCount(nodes).build();
+        var commonDownloaderProperties = new CommonDownloaderProperties(new MirrorProperties());
+        nodeSignatureVerifier = new NodeSignatureVerifier(new StaticAddressBookService(addressBook),
+                commonDownloaderProperties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void verify() {
+        nodeSignatureVerifier.verify(signatures);
+    }
+
+    private byte[] sign(Signature signer, byte[] hash) throws GeneralSecurityException {
+        signer.update(hash);
+        return signer.sign();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.parser.record.entity.sql.TransactionRowWriter;
+
+/**
+ * Measures serializing transaction rows to the CSV and binary COPY formats. Rows are written to a stream that only
+ * counts the bytes so that the encoding is measured, not the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class PgCopyBenchmark {
+
+    private static final int COUNT = 1000;
+
+    @Param
+    public Format format;
+
+    private final List<Transaction> transactions = new ArrayList<>(COUNT);
+    private final CountingOutputStream outputStream = new CountingOutputStream();
+    private PgCopy<Transaction> pgCopy;
+
+    @Setup
+    public void setup() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var properties = new RecordParserProperties();
+        pgCopy = format == Format.BINARY ?
+                new BinaryPgCopy<>(Transaction.class, meterRegistry, properties, TransactionRowWriter.INSTANCE) :
+                new PgCopy<>(Transaction.class, meterRegistry, properties);
+
+        Random random = new Random(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            byte[] transactionBytes = new byte[200];
+            byte[] transactionHash = new byte[48];
+            random.nextBytes(transactionBytes);
+            random.nextBytes(transactionHash);
+
+            Transaction transaction = new Transaction();
+            transaction.setChargedTxFee(84_000L);
+            transaction.setConsensusNs(1_600_000_000_000_000_000L + i);
+            transaction.setEntityId(accountId(random));
+            transaction.setInitialBalance(0L);
+            transaction.setMaxFee(100_000_000L);
+            transaction.setMemo(("memo " + i).getBytes());
+            transaction.setNodeAccountId(EntityId.of(0L, 0L, 3L, EntityTypeEnum.ACCOUNT));
+            transaction.setPayerAccountId(accountId(random));
+            transaction.setResult(22);
+            transaction.setTransactionBytes(transactionBytes);
+            transaction.setTransactionHash(transactionHash);
+            transaction.setType(14);
+            transaction.setValidDurationSeconds(120L);
+            transaction.setValidStartNs(transaction.getConsensusNs() - 10_000_000_000L);
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long write() throws IOException {
+        pgCopy.write(transactions, outputStream);
+        return outputStream.count;
+    }
+
+    private EntityId accountId(Random random) {
+        return EntityId.of(0L, 0L, 1000L + random.nextInt(100_000), EntityTypeEnum.ACCOUNT);
+    }
+
+    // The CSV writer closes its target, so a closeable null stream can't be reused across invocations
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public enum Format {
+        BINARY,
+        CSV
+    }
+}
@@ -0,0 +1,106 @@
+package com.hedera.mirror.importer.parser.domain;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing a record item from its serialized transaction and record, either from separate arrays as the pre-v5
+ * readers used to do or from slices of a single file buffer as the current readers do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class RecordItemBenchmark {
+
+    private static final int COUNT = 1000;
+
+    @Param
+    public SyntheticRecordItems.Type type;
+
+    private byte[][] transactionBytes;
+    private byte[][] recordBytes;
+    private ByteBuffer[] transactionBuffers;
+    private ByteBuffer[] recordBuffers;
+
+    @Setup
+    public void setup() {
+        List<RecordItem> recordItems = SyntheticRecordItems.generate(type, COUNT);
+        transactionBytes = new byte[COUNT][];
+        recordBytes = new byte[COUNT][];
+        transactionBuffers = new ByteBuffer[COUNT];
+        recordBuffers = new ByteBuffer[COUNT];
+
+        // Lay the items out back to back like a record file so the buffers are slices of a shared array
+        int size = recordItems.stream()
+                .mapToInt(r -> r.getTransactionBytes().length + r.getRecordBytes().length)
+                .sum();
+        ByteBuffer file = ByteBuffer.allocate(size);
+
+        for (int i = 0; i < COUNT; i++) {
+            RecordItem recordItem = recordItems.get(i);
+            transactionBytes[i] = recordItem.getTransactionBytes();
+            recordBytes[i] = recordItem.getRecordBytes();
+            transactionBuffers[i] = slice(file, transactionBytes[i]);
+            recordBuffers[i] = slice(file, recordBytes[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void fromBytes(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(new RecordItem(transactionBytes[i], recordBytes[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void fromByteBuffer(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(new RecordItem(transactionBuffers[i], recordBuffers[i]));
+        }
+    }
+
+    private ByteBuffer slice(ByteBuffer file, byte[] bytes) {
+        int start = file.position();
+        file.put(bytes);
+        return file.duplicate().position(start).limit(file.position()).slice();
+    }
+}
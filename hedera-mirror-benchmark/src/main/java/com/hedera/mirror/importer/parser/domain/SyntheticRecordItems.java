@@ -0,0 +1,147 @@
+package com.hedera.mirror.importer.parser.domain;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.hederahashgraph.api.proto.java.TransferList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Generates record items shaped like those found in mainnet record streams, without needing a network or a database.
+ * The generated items are deterministic so that results are comparable between runs.
+ */
+@UtilityClass
+public class SyntheticRecordItems {
+
+    private static final long FEE = 84_000L;
+    private static final long FEE_COLLECTOR = 98L;
+    private static final long NODE = 3L;
+    private static final long START_SECONDS = 1_600_000_000L;
+
+    public static List<RecordItem> generate(Type type, int count) {
+        Random random = new Random(count);
+        List<RecordItem> recordItems = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            recordItems.add(generate(type, i, random));
+        }
+
+        return recordItems;
+    }
+
+    private static RecordItem generate(Type type, int index, Random random) {
+        AccountID payer = accountId(1000L + random.nextInt(100_000));
+        TransactionID transactionId = TransactionID.newBuilder()
+                .setAccountID(payer)
+                .setTransactionValidStart(Timestamp.newBuilder().setSeconds(START_SECONDS + index - 10L))
+                .build();
+        TransactionBody.Builder body = TransactionBody.newBuilder()
+                .setMemo("synthetic " + index)
+                .setNodeAccountID(accountId(NODE))
+                .setTransactionFee(100_000_000L)
+                .setTransactionID(transactionId)
+                .setTransactionValidDuration(Duration.newBuilder().setSeconds(120L));
+        TransactionRecord.Builder record = TransactionRecord.newBuilder()
+                .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(START_SECONDS + index).setNanos(index))
+                .setMemo(body.getMemo())
+                .setTransactionFee(FEE)
+                .setTransactionHash(bytes(random, 48))
+                .setTransactionID(transactionId);
+        TransferList.Builder transfers = TransferList.newBuilder()
+                .addAccountAmounts(accountAmount(payer, -FEE))
+                .addAccountAmounts(accountAmount(accountId(NODE), FEE / 4))
+                .addAccountAmounts(accountAmount(accountId(FEE_COLLECTOR), FEE - FEE / 4));
+        TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.SUCCESS);
+
+        switch (type) {
+            case CONSENSUS_SUBMIT_MESSAGE:
+                body.setConsensusSubmitMessage(ConsensusSubmitMessageTransactionBody.newBuilder()
+                        .setMessage(bytes(random, 256))
+                        .setTopicID(TopicID.newBuilder().setTopicNum(1000L)));
+                receipt.setTopicRunningHash(bytes(random, 48))
+                        .setTopicRunningHashVersion(3L)
+                        .setTopicSequenceNumber(index + 1L);
+                break;
+            case CRYPTO_TRANSFER:
+                AccountID receiver = accountId(1000L + random.nextInt(100_000));
+                long amount = 1L + random.nextInt(1_000_000);
+                body.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder()
+                        .setTransfers(TransferList.newBuilder()
+                                .addAccountAmounts(accountAmount(payer, -amount))
+                                .addAccountAmounts(accountAmount(receiver, amount))));
+                transfers.addAccountAmounts(accountAmount(payer, -amount))
+                        .addAccountAmounts(accountAmount(receiver, amount));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+
+        SignedTransaction signedTransaction = SignedTransaction.newBuilder()
+                .setBodyBytes(body.build().toByteString())
+                .setSigMap(SignatureMap.newBuilder().addSigPair(SignaturePair.newBuilder()
+                        .setEd25519(bytes(random, 64))
+                        .setPubKeyPrefix(bytes(random, 32))))
+                .build();
+        Transaction transaction = Transaction.newBuilder()
+                .setSignedTransactionBytes(signedTransaction.toByteString())
+                .build();
+        record.setReceipt(receipt).setTransferList(transfers);
+        return new RecordItem(transaction.toByteArray(), record.build().toByteArray());
+    }
+
+    private static AccountID accountId(long num) {
+        return AccountID.newBuilder().setAccountNum(num).build();
+    }
+
+    private static AccountAmount accountAmount(AccountID accountId, long amount) {
+        return AccountAmount.newBuilder().setAccountID(accountId).setAmount(amount).build();
+    }
+
+    private static ByteString bytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+
+    public enum Type {
+        CONSENSUS_SUBMIT_MESSAGE,
+        CRYPTO_TRANSFER
+    }
+}
@@ -0,0 +1,118 @@
+package com.hedera.mirror.importer.parser.record.entity;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hedera.mirror.importer.addressbook.StaticAddressBookService;
+import com.hedera.mirror.importer.domain.AddressBook;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.TopicMessage;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.domain.TransactionSignature;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
+import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.domain.SyntheticRecordItems;
+import com.hedera.mirror.importer.parser.record.NonFeeTransferExtractionStrategyImpl;
+import com.hedera.mirror.importer.parser.record.transactionhandler.TransactionHandlerFactories;
+
+/**
+ * Measures converting record items to domain objects with the default persist properties. The domain objects are
+ * counted instead of persisted, so the database is not part of the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class EntityRecordItemListenerBenchmark {
+
+    private static final int COUNT = 1000;
+
+    @Param
+    public SyntheticRecordItems.Type type;
+
+    private final CountingEntityListener entityListener = new CountingEntityListener();
+    private EntityRecordItemListener entityRecordItemListener;
+    private List<RecordItem> recordItems;
+
+    @Setup
+    public void setup() {
+        entityRecordItemListener = new EntityRecordItemListener(new CommonParserProperties(), new EntityProperties(),
+                new StaticAddressBookService(new AddressBook()), new NonFeeTransferExtractionStrategyImpl(),
+                entityListener, TransactionHandlerFactories.create(), null, event -> {});
+        recordItems = SyntheticRecordItems.generate(type, COUNT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long onItem() {
+        for (RecordItem recordItem : recordItems) {
+            entityRecordItemListener.onItem(recordItem);
+        }
+        return entityListener.count;
+    }
+
+    private static class CountingEntityListener implements EntityListener {
+
+        private long count;
+
+        @Override
+        public void onCryptoTransfer(CryptoTransfer cryptoTransfer) {
+            count++;
+        }
+
+        @Override
+        public void onEntityId(EntityId entityId) {
+            count++;
+        }
+
+        @Override
+        public void onTopicMessage(TopicMessage topicMessage) {
+            count++;
+        }
+
+        @Override
+        public void onTransaction(Transaction transaction) {
+            count++;
+        }
+
+        @Override
+        public void onTransactionSignature(TransactionSignature transactionSignature) {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.hedera.mirror.importer.parser.record.transactionhandler;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Wires the transaction handlers the way the application context does, for use outside of Spring. There is no
+ * database, so token updates that change the treasury of NFTs can't be handled.
+ */
+@UtilityClass
+public class TransactionHandlerFactories {
+
+    public static TransactionHandlerFactory create() {
+        return new TransactionHandlerFactory(
+                new ConsensusCreateTopicTransactionHandler(),
+                new ConsensusDeleteTopicTransactionHandler(),
+                new ConsensusSubmitMessageTransactionHandler(),
+                new ConsensusUpdateTopicTransactionHandler(),
+                new ContractCallTransactionHandler(),
+                new ContractCreateTransactionHandler(),
+                new ContractDeleteTransactionHandler(),
+                new ContractUpdateTransactionHandler(),
+                new CryptoAddLiveHashTransactionHandler(),
+                new CryptoCreateTransactionHandler(),
+                new CryptoDeleteLiveHashTransactionHandler(),
+                new CryptoDeleteTransactionHandler(),
+                new CryptoTransferTransactionHandler(),
+                new CryptoUpdateTransactionHandler(),
+                new FileAppendTransactionHandler(),
+                new FileCreateTransactionHandler(),
+                new FileDeleteTransactionHandler(),
+                new FileUpdateTransactionHandler(),
+                new ScheduleCreateTransactionHandler(),
+                new ScheduleSignTransactionHandler(),
+                new TokenAssociateTransactionHandler(),
+                new TokenBurnTransactionHandler(),
+                new TokenCreateTransactionHandler(),
+                new TokenDeleteTransactionHandler(),
+                new TokenDissociateTransactionHandler(),
+                new TokenFeeScheduleUpdateTransactionHandler(),
+                new TokenFreezeTransactionHandler(),
+                new TokenGrantKycTransactionHandler(),
+                new TokenMintTransactionHandler(),
+                new TokenRevokeKycTransactionHandler(),
+                new TokenUnfreezeTransactionHandler(),
+                new TokenUpdateTransactionHandler(null, null),
+                new TokenWipeTransactionHandler(),
+                new SystemDeleteTransactionHandler(),
+                new SystemUndeleteTransactionHandler(),
+                new UnknownDataTransactionHandler());
+    }
+}
@@ -0,0 +1,128 @@
+package com.hedera.mirror.importer.reader.record;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import com.hedera.mirror.importer.domain.RecordFile;
+import com.hedera.mirror.importer.domain.StreamFileData;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
+/**
+ * Measures reading and hashing the record files checked in for the importer tests, as well as synthetic v5 files that
+ * are closer in size to the ones currently produced by the network. Decoding the record items is measured separately
+ * since it happens lazily on the parser's threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class RecordFileReaderBenchmark {
+
+    private static final String SYNTHETIC = "-synthetic";
+    private static final int SYNTHETIC_SIZE = 1024 * 1024;
+
+    // Sizes of the v5 file header and of the end running hash that surround the record stream objects
+    private static final int V5_HEADER_LENGTH = 88;
+    private static final int V5_END_HASH_LENGTH = 68;
+
+    @Param({"v2", "v5", "v5" + SYNTHETIC})
+    public String version;
+
+    private final List<StreamFileData> streamFileData = new ArrayList<>();
+    private RecordFileReader recordFileReader;
+
+    @Setup
+    public void setup() throws IOException {
+        var recordParserProperties = new RecordParserProperties();
+        recordFileReader = new CompositeRecordFileReader(new RecordFileReaderImplV1(recordParserProperties),
+                new RecordFileReaderImplV2(recordParserProperties), new RecordFileReaderImplV5(recordParserProperties));
+
+        boolean synthetic = version.endsWith(SYNTHETIC);
+        String directory = version.replace(SYNTHETIC, "");
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:data/recordstreams/" + directory + "/record0.0.3/*.rcd");
+
+        for (Resource resource : resources) {
+            byte[] bytes = resource.getInputStream().readAllBytes();
+            if (synthetic) {
+                bytes = pad(bytes);
+            }
+            streamFileData.add(StreamFileData.from(resource.getFilename(), bytes));
+        }
+
+        if (streamFileData.isEmpty()) {
+            throw new IllegalStateException("No record files found for " + version);
+        }
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) {
+        for (StreamFileData data : streamFileData) {
+            blackhole.consume(recordFileReader.read(data));
+        }
+    }
+
+    @Benchmark
+    public void readAndDecode(Blackhole blackhole) {
+        for (StreamFileData data : streamFileData) {
+            RecordFile recordFile = recordFileReader.read(data);
+            recordFile.getItems().doOnNext(blackhole::consume).blockLast();
+        }
+    }
+
+    /**
+     * Repeats the record stream objects of a v5 file until it's about SYNTHETIC_SIZE bytes. The repeated objects are
+     * still valid, but the file hash and running hashes no longer match those in its signature file.
+     */
+    private byte[] pad(byte[] bytes) {
+        int end = bytes.length - V5_END_HASH_LENGTH;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(SYNTHETIC_SIZE + bytes.length);
+        outputStream.write(bytes, 0, V5_HEADER_LENGTH);
+
+        while (outputStream.size() < SYNTHETIC_SIZE) {
+            outputStream.write(bytes, V5_HEADER_LENGTH, end - V5_HEADER_LENGTH);
+        }
+
+        outputStream.write(bytes, end, V5_END_HASH_LENGTH);
+        return outputStream.toByteArray();
+    }
+}
@@ -42,6 +42,9 @@ public class DbProperties {
     @Min(0)
     private int port = 5432;
 
+    @Min(1)
+    private int reactivePoolSize = 10;
+
     @NotBlank
     private String username = "";
 }
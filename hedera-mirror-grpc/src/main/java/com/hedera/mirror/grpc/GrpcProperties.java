@@ -51,4 +51,6 @@ public class GrpcProperties {
     private NettyProperties netty = new NettyProperties();
 
     private long shard = 0;
+
+    private boolean sharedSerialization = false;
 }
@@ -21,15 +21,23 @@ package com.hedera.mirror.grpc.config;
  */
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
 import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
 import io.grpc.services.HealthStatusManager;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import net.devh.boot.grpc.server.service.GrpcService;
 import net.devh.boot.grpc.server.service.GrpcServiceDefinition;
 import net.devh.boot.grpc.server.service.GrpcServiceDiscoverer;
 import org.springframework.boot.actuate.health.CompositeHealthContributor;
@@ -37,7 +45,12 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.hedera.mirror.api.proto.ConsensusServiceGrpc;
+import com.hedera.mirror.api.proto.ConsensusTopicQuery;
+import com.hedera.mirror.api.proto.ConsensusTopicResponse;
 import com.hedera.mirror.grpc.GrpcProperties;
+import com.hedera.mirror.grpc.controller.ConsensusController;
+import com.hedera.mirror.grpc.controller.ConsensusTopicResponseMarshaller;
 
 @Configuration
 public class GrpcConfiguration {
@@ -56,6 +69,37 @@ public class GrpcConfiguration {
         return CompositeHealthContributor.fromMap(healthIndicators);
     }
 
+    /**
+     * Binds the consensus service, optionally with a response marshaller for subscribeTopic that serializes each
+     * response once for all subscribers to a topic. The generated bindService() is final, so the bound methods are
+     * copied instead.
+     */
+    @Bean
+    @GrpcService
+    BindableService consensusService(ConsensusController consensusController, GrpcProperties grpcProperties) {
+        if (!grpcProperties.isSharedSerialization()) {
+            return consensusController;
+        }
+
+        ServerServiceDefinition definition = consensusController.bindService();
+        ServiceDescriptor serviceDescriptor = definition.getServiceDescriptor();
+        String subscribeTopic = ConsensusServiceGrpc.getSubscribeTopicMethod().getFullMethodName();
+
+        List<ServerMethodDefinition<?, ?>> methods = definition.getMethods()
+                .stream()
+                .map(m -> m.getMethodDescriptor().getFullMethodName().equals(subscribeTopic) ? sharedResponses(m) : m)
+                .collect(Collectors.toList());
+
+        ServiceDescriptor.Builder serviceDescriptorBuilder = ServiceDescriptor.newBuilder(serviceDescriptor.getName())
+                .setSchemaDescriptor(serviceDescriptor.getSchemaDescriptor());
+        methods.forEach(m -> serviceDescriptorBuilder.addMethod(m.getMethodDescriptor()));
+
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(serviceDescriptorBuilder.build());
+        methods.forEach(builder::addMethod);
+        ServerServiceDefinition serverServiceDefinition = builder.build();
+        return () -> serverServiceDefinition;
+    }
+
     @Bean
     public GrpcServerConfigurer grpcServerConfigurer(GrpcProperties grpcProperties) {
         NettyProperties nettyProperties = grpcProperties.getNetty();
@@ -77,4 +121,14 @@ public class GrpcConfiguration {
                 .maxInboundMessageSize(nettyProperties.getMaxInboundMessageSize())
                 .maxInboundMetadataSize(nettyProperties.getMaxInboundMetadataSize());
     }
+
+    @SuppressWarnings("unchecked")
+    private ServerMethodDefinition<?, ?> sharedResponses(ServerMethodDefinition<?, ?> method) {
+        var subscribeTopic = (ServerMethodDefinition<ConsensusTopicQuery, ConsensusTopicResponse>) method;
+        MethodDescriptor<ConsensusTopicQuery, ConsensusTopicResponse> methodDescriptor = subscribeTopic
+                .getMethodDescriptor();
+        var marshaller = new ConsensusTopicResponseMarshaller(methodDescriptor.getResponseMarshaller());
+        return ServerMethodDefinition.create(methodDescriptor.toBuilder().setResponseMarshaller(marshaller).build(),
+                subscribeTopic.getServerCallHandler());
+    }
 }
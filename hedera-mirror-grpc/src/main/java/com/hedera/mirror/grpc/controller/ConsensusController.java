@@ -25,10 +25,10 @@ import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import java.time.Instant;
 import java.util.concurrent.TimeoutException;
+import javax.inject.Named;
 import javax.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import net.devh.boot.grpc.server.service.GrpcService;
 import org.springframework.dao.NonTransientDataAccessResourceException;
 import org.springframework.dao.TransientDataAccessException;
 import reactor.core.Exceptions;
@@ -49,9 +49,9 @@ import com.hedera.mirror.grpc.util.ProtoUtil;
  * GRPC calls their protocol adapter layer a service, but most of the industry calls this layer the controller layer.
  * See the Front Controller pattern or Model-View-Controller (MVC) pattern. The service layer is generally reserved for
  * non-protocol specific business logic so to avoid confusion with our TopicMessageService we'll name this GRPC layer as
- * controller.
+ * controller. It's bound to the server in GrpcConfiguration so that its responses can use a custom marshaller.
  */
-@GrpcService
+@Named
 @Log4j2
 @RequiredArgsConstructor
 public class ConsensusController extends ReactorConsensusServiceGrpc.ConsensusServiceImplBase {
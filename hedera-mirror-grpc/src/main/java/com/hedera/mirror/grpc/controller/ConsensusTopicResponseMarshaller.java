@@ -0,0 +1,77 @@
+package com.hedera.mirror.grpc.controller;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import lombok.RequiredArgsConstructor;
+
+import com.hedera.mirror.api.proto.ConsensusTopicResponse;
+
+/**
+ * Serializes each ConsensusTopicResponse once and writes the same bytes to every subscriber it's sent to, instead of
+ * serializing it again for each subscriber stream. Subscribers to a topic receive the same response instance from the
+ * shared TopicMessage, so the bytes are cached by the identity of the response for as long as it's referenced.
+ */
+@RequiredArgsConstructor
+public class ConsensusTopicResponseMarshaller implements MethodDescriptor.Marshaller<ConsensusTopicResponse> {
+
+    private final Cache<ConsensusTopicResponse, byte[]> serialized = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+    private final MethodDescriptor.Marshaller<ConsensusTopicResponse> delegate;
+
+    @Override
+    public InputStream stream(ConsensusTopicResponse response) {
+        return new SharedInputStream(serialized.get(response, ConsensusTopicResponse::toByteArray));
+    }
+
+    @Override
+    public ConsensusTopicResponse parse(InputStream stream) {
+        return delegate.parse(stream);
+    }
+
+    /**
+     * Lets gRPC size the frame up front and copy the shared bytes straight into its buffer, like it does for protobuf
+     * messages.
+     */
+    private static class SharedInputStream extends ByteArrayInputStream implements Drainable, KnownLength {
+
+        private SharedInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int drainTo(OutputStream target) throws IOException {
+            int length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+}
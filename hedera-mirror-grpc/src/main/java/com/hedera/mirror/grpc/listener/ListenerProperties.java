@@ -27,6 +27,7 @@ import javax.validation.constraints.NotNull;
 import lombok.Data;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 @Data
@@ -34,6 +35,9 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties("hedera.mirror.grpc.listener")
 public class ListenerProperties {
 
+    @NotNull
+    private BufferProperties buffer = new BufferProperties();
+
     private boolean enabled = true;
 
     @Min(8192)
@@ -51,9 +55,41 @@ public class ListenerProperties {
     @Max(256)
     private int prefetch = 48;
 
+    private boolean reactive = false;
+
+    @NotNull
+    private RedisProperties redis = new RedisProperties();
+
     @NotNull
     private ListenerType type = ListenerType.REDIS;
 
+    @Data
+    @Validated
+    public static class BufferProperties {
+
+        private boolean enabled = false;
+
+        @DurationMin(seconds = 1)
+        @NotNull
+        private Duration expiry = Duration.ofMinutes(10L);
+
+        @NotNull
+        private DataSize maxMemory = DataSize.ofMegabytes(64L);
+
+        @Min(1)
+        private int maxMessages = 1000;
+
+        @Min(1)
+        private int maxTopics = 1000;
+    }
+
+    @Data
+    @Validated
+    public static class RedisProperties {
+
+        private boolean pattern = false;
+    }
+
     public enum ListenerType {
         NOTIFY,
         POLL,
@@ -22,6 +22,7 @@ package com.hedera.mirror.grpc.listener;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.pubsub.PgChannel;
@@ -43,9 +44,10 @@ public class NotifyingTopicListener extends SharedTopicListener {
 
     final ObjectMapper objectMapper;
     private final PgChannel channel;
-    private final Flux<TopicMessage> topicMessages;
+    private final TopicMessageDispatcher topicMessageDispatcher;
 
-    public NotifyingTopicListener(DbProperties dbProperties, ListenerProperties listenerProperties) {
+    public NotifyingTopicListener(DbProperties dbProperties, ListenerProperties listenerProperties,
+                                  MeterRegistry meterRegistry) {
         super(listenerProperties);
 
         this.objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
@@ -74,7 +76,7 @@ public class NotifyingTopicListener extends SharedTopicListener {
 
         channel = subscriber.channel("topic_message");
 
-        topicMessages = Flux.defer(() -> listen())
+        Flux<TopicMessage> topicMessages = Flux.defer(() -> listen())
                 .map(this::toTopicMessage)
                 .filter(Objects::nonNull)
                 .name("notify")
@@ -82,11 +84,13 @@ public class NotifyingTopicListener extends SharedTopicListener {
                 .doOnError(t -> log.error("Error listening for messages", t))
                 .retryWhen(Retry.backoff(Long.MAX_VALUE, interval).maxBackoff(interval.multipliedBy(4L)))
                 .share();
+        topicMessageDispatcher = new TopicMessageDispatcher(topicMessages, meterRegistry,
+                ListenerProperties.ListenerType.NOTIFY.toString());
     }
 
     @Override
     protected Flux<TopicMessage> getSharedListener(TopicMessageFilter filter) {
-        return topicMessages;
+        return topicMessageDispatcher.listen(filter);
     }
 
     private Flux<String> listen() {
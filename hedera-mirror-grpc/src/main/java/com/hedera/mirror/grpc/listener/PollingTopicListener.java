@@ -36,6 +36,7 @@ import reactor.retry.Repeat;
 
 import com.hedera.mirror.grpc.domain.TopicMessage;
 import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+import com.hedera.mirror.grpc.repository.ReactiveTopicMessageRepository;
 import com.hedera.mirror.grpc.repository.TopicMessageRepository;
 
 @Named
@@ -45,6 +46,7 @@ public class PollingTopicListener implements TopicListener {
 
     private final ListenerProperties listenerProperties;
     private final TopicMessageRepository topicMessageRepository;
+    private final ReactiveTopicMessageRepository reactiveTopicMessageRepository;
     private final Scheduler scheduler = Schedulers
             .newParallel("poll", 4 * Runtime.getRuntime().availableProcessors(), true);
 
@@ -77,7 +79,11 @@ public class PollingTopicListener implements TopicListener {
                 .startTime(startTime)
                 .build();
 
-        return Flux.fromStream(topicMessageRepository.findByFilter(newFilter))
+        Flux<TopicMessage> topicMessages = listenerProperties.isReactive() ?
+                reactiveTopicMessageRepository.findByFilter(newFilter) :
+                Flux.fromStream(topicMessageRepository.findByFilter(newFilter));
+
+        return topicMessages
                 .name("findByFilter")
                 .metrics();
     }
@@ -20,6 +20,7 @@ package com.hedera.mirror.grpc.listener;
  * ‍
  */
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Map;
@@ -30,6 +31,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.ReactiveSubscription.Message;
 import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
 import org.springframework.data.redis.listener.Topic;
 import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
@@ -52,11 +54,13 @@ public class RedisTopicListener extends SharedTopicListener {
     private final SerializationPair<String> channelSerializer;
     private final SerializationPair<TopicMessage> messageSerializer;
     private final Map<String, Flux<TopicMessage>> topicMessages; // Topic name to active subscription
+    private final TopicMessageDispatcher topicMessageDispatcher;
 
     public RedisTopicListener(GrpcProperties grpcProperties,
                               ListenerProperties listenerProperties,
                               ReactiveRedisConnectionFactory connectionFactory,
-                              RedisSerializer<?> redisSerializer) {
+                              RedisSerializer<?> redisSerializer,
+                              MeterRegistry meterRegistry) {
         super(listenerProperties);
         this.grpcProperties = grpcProperties;
         this.channelSerializer = SerializationPair.fromSerializer(RedisSerializer.string());
@@ -71,10 +75,19 @@ public class RedisTopicListener extends SharedTopicListener {
                 .doOnSuccess(c -> log.info("Connected to Redis"))
                 .retryWhen(Retry.backoff(Long.MAX_VALUE, interval).maxBackoff(interval.multipliedBy(8)))
                 .cache();
+
+        // A single pattern subscription to all topics in the shard that's demultiplexed locally into each topic
+        Topic pattern = PatternTopic.of(String.format("topic.%d.*", grpcProperties.getShard()));
+        topicMessageDispatcher = new TopicMessageDispatcher(subscribe(pattern), meterRegistry,
+                ListenerProperties.ListenerType.REDIS.toString());
     }
 
     @Override
     protected Flux<TopicMessage> getSharedListener(TopicMessageFilter filter) {
+        if (listenerProperties.getRedis().isPattern()) {
+            return topicMessageDispatcher.listen(filter);
+        }
+
         Topic topic = getTopic(filter);
         return topicMessages.computeIfAbsent(topic.getTopic(), key -> subscribe(topic));
     }
@@ -21,6 +21,7 @@ package com.hedera.mirror.grpc.listener;
  */
 
 import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
@@ -45,11 +46,12 @@ public class SharedPollingTopicListener extends SharedTopicListener {
 
     private final TopicMessageRepository topicMessageRepository;
     private final InstantToLongConverter instantToLongConverter;
-    private final Flux<TopicMessage> topicMessages;
+    private final TopicMessageDispatcher topicMessageDispatcher;
 
     public SharedPollingTopicListener(ListenerProperties listenerProperties,
                                       TopicMessageRepository topicMessageRepository,
-                                      InstantToLongConverter instantToLongConverter) {
+                                      InstantToLongConverter instantToLongConverter,
+                                      MeterRegistry meterRegistry) {
         super(listenerProperties);
         this.topicMessageRepository = topicMessageRepository;
         this.instantToLongConverter = instantToLongConverter;
@@ -58,7 +60,7 @@ public class SharedPollingTopicListener extends SharedTopicListener {
         Duration interval = listenerProperties.getInterval();
         PollingContext context = new PollingContext();
 
-        topicMessages = Flux.defer(() -> poll(context).subscribeOn(scheduler))
+        Flux<TopicMessage> topicMessages = Flux.defer(() -> poll(context).subscribeOn(scheduler))
                 .repeatWhen(Repeat.times(Long.MAX_VALUE)
                         .fixedBackoff(interval)
                         .withBackoffScheduler(scheduler))
@@ -69,11 +71,13 @@ public class SharedPollingTopicListener extends SharedTopicListener {
                 .doOnSubscribe(context::onStart)
                 .retryWhen(Retry.backoff(Long.MAX_VALUE, interval).maxBackoff(interval.multipliedBy(4L)))
                 .share();
+        topicMessageDispatcher = new TopicMessageDispatcher(topicMessages, meterRegistry,
+                ListenerProperties.ListenerType.SHARED_POLL.toString());
     }
 
     @Override
     protected Flux<TopicMessage> getSharedListener(TopicMessageFilter filter) {
-        return topicMessages;
+        return topicMessageDispatcher.listen(filter);
     }
 
     private Flux<TopicMessage> poll(PollingContext context) {
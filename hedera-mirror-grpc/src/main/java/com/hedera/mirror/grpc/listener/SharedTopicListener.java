@@ -43,7 +43,10 @@ public abstract class SharedTopicListener implements TopicListener {
         DirectProcessor<TopicMessage> overflowProcessor = DirectProcessor.create();
         FluxSink<TopicMessage> overflowSink = overflowProcessor.sink();
 
-        // moving publishOn from after onBackpressureBuffer to after Flux.merge reduces CPU usage by up to 40%
+        // The shared stream emits to every subscriber of a topic on the single thread polling or receiving messages, so
+        // each subscriber hops off it to keep its own processing and serialization from delaying the other subscribers
+        // and the shared stream. Moving publishOn from after onBackpressureBuffer to after Flux.merge reduces CPU usage
+        // by up to 40%
         Flux<TopicMessage> topicMessageFlux = getSharedListener(filter)
                 .doOnSubscribe(s -> log.info("Subscribing: {}", filter))
                 .onBackpressureBuffer(
@@ -0,0 +1,278 @@
+package com.hedera.mirror.grpc.listener;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+/**
+ * Keeps the most recent messages of recently requested topics in memory, so that subscriptions starting near the
+ * current time can get their historical messages without querying the database. The messages of each topic are kept in
+ * a ring buffer fed by the active listener that only ever holds consecutive sequence numbers, so it's known to contain
+ * every message after its oldest one. A topic is buffered from the first time it's requested until it hasn't been
+ * requested for the configured expiry.
+ */
+@Log4j2
+@Named
+public class TopicMessageBuffer {
+
+    // The approximate size of a topic message excluding its message and running hash
+    private static final int MESSAGE_OVERHEAD = 128;
+
+    private final ListenerProperties listenerProperties;
+    private final TopicListener topicListener;
+    private final Cache<TopicKey, TopicBuffer> topicBuffers;
+    private final AtomicLong memory = new AtomicLong(0L);
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public TopicMessageBuffer(ListenerProperties listenerProperties, TopicListener topicListener,
+                              MeterRegistry meterRegistry) {
+        this.listenerProperties = listenerProperties;
+        this.topicListener = topicListener;
+
+        ListenerProperties.BufferProperties bufferProperties = listenerProperties.getBuffer();
+        topicBuffers = Caffeine.newBuilder()
+                .expireAfterAccess(bufferProperties.getExpiry())
+                .maximumSize(bufferProperties.getMaxTopics())
+                .removalListener((TopicKey key, TopicBuffer topicBuffer, RemovalCause cause) -> topicBuffer.dispose())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+
+        Gauge.builder("hedera.mirror.buffer.memory", memory, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("The approximate memory used by the buffered messages")
+                .tag("type", TopicMessage.class.getSimpleName())
+                .register(meterRegistry);
+        Gauge.builder("hedera.mirror.buffer.topics", topicBuffers, Cache::estimatedSize)
+                .description("The number of topics being buffered")
+                .tag("type", TopicMessage.class.getSimpleName())
+                .register(meterRegistry);
+        hitCounter = requestCounter(meterRegistry, "hit");
+        missCounter = requestCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Gets the buffered messages matching the filter if the buffer contains all of the topic's messages from the
+     * filter's start time onwards. Otherwise returns an empty optional and starts buffering the topic, if it isn't
+     * already, so that later subscriptions to it can be served from memory.
+     *
+     * @param filter the subscriber's filter
+     * @return the messages at or after the start time in consensus order, or empty if the buffer doesn't cover them
+     */
+    public Optional<List<TopicMessage>> get(TopicMessageFilter filter) {
+        if (!listenerProperties.isEnabled() || !listenerProperties.getBuffer().isEnabled()) {
+            return Optional.empty();
+        }
+
+        TopicKey topicKey = new TopicKey(filter.getRealmNum(), filter.getTopicNum());
+        TopicBuffer topicBuffer = topicBuffers.get(topicKey, TopicBuffer::new);
+        topicBuffer.subscribe();
+
+        Optional<List<TopicMessage>> messages = topicBuffer.get(filter);
+        (messages.isPresent() ? hitCounter : missCounter).increment();
+        return messages;
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("hedera.mirror.buffer.requests")
+                .description("The number of subscriptions whose historical messages were looked up in the buffer")
+                .tag("result", result)
+                .tag("type", TopicMessage.class.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    @Value
+    private static class TopicKey {
+        private final int realmNum;
+        private final int topicNum;
+    }
+
+    private class TopicBuffer {
+
+        private final TopicKey topicKey;
+        private final TopicMessage[] messages;
+        private boolean disposed = false;
+        private int head = 0; // The index of the oldest message
+        private int size = 0;
+        private Disposable subscription;
+
+        private TopicBuffer(TopicKey topicKey) {
+            this.topicKey = topicKey;
+            this.messages = new TopicMessage[listenerProperties.getBuffer().getMaxMessages()];
+        }
+
+        // Subscribes outside of the cache's mapping function since a failed subscription removes itself from the cache
+        synchronized void subscribe() {
+            if (subscription != null || disposed) {
+                return;
+            }
+
+            TopicMessageFilter filter = TopicMessageFilter.builder()
+                    .realmNum(topicKey.getRealmNum())
+                    .topicNum(topicKey.getTopicNum())
+                    .build();
+
+            log.debug("Buffering topic {}", topicKey);
+            subscription = topicListener.listen(filter)
+                    .doFinally(s -> topicBuffers.asMap().remove(topicKey, this))
+                    .subscribe(this::add, t -> log.warn("Error buffering topic {}: {}", topicKey, t.getMessage()));
+        }
+
+        synchronized void add(TopicMessage topicMessage) {
+            if (disposed) {
+                return;
+            }
+
+            if (size > 0) {
+                long lastSequenceNumber = get(size - 1).getSequenceNumber();
+
+                // Ignore duplicates and start over on a gap, since messages can't be served from memory across a gap
+                if (topicMessage.getSequenceNumber() <= lastSequenceNumber) {
+                    return;
+                } else if (topicMessage.getSequenceNumber() != lastSequenceNumber + 1) {
+                    log.debug("Clearing topic {} after gap between sequence {} and {}", topicKey, lastSequenceNumber,
+                            topicMessage.getSequenceNumber());
+                    clear();
+                }
+            }
+
+            if (size == messages.length) {
+                removeOldest();
+            }
+
+            long messageSize = size(topicMessage);
+            messages[(head + size) % messages.length] = topicMessage;
+            size++;
+
+            // Evict from the topic being written to when over the limit, since it's the one using up the memory
+            long maxMemory = listenerProperties.getBuffer().getMaxMemory().toBytes();
+            if (memory.addAndGet(messageSize) > maxMemory) {
+                while (size > 1 && memory.get() > maxMemory) {
+                    removeOldest();
+                }
+            }
+        }
+
+        synchronized Optional<List<TopicMessage>> get(TopicMessageFilter filter) {
+            if (size == 0) {
+                return Optional.empty();
+            }
+
+            // Messages before the oldest one may be missing unless it's the first message of the topic
+            long startTime = filter.getStartTimeLong();
+            TopicMessage oldest = get(0);
+            if (oldest.getSequenceNumber() != 1 && oldest.getConsensusTimestamp() > startTime) {
+                return Optional.empty();
+            }
+
+            // Messages before an end time that has passed may still arrive after the subscriber stopped listening
+            Instant endTime = filter.getEndTime();
+            if (endTime != null && endTime.isBefore(Instant.now()) &&
+                    get(size - 1).getConsensusTimestampInstant().isBefore(endTime)) {
+                return Optional.empty();
+            }
+
+            int index = indexOf(startTime);
+            int count = size - index;
+            if (filter.hasLimit()) {
+                count = (int) Math.min(count, filter.getLimit());
+            }
+
+            List<TopicMessage> result = new ArrayList<>(count);
+            for (int i = index; i < index + count; ++i) {
+                result.add(get(i));
+            }
+            return Optional.of(result);
+        }
+
+        synchronized void dispose() {
+            disposed = true;
+            clear();
+
+            if (subscription != null) {
+                subscription.dispose();
+            }
+
+            log.debug("Stopped buffering topic {}", topicKey);
+        }
+
+        private void clear() {
+            while (size > 0) {
+                removeOldest();
+            }
+            head = 0;
+        }
+
+        private TopicMessage get(int index) {
+            return messages[(head + index) % messages.length];
+        }
+
+        // Binary search for the index of the first message at or after the timestamp
+        private int indexOf(long consensusTimestamp) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (get(middle).getConsensusTimestamp() < consensusTimestamp) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        private void removeOldest() {
+            long messageSize = size(messages[head]);
+            messages[head] = null;
+            head = (head + 1) % messages.length;
+            size--;
+            memory.addAndGet(-messageSize);
+        }
+
+        private long size(TopicMessage topicMessage) {
+            byte[] message = topicMessage.getMessage();
+            byte[] runningHash = topicMessage.getRunningHash();
+            return MESSAGE_OVERHEAD + (message != null ? message.length : 0) +
+                    (runningHash != null ? runningHash.length : 0);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.hedera.mirror.grpc.listener;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+/**
+ * Demultiplexes a shared stream of messages for all topics into a stream per topic, so that each message is only
+ * delivered to the subscribers of its topic instead of being filtered out by every other subscriber. The shared stream
+ * is subscribed to while there's at least one subscriber. If it terminates, every topic stream terminates with it and
+ * the next subscriber subscribes to it again.
+ */
+@Log4j2
+class TopicMessageDispatcher {
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private final Timer dispatchMetric;
+    private final Flux<TopicMessage> topicMessages;
+    private final Map<TopicKey, TopicSink> topicSinks = new ConcurrentHashMap<>();
+    private Disposable subscription;
+
+    TopicMessageDispatcher(Flux<TopicMessage> topicMessages, MeterRegistry meterRegistry, String name) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.topicMessages = topicMessages;
+        dispatchMetric = Timer.builder("hedera.mirror.listener.dispatch.latency")
+                .description("The time it took to deliver a message to the subscribers of its topic")
+                .tag("type", name)
+                .register(meterRegistry);
+    }
+
+    Flux<TopicMessage> listen(TopicMessageFilter filter) {
+        TopicKey topicKey = new TopicKey(filter.getRealmNum(), filter.getTopicNum());
+        return Flux.defer(() -> {
+            TopicSink topicSink = subscribe(topicKey);
+            return topicSink.getSink().asFlux().doFinally(s -> unsubscribe(topicKey, topicSink));
+        });
+    }
+
+    private synchronized TopicSink subscribe(TopicKey topicKey) {
+        TopicSink topicSink = topicSinks.computeIfAbsent(topicKey, this::createTopicSink);
+        topicSink.getSubscribers().incrementAndGet();
+
+        if (subscription == null) {
+            log.info("Subscribing to {} messages", name);
+            Disposable disposable = topicMessages.subscribe(this::dispatch, this::onError, this::onComplete);
+
+            // the shared stream may have already terminated while subscribing
+            if (!disposable.isDisposed()) {
+                subscription = disposable;
+            }
+        }
+
+        return topicSink;
+    }
+
+    private synchronized void unsubscribe(TopicKey topicKey, TopicSink topicSink) {
+        // the topic may have been removed already when the shared stream terminated
+        if (topicSink.getSubscribers().decrementAndGet() > 0 || !topicSinks.remove(topicKey, topicSink)) {
+            return;
+        }
+
+        meterRegistry.remove(topicSink.getSubscribersMetric());
+        log.debug("Removed {} topic {}", name, topicKey);
+
+        if (topicSinks.isEmpty() && subscription != null) {
+            log.info("Unsubscribing from {} messages", name);
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private void onComplete() {
+        log.warn("Completed dispatching {} messages", name);
+        terminate().forEach(topicSink -> topicSink.getSink().tryEmitComplete());
+    }
+
+    private void onError(Throwable t) {
+        log.error("Error dispatching {} messages", name, t);
+        terminate().forEach(topicSink -> topicSink.getSink().tryEmitError(t));
+    }
+
+    /**
+     * Removes all topics once the shared stream terminated, so that the next subscriber subscribes to it again instead
+     * of waiting on a stream that no longer emits.
+     *
+     * @return the removed topics, to pass the terminal signal on to their subscribers
+     */
+    private synchronized Collection<TopicSink> terminate() {
+        subscription = null;
+        List<TopicSink> terminated = new ArrayList<>(topicSinks.values());
+        terminated.forEach(topicSink -> meterRegistry.remove(topicSink.getSubscribersMetric()));
+        topicSinks.clear();
+        return terminated;
+    }
+
+    private TopicSink createTopicSink(TopicKey topicKey) {
+        AtomicInteger subscribers = new AtomicInteger(0);
+        Gauge subscribersMetric = Gauge.builder("hedera.mirror.listener.subscribers", subscribers, AtomicInteger::get)
+                .description("The number of subscribers to a topic")
+                .tag("realm", String.valueOf(topicKey.getRealmNum()))
+                .tag("topic", String.valueOf(topicKey.getTopicNum()))
+                .tag("type", name)
+                .register(meterRegistry);
+        log.debug("Added {} topic {}", name, topicKey);
+        return new TopicSink(Sinks.many().multicast().directBestEffort(), subscribers, subscribersMetric);
+    }
+
+    private void dispatch(TopicMessage topicMessage) {
+        TopicSink topicSink = topicSinks.get(new TopicKey(topicMessage.getRealmNum(), topicMessage.getTopicNum()));
+        if (topicSink != null) {
+            long start = System.nanoTime();
+            topicSink.getSink().tryEmitNext(topicMessage);
+            dispatchMetric.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Value
+    private static class TopicKey {
+        private final int realmNum;
+        private final int topicNum;
+    }
+
+    @Value
+    private static class TopicSink {
+        private final Sinks.Many<TopicMessage> sink;
+        private final AtomicInteger subscribers;
+        private final Gauge subscribersMetric;
+    }
+}
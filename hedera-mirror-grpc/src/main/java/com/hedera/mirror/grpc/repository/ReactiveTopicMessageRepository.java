@@ -0,0 +1,178 @@
+package com.hedera.mirror.grpc.repository;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowStream;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import com.hedera.mirror.grpc.DbProperties;
+import com.hedera.mirror.grpc.converter.InstantToLongConverter;
+import com.hedera.mirror.grpc.converter.LongToInstantConverter;
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+/**
+ * Queries topic messages using the non-blocking Vert.x PostgreSQL client instead of JDBC. Rows are streamed from a
+ * cursor as the subscriber requests them instead of being loaded into memory first, and no thread is blocked while
+ * waiting on the database. The connection pool and its Vert.x instance are only created once first queried and are
+ * closed on shutdown.
+ */
+@Log4j2
+@Named
+public class ReactiveTopicMessageRepository {
+
+    private static final int FETCH_SIZE = 500;
+    private static final String SQL = "select * from topic_message where realm_num = $1 and topic_num = $2 " +
+            "and consensus_timestamp >= $3 and consensus_timestamp < $4 order by consensus_timestamp asc limit $5";
+
+    private final InstantToLongConverter converter;
+    private final DbProperties dbProperties;
+    private PgPool pool;
+    private Vertx vertx;
+
+    public ReactiveTopicMessageRepository(DbProperties dbProperties, InstantToLongConverter converter) {
+        this.converter = converter;
+        this.dbProperties = dbProperties;
+    }
+
+    /**
+     * The connection is acquired on subscription and closed once the messages complete, fail or are cancelled, which
+     * also rolls back the transaction of the cursor.
+     */
+    public Flux<TopicMessage> findByFilter(TopicMessageFilter filter) {
+        return Flux.usingWhen(getConnection(), connection -> query(connection, filter),
+                connection -> Mono.fromCompletionStage(() -> connection.close().toCompletionStage()));
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (pool != null) {
+            Vertx poolVertx = vertx;
+            pool.close().onComplete(r -> poolVertx.close());
+            pool = null;
+            vertx = null;
+        }
+    }
+
+    private synchronized PgPool getPool() {
+        if (pool == null) { // Only connect if enabled
+            vertx = Vertx.vertx();
+            pool = createPool();
+        }
+        return pool;
+    }
+
+    private Mono<SqlConnection> getConnection() {
+        return Mono.create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean(false);
+            sink.onCancel(() -> {
+                synchronized (cancelled) {
+                    cancelled.set(true);
+                }
+            });
+
+            getPool().getConnection()
+                    .onFailure(sink::error)
+                    .onSuccess(connection -> {
+                        // a connection acquired after the subscriber cancelled would otherwise never be closed
+                        synchronized (cancelled) {
+                            if (cancelled.get()) {
+                                connection.close();
+                            } else {
+                                sink.success(connection);
+                            }
+                        }
+                    });
+        });
+    }
+
+    private PgPool createPool() {
+        PgConnectOptions connectOptions = new PgConnectOptions()
+                .setDatabase(dbProperties.getName())
+                .setHost(dbProperties.getHost())
+                .setPassword(dbProperties.getPassword())
+                .setPort(dbProperties.getPort())
+                .setUser(dbProperties.getUsername());
+        PoolOptions poolOptions = new PoolOptions().setMaxSize(dbProperties.getReactivePoolSize());
+        log.info("Creating reactive connection pool with {} connections", poolOptions.getMaxSize());
+        return PgPool.pool(vertx, connectOptions, poolOptions);
+    }
+
+    // Cursors require a transaction, which is left to be rolled back by closing the connection since it's read only
+    private Flux<TopicMessage> query(SqlConnection connection, TopicMessageFilter filter) {
+        return Flux.create(sink -> connection.begin()
+                .compose(transaction -> connection.prepare(SQL))
+                .onFailure(sink::error)
+                .onSuccess(preparedStatement -> {
+                    RowStream<Row> rowStream = preparedStatement.createStream(FETCH_SIZE, parameters(filter));
+                    sink.onDispose(rowStream::close);
+                    rowStream.pause()
+                            .exceptionHandler(sink::error)
+                            .endHandler(v -> sink.complete())
+                            .handler(row -> sink.next(toTopicMessage(row)));
+                    sink.onRequest(rowStream::fetch);
+                }));
+    }
+
+    private Tuple parameters(TopicMessageFilter filter) {
+        long endTime = filter.getEndTime() != null ? converter.convert(filter.getEndTime()) : Long.MAX_VALUE;
+        long limit = filter.hasLimit() ? filter.getLimit() : Long.MAX_VALUE;
+        return Tuple.of(filter.getRealmNum(), filter.getTopicNum(), filter.getStartTimeLong(), endTime, limit);
+    }
+
+    private TopicMessage toTopicMessage(Row row) {
+        return TopicMessage.builder()
+                .chunkNum(row.getInteger("chunk_num"))
+                .chunkTotal(row.getInteger("chunk_total"))
+                .consensusTimestamp(toInstant(row.getLong("consensus_timestamp")))
+                .message(toBytes(row.getBuffer("message")))
+                .payerAccountId(row.getLong("payer_account_id"))
+                .realmNum(row.getInteger("realm_num"))
+                .runningHash(toBytes(row.getBuffer("running_hash")))
+                .runningHashVersion(row.getInteger("running_hash_version"))
+                .sequenceNumber(row.getLong("sequence_number"))
+                .topicNum(row.getInteger("topic_num"))
+                .validStartTimestamp(toInstant(row.getLong("valid_start_timestamp")))
+                .build();
+    }
+
+    private Instant toInstant(Long timestamp) {
+        return LongToInstantConverter.INSTANCE.convert(timestamp);
+    }
+
+    private byte[] toBytes(Buffer buffer) {
+        return buffer != null ? buffer.getBytes() : null;
+    }
+}
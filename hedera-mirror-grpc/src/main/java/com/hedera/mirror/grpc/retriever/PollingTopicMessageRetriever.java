@@ -21,6 +21,7 @@ package com.hedera.mirror.grpc.retriever;
  */
 
 import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +39,7 @@ import reactor.util.retry.Retry;
 
 import com.hedera.mirror.grpc.domain.TopicMessage;
 import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+import com.hedera.mirror.grpc.repository.ReactiveTopicMessageRepository;
 import com.hedera.mirror.grpc.repository.TopicMessageRepository;
 
 @Named
@@ -46,12 +48,18 @@ public class PollingTopicMessageRetriever implements TopicMessageRetriever {
 
     private final RetrieverProperties retrieverProperties;
     private final TopicMessageRepository topicMessageRepository;
+    private final ReactiveTopicMessageRepository reactiveTopicMessageRepository;
+    private final QueryCoalescer queryCoalescer;
     private final Scheduler scheduler;
 
     public PollingTopicMessageRetriever(RetrieverProperties retrieverProperties,
-                                        TopicMessageRepository topicMessageRepository) {
+                                        TopicMessageRepository topicMessageRepository,
+                                        ReactiveTopicMessageRepository reactiveTopicMessageRepository,
+                                        MeterRegistry meterRegistry) {
         this.retrieverProperties = retrieverProperties;
         this.topicMessageRepository = topicMessageRepository;
+        this.reactiveTopicMessageRepository = reactiveTopicMessageRepository;
+        queryCoalescer = new QueryCoalescer(this::findByFilter, meterRegistry);
         int threadCount = retrieverProperties.getThreadMultiplier() * Runtime.getRuntime().availableProcessors();
         scheduler = Schedulers.newParallel("retriever", threadCount, true);
     }
@@ -91,11 +99,21 @@ public class PollingTopicMessageRetriever implements TopicMessageRetriever {
                 .build();
 
         log.debug("Executing query: {}", newFilter);
-        return Flux.fromStream(topicMessageRepository.findByFilter(newFilter))
+        Flux<TopicMessage> topicMessages = retrieverProperties.isCoalesce() ?
+                queryCoalescer.find(newFilter) :
+                findByFilter(newFilter);
+
+        return topicMessages
                 .name("findByFilter")
                 .metrics();
     }
 
+    private Flux<TopicMessage> findByFilter(TopicMessageFilter filter) {
+        return Flux.defer(() -> retrieverProperties.isReactive() ?
+                reactiveTopicMessageRepository.findByFilter(filter) :
+                Flux.fromStream(topicMessageRepository.findByFilter(filter)));
+    }
+
     @Data
     private class PollingContext {
 
@@ -0,0 +1,174 @@
+package com.hedera.mirror.grpc.retriever;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.Value;
+import reactor.core.publisher.Flux;
+
+import com.hedera.mirror.grpc.converter.InstantToLongConverter;
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+/**
+ * Collapses concurrent page queries for the same topic, so that a burst of subscribers retrieving the same historical
+ * messages, like clients reconnecting after a restart, results in a single database query. A query joins an in-flight
+ * query for the same topic whose time range contains its own, and then applies its own start time, end time and limit
+ * to the shared page. If the shared page was full before the subscriber's limit was reached, the subscriber continues
+ * with another query from the end of the shared page.
+ */
+class QueryCoalescer {
+
+    private final Function<TopicMessageFilter, Flux<TopicMessage>> query;
+    private final Map<TopicKey, List<SharedQuery>> sharedQueries = new HashMap<>();
+    private final Counter collapsedCounter;
+    private final Counter executedCounter;
+
+    QueryCoalescer(Function<TopicMessageFilter, Flux<TopicMessage>> query, MeterRegistry meterRegistry) {
+        this.query = query;
+        collapsedCounter = queryCounter(meterRegistry, true);
+        executedCounter = queryCounter(meterRegistry, false);
+    }
+
+    Flux<TopicMessage> find(TopicMessageFilter filter) {
+        return Flux.defer(() -> getOrCreate(filter).subscribe(filter));
+    }
+
+    private synchronized SharedQuery getOrCreate(TopicMessageFilter filter) {
+        TopicKey topicKey = new TopicKey(filter.getRealmNum(), filter.getTopicNum());
+        List<SharedQuery> queries = sharedQueries.computeIfAbsent(topicKey, k -> new ArrayList<>());
+        SharedQuery closest = null;
+
+        for (SharedQuery sharedQuery : queries) {
+            if (sharedQuery.contains(filter) && (closest == null || sharedQuery.startTime > closest.startTime)) {
+                closest = sharedQuery;
+            }
+        }
+
+        if (closest != null) {
+            collapsedCounter.increment();
+            return closest;
+        }
+
+        SharedQuery sharedQuery = new SharedQuery(topicKey, filter);
+        queries.add(sharedQuery);
+        executedCounter.increment();
+        return sharedQuery;
+    }
+
+    private synchronized void remove(SharedQuery sharedQuery) {
+        List<SharedQuery> queries = sharedQueries.get(sharedQuery.topicKey);
+
+        if (queries != null) {
+            queries.remove(sharedQuery);
+            if (queries.isEmpty()) {
+                sharedQueries.remove(sharedQuery.topicKey);
+            }
+        }
+    }
+
+    private Counter queryCounter(MeterRegistry meterRegistry, boolean collapsed) {
+        return Counter.builder("hedera.mirror.retriever.queries")
+                .description("The number of page queries that were executed or collapsed into an in-flight query")
+                .tag("collapsed", String.valueOf(collapsed))
+                .tag("type", TopicMessage.class.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private static Long endTime(TopicMessageFilter filter) {
+        return filter.getEndTime() != null ? InstantToLongConverter.INSTANCE.convert(filter.getEndTime()) : null;
+    }
+
+    private static long limit(TopicMessageFilter filter) {
+        return filter.hasLimit() ? filter.getLimit() : Long.MAX_VALUE;
+    }
+
+    @Value
+    private static class TopicKey {
+        private final int realmNum;
+        private final int topicNum;
+    }
+
+    private class SharedQuery {
+
+        private final TopicKey topicKey;
+        private final long startTime;
+        private final Long endTime;
+        private final long limit;
+        private final Flux<TopicMessage> topicMessages;
+
+        private SharedQuery(TopicKey topicKey, TopicMessageFilter filter) {
+            this.topicKey = topicKey;
+            this.startTime = filter.getStartTimeLong();
+            this.endTime = endTime(filter);
+            this.limit = limit(filter);
+            // Removed before subscribers are completed so that their follow-up queries can't join it again
+            this.topicMessages = Flux.defer(() -> query.apply(filter))
+                    .doOnTerminate(() -> remove(this))
+                    .cache();
+        }
+
+        private boolean contains(TopicMessageFilter filter) {
+            Long otherEndTime = endTime(filter);
+            return startTime <= filter.getStartTimeLong() &&
+                    (endTime == null || (otherEndTime != null && otherEndTime <= endTime));
+        }
+
+        private Flux<TopicMessage> subscribe(TopicMessageFilter filter) {
+            long otherStartTime = filter.getStartTimeLong();
+            Long otherEndTime = endTime(filter);
+            long otherLimit = limit(filter);
+            AtomicLong received = new AtomicLong(0L);
+            AtomicLong emitted = new AtomicLong(0L);
+            AtomicReference<TopicMessage> last = new AtomicReference<>();
+
+            return topicMessages
+                    .doOnNext(t -> {
+                        received.incrementAndGet();
+                        last.set(t);
+                    })
+                    .filter(t -> t.getConsensusTimestamp() >= otherStartTime &&
+                            (otherEndTime == null || t.getConsensusTimestamp() < otherEndTime))
+                    .take(otherLimit)
+                    .doOnNext(t -> emitted.incrementAndGet())
+                    .concatWith(Flux.defer(() -> {
+                        // Messages after a full shared page weren't queried, so query them if more are needed
+                        if (received.get() < limit || emitted.get() >= otherLimit) {
+                            return Flux.empty();
+                        }
+
+                        TopicMessageFilter next = filter.toBuilder()
+                                .limit(otherLimit - emitted.get())
+                                .startTime(last.get().getConsensusTimestampInstant().plusNanos(1))
+                                .build();
+                        return find(next);
+                    }));
+        }
+    }
+}
@@ -33,6 +33,8 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties("hedera.mirror.grpc.retriever")
 public class RetrieverProperties {
 
+    private boolean coalesce = false;
+
     private boolean enabled = true;
 
     @Min(32)
@@ -41,6 +43,8 @@ public class RetrieverProperties {
     @NotNull
     private Duration pollingFrequency = Duration.ofSeconds(2L);
 
+    private boolean reactive = false;
+
     @Min(1)
     private int threadMultiplier = 4;
 
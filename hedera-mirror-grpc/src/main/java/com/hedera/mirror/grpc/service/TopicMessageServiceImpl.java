@@ -45,6 +45,7 @@ import com.hedera.mirror.grpc.domain.TopicMessage;
 import com.hedera.mirror.grpc.domain.TopicMessageFilter;
 import com.hedera.mirror.grpc.exception.TopicNotFoundException;
 import com.hedera.mirror.grpc.listener.TopicListener;
+import com.hedera.mirror.grpc.listener.TopicMessageBuffer;
 import com.hedera.mirror.grpc.repository.EntityRepository;
 import com.hedera.mirror.grpc.retriever.TopicMessageRetriever;
 
@@ -58,6 +59,7 @@ public class TopicMessageServiceImpl implements TopicMessageService {
     private final TopicListener topicListener;
     private final EntityRepository entityRepository;
     private final TopicMessageRetriever topicMessageRetriever;
+    private final TopicMessageBuffer topicMessageBuffer;
     private final MeterRegistry meterRegistry;
     private final AtomicLong subscriberCount = new AtomicLong(0L);
 
@@ -74,7 +76,7 @@ public class TopicMessageServiceImpl implements TopicMessageService {
         log.info("Subscribing to topic: {}", filter);
         TopicContext topicContext = new TopicContext(filter);
 
-        Flux<TopicMessage> flux = topicMessageRetriever.retrieve(filter, true)
+        Flux<TopicMessage> flux = Flux.defer(() -> historicalMessages(filter))
                 .concatWith(Flux.defer(() -> incomingMessages(topicContext))) // Defer creation until query complete
                 .filter(t -> t.compareTo(topicContext.getLast()) > 0); // Ignore duplicates
 
@@ -101,6 +103,16 @@ public class TopicMessageServiceImpl implements TopicMessageService {
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Not a valid topic")));
     }
 
+    /**
+     * Most subscribers start near the current time, so their historical messages are usually still buffered in memory.
+     * Only query the database when the buffer doesn't contain every message from the start time onwards.
+     */
+    private Flux<TopicMessage> historicalMessages(TopicMessageFilter filter) {
+        return topicMessageBuffer.get(filter)
+                .map(Flux::fromIterable)
+                .orElseGet(() -> topicMessageRetriever.retrieve(filter, true));
+    }
+
     private Flux<TopicMessage> incomingMessages(TopicContext topicContext) {
         if (topicContext.isComplete()) {
             return Flux.empty();
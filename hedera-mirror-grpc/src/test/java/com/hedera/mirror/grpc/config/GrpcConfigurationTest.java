@@ -0,0 +1,58 @@
+package com.hedera.mirror.grpc.config;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.BindableService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.hedera.mirror.api.proto.ConsensusServiceGrpc;
+import com.hedera.mirror.grpc.GrpcProperties;
+import com.hedera.mirror.grpc.controller.ConsensusController;
+import com.hedera.mirror.grpc.controller.ConsensusTopicResponseMarshaller;
+import com.hedera.mirror.grpc.service.TopicMessageService;
+
+class GrpcConfigurationTest {
+
+    private final ConsensusController consensusController =
+            new ConsensusController(Mockito.mock(TopicMessageService.class));
+    private final GrpcConfiguration grpcConfiguration = new GrpcConfiguration();
+    private final GrpcProperties grpcProperties = new GrpcProperties();
+
+    @Test
+    void consensusService() {
+        BindableService consensusService = grpcConfiguration.consensusService(consensusController, grpcProperties);
+        assertThat(consensusService).isSameAs(consensusController);
+    }
+
+    @Test
+    void consensusServiceSharedSerialization() {
+        grpcProperties.setSharedSerialization(true);
+        BindableService consensusService = grpcConfiguration.consensusService(consensusController, grpcProperties);
+
+        var subscribeTopic = consensusService.bindService()
+                .getMethod(ConsensusServiceGrpc.getSubscribeTopicMethod().getFullMethodName());
+        assertThat(subscribeTopic.getMethodDescriptor().getResponseMarshaller())
+                .isInstanceOf(ConsensusTopicResponseMarshaller.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hedera.mirror.grpc.controller;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+import com.hedera.mirror.api.proto.ConsensusServiceGrpc;
+import com.hedera.mirror.api.proto.ConsensusTopicResponse;
+import com.hedera.mirror.grpc.domain.TopicMessage;
+
+class ConsensusTopicResponseMarshallerTest {
+
+    private final ConsensusTopicResponseMarshaller marshaller = new ConsensusTopicResponseMarshaller(
+            ConsensusServiceGrpc.getSubscribeTopicMethod().getResponseMarshaller());
+
+    @Test
+    void stream() throws IOException {
+        ConsensusTopicResponse response = response();
+        InputStream inputStream = marshaller.stream(response);
+
+        assertThat(inputStream).isInstanceOf(KnownLength.class);
+        assertThat(inputStream.available()).isEqualTo(response.getSerializedSize());
+        assertThat(inputStream.readAllBytes()).isEqualTo(response.toByteArray());
+    }
+
+    @Test
+    void drainTo() throws IOException {
+        ConsensusTopicResponse response = response();
+        InputStream inputStream = marshaller.stream(response);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThat(inputStream).isInstanceOf(Drainable.class);
+        assertThat(((Drainable) inputStream).drainTo(outputStream)).isEqualTo(response.getSerializedSize());
+        assertThat(outputStream.toByteArray()).isEqualTo(response.toByteArray());
+        assertThat(inputStream.available()).isZero();
+    }
+
+    @Test
+    void multipleSubscribers() throws IOException {
+        ConsensusTopicResponse response = response();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(marshaller.stream(response).readAllBytes()).isEqualTo(response.toByteArray());
+        }
+    }
+
+    @Test
+    void parse() {
+        ConsensusTopicResponse response = response();
+        assertThat(marshaller.parse(marshaller.stream(response))).isEqualTo(response);
+    }
+
+    private ConsensusTopicResponse response() {
+        return TopicMessage.builder()
+                .chunkNum(1)
+                .chunkTotal(2)
+                .consensusTimestamp(Instant.now())
+                .message(new byte[] {0, 1, 2})
+                .payerAccountId(1001L)
+                .realmNum(0)
+                .runningHash(new byte[] {3, 4, 5})
+                .runningHashVersion(2)
+                .sequenceNumber(1L)
+                .topicNum(1)
+                .validStartTimestamp(Instant.now())
+                .build()
+                .getResponse();
+    }
+}
@@ -0,0 +1,192 @@
+package com.hedera.mirror.grpc.listener;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Sinks;
+
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+class TopicMessageBufferTest {
+
+    private static final String REQUESTS_METRIC = "hedera.mirror.buffer.requests";
+
+    private ListenerProperties listenerProperties;
+    private MeterRegistry meterRegistry;
+    private Sinks.Many<TopicMessage> upstream;
+    private TopicMessageBuffer topicMessageBuffer;
+
+    @BeforeEach
+    void setup() {
+        listenerProperties = new ListenerProperties();
+        listenerProperties.getBuffer().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        upstream = Sinks.many().multicast().directBestEffort();
+        topicMessageBuffer = new TopicMessageBuffer(listenerProperties, filter -> upstream.asFlux(), meterRegistry);
+    }
+
+    @Test
+    void empty() {
+        assertThat(topicMessageBuffer.get(filter(Instant.EPOCH))).isEmpty();
+        assertThat(upstream.currentSubscriberCount()).isOne();
+        assertThat(meterRegistry.get(REQUESTS_METRIC).tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void disabled() {
+        listenerProperties.getBuffer().setEnabled(false);
+        assertThat(topicMessageBuffer.get(filter(Instant.EPOCH))).isEmpty();
+        assertThat(upstream.currentSubscriberCount()).isZero();
+    }
+
+    @Test
+    void firstMessageOfTopic() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3);
+
+        assertThat(sequenceNumbers(filter(Instant.EPOCH))).contains(List.of(1L, 2L, 3L));
+        assertThat(meterRegistry.get(REQUESTS_METRIC).tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hedera.mirror.buffer.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void startTime() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(5, 6, 7);
+
+        assertThat(sequenceNumbers(filter(timestamp(4)))).isEmpty();
+        assertThat(sequenceNumbers(filter(timestamp(5)))).contains(List.of(5L, 6L, 7L));
+        assertThat(sequenceNumbers(filter(timestamp(6)))).contains(List.of(6L, 7L));
+        assertThat(sequenceNumbers(filter(timestamp(8)))).contains(List.of());
+    }
+
+    @Test
+    void limit() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3);
+
+        TopicMessageFilter filter = filter(Instant.EPOCH).toBuilder().limit(2L).build();
+        assertThat(sequenceNumbers(filter)).contains(List.of(1L, 2L));
+    }
+
+    @Test
+    void endTimeBeforeLatestMessage() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3);
+
+        TopicMessageFilter filter = filter(Instant.EPOCH).toBuilder().endTime(timestamp(2)).build();
+        assertThat(sequenceNumbers(filter)).contains(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void endTimeAfterLatestMessage() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3);
+
+        TopicMessageFilter filter = filter(Instant.EPOCH).toBuilder().endTime(timestamp(4)).build();
+        assertThat(sequenceNumbers(filter)).isEmpty();
+    }
+
+    @Test
+    void duplicates() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 2, 1, 3);
+
+        assertThat(sequenceNumbers(filter(Instant.EPOCH))).contains(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void gap() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(5, 6, 8, 9);
+
+        assertThat(sequenceNumbers(filter(timestamp(6)))).isEmpty();
+        assertThat(sequenceNumbers(filter(timestamp(8)))).contains(List.of(8L, 9L));
+    }
+
+    @Test
+    void maxMessages() {
+        listenerProperties.getBuffer().setMaxMessages(2);
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3, 4, 5);
+
+        assertThat(sequenceNumbers(filter(Instant.EPOCH))).isEmpty();
+        assertThat(sequenceNumbers(filter(timestamp(4)))).contains(List.of(4L, 5L));
+    }
+
+    @Test
+    void maxMemory() {
+        listenerProperties.getBuffer().setMaxMemory(DataSize.ofBytes(1L));
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2, 3);
+
+        assertThat(sequenceNumbers(filter(Instant.EPOCH))).isEmpty();
+        assertThat(sequenceNumbers(filter(timestamp(3)))).contains(List.of(3L));
+    }
+
+    @Test
+    void listenerCompletes() {
+        topicMessageBuffer.get(filter(Instant.EPOCH));
+        emit(1, 2);
+        upstream.tryEmitComplete();
+
+        assertThat(topicMessageBuffer.get(filter(Instant.EPOCH))).isEmpty();
+    }
+
+    private void emit(long... sequenceNumbers) {
+        for (long sequenceNumber : sequenceNumbers) {
+            upstream.tryEmitNext(TopicMessage.builder()
+                    .consensusTimestamp(timestamp(sequenceNumber))
+                    .message(new byte[] {0, 1, 2})
+                    .realmNum(0)
+                    .runningHash(new byte[] {3, 4, 5})
+                    .sequenceNumber(sequenceNumber)
+                    .topicNum(0)
+                    .build());
+        }
+    }
+
+    private TopicMessageFilter filter(Instant startTime) {
+        return TopicMessageFilter.builder()
+                .startTime(startTime)
+                .build();
+    }
+
+    private Optional<List<Long>> sequenceNumbers(TopicMessageFilter filter) {
+        return topicMessageBuffer.get(filter)
+                .map(messages -> messages.stream().map(TopicMessage::getSequenceNumber).collect(Collectors.toList()));
+    }
+
+    private Instant timestamp(long sequenceNumber) {
+        return Instant.EPOCH.plusSeconds(sequenceNumber);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hedera.mirror.grpc.listener;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+class TopicMessageDispatcherTest {
+
+    private static final String SUBSCRIBERS_METRIC = "hedera.mirror.listener.subscribers";
+
+    private MeterRegistry meterRegistry;
+    private Sinks.Many<TopicMessage> upstream;
+    private TopicMessageDispatcher topicMessageDispatcher;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        upstream = Sinks.many().multicast().directBestEffort();
+        topicMessageDispatcher = new TopicMessageDispatcher(upstream.asFlux(), meterRegistry, "test");
+    }
+
+    @Test
+    void dispatchToTopic() {
+        var stepVerifier1 = topicMessageDispatcher.listen(filter(1))
+                .map(TopicMessage::getSequenceNumber)
+                .as(StepVerifier::create)
+                .expectNext(1L, 3L)
+                .thenCancel()
+                .verifyLater();
+        var stepVerifier2 = topicMessageDispatcher.listen(filter(2))
+                .map(TopicMessage::getSequenceNumber)
+                .as(StepVerifier::create)
+                .expectNext(2L)
+                .thenCancel()
+                .verifyLater();
+
+        upstream.tryEmitNext(topicMessage(1, 1L));
+        upstream.tryEmitNext(topicMessage(2, 2L));
+        upstream.tryEmitNext(topicMessage(1, 3L));
+        upstream.tryEmitNext(topicMessage(3, 4L));
+
+        stepVerifier1.verify(Duration.ofMillis(500L));
+        stepVerifier2.verify(Duration.ofMillis(500L));
+    }
+
+    @Test
+    void subscribers() {
+        var subscription1 = topicMessageDispatcher.listen(filter(1)).subscribe();
+        var subscription2 = topicMessageDispatcher.listen(filter(1)).subscribe();
+
+        assertThat(upstream.currentSubscriberCount()).isOne();
+        assertThat(meterRegistry.get(SUBSCRIBERS_METRIC).tag("topic", "1").gauge().value()).isEqualTo(2.0);
+
+        subscription1.dispose();
+        assertThat(upstream.currentSubscriberCount()).isOne();
+        assertThat(meterRegistry.get(SUBSCRIBERS_METRIC).tag("topic", "1").gauge().value()).isEqualTo(1.0);
+
+        subscription2.dispose();
+        assertThat(upstream.currentSubscriberCount()).isZero();
+        assertThat(meterRegistry.find(SUBSCRIBERS_METRIC).gauges()).isEmpty();
+    }
+
+    @Test
+    void upstreamComplete() {
+        var stepVerifier1 = topicMessageDispatcher.listen(filter(1)).as(StepVerifier::create)
+                .expectComplete()
+                .verifyLater();
+        var stepVerifier2 = topicMessageDispatcher.listen(filter(2)).as(StepVerifier::create)
+                .expectComplete()
+                .verifyLater();
+
+        upstream.tryEmitComplete();
+
+        stepVerifier1.verify(Duration.ofMillis(500L));
+        stepVerifier2.verify(Duration.ofMillis(500L));
+        assertThat(meterRegistry.find(SUBSCRIBERS_METRIC).gauges()).isEmpty();
+    }
+
+    @Test
+    void upstreamError() {
+        var stepVerifier = topicMessageDispatcher.listen(filter(1)).as(StepVerifier::create)
+                .expectErrorMessage("upstream")
+                .verifyLater();
+
+        upstream.tryEmitError(new IllegalStateException("upstream"));
+
+        stepVerifier.verify(Duration.ofMillis(500L));
+        assertThat(meterRegistry.find(SUBSCRIBERS_METRIC).gauges()).isEmpty();
+
+        // subscribes to the upstream again, which has already terminated
+        topicMessageDispatcher.listen(filter(1)).as(StepVerifier::create)
+                .expectErrorMessage("upstream")
+                .verify(Duration.ofMillis(500L));
+        assertThat(meterRegistry.find(SUBSCRIBERS_METRIC).gauges()).isEmpty();
+    }
+
+    private TopicMessageFilter filter(int topicNum) {
+        return TopicMessageFilter.builder()
+                .startTime(Instant.EPOCH)
+                .topicNum(topicNum)
+                .build();
+    }
+
+    private TopicMessage topicMessage(int topicNum, long sequenceNumber) {
+        return TopicMessage.builder()
+                .consensusTimestamp(Instant.now())
+                .realmNum(0)
+                .sequenceNumber(sequenceNumber)
+                .topicNum(topicNum)
+                .build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.hedera.mirror.grpc.repository;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.time.Duration;
+import java.time.Instant;
+import javax.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import com.hedera.mirror.grpc.GrpcIntegrationTest;
+import com.hedera.mirror.grpc.domain.DomainBuilder;
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+class ReactiveTopicMessageRepositoryTest extends GrpcIntegrationTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5L);
+
+    @Resource
+    private ReactiveTopicMessageRepository reactiveTopicMessageRepository;
+
+    @Resource
+    private DomainBuilder domainBuilder;
+
+    @Test
+    void findByFilterEmpty() {
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(Instant.EPOCH)
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterNoMatch() {
+        domainBuilder.topicMessage().block();
+        domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(Instant.now().plusSeconds(10))
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithRealmNum() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage(t -> t.realmNum(0)).block();
+        TopicMessage topicMessage2 = domainBuilder.topicMessage(t -> t.realmNum(1)).block();
+        domainBuilder.topicMessage(t -> t.realmNum(2)).block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .realmNum(1)
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage2)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithTopicNum() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage(t -> t.topicNum(1)).block();
+        TopicMessage topicMessage2 = domainBuilder.topicMessage(t -> t.topicNum(2)).block();
+        domainBuilder.topicMessage(t -> t.topicNum(3)).block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .topicNum(2)
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage2)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithStartTime() {
+        domainBuilder.topicMessage().block();
+        TopicMessage topicMessage2 = domainBuilder.topicMessage().block();
+        TopicMessage topicMessage3 = domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(topicMessage2.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage2, topicMessage3)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithEndTime() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage().block();
+        TopicMessage topicMessage2 = domainBuilder.topicMessage().block();
+        TopicMessage topicMessage3 = domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .endTime(topicMessage3.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage1, topicMessage2)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithLimit() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage().block();
+        domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .limit(1)
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage1)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterWithBackpressure() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage().block();
+        TopicMessage topicMessage2 = domainBuilder.topicMessage().block();
+        TopicMessage topicMessage3 = domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        StepVerifier.create(reactiveTopicMessageRepository.findByFilter(filter), 1L)
+                .expectNext(topicMessage1)
+                .thenRequest(1L)
+                .expectNext(topicMessage2)
+                .thenRequest(1L)
+                .expectNext(topicMessage3)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterCancel() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage().block();
+        domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .take(1)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage1)
+                .expectComplete()
+                .verify(WAIT);
+
+        // The connection is released after cancelling, so the pool isn't exhausted by repeated cancels
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .take(1)
+                .repeat(20)
+                .as(StepVerifier::create)
+                .expectNextCount(21)
+                .expectComplete()
+                .verify(WAIT);
+    }
+
+    @Test
+    void findByFilterCancelBeforeConnection() {
+        TopicMessage topicMessage1 = domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(topicMessage1.getConsensusTimestampInstant())
+                .build();
+
+        // Cancelling before a connection is acquired closes it once acquired, so the pool isn't exhausted either
+        for (int i = 0; i < 20; i++) {
+            reactiveTopicMessageRepository.findByFilter(filter)
+                    .as(StepVerifier::create)
+                    .thenCancel()
+                    .verify(WAIT);
+        }
+
+        reactiveTopicMessageRepository.findByFilter(filter)
+                .as(StepVerifier::create)
+                .expectNext(topicMessage1)
+                .expectComplete()
+                .verify(WAIT);
+    }
+}
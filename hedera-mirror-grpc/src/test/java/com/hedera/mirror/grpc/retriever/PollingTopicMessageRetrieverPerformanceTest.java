@@ -0,0 +1,132 @@
+package com.hedera.mirror.grpc.retriever;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Resource;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Value;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import com.hedera.mirror.grpc.GrpcIntegrationTest;
+import com.hedera.mirror.grpc.domain.DomainBuilder;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+/**
+ * Compares the threads, memory and latency of the JPA and reactive repositories when many subscribers retrieve their
+ * historical messages at once. The number of subscribers and of messages per subscriber can be changed with the
+ * performance.subscribers and performance.messages system properties.
+ */
+@Log4j2
+@Tag("performance")
+class PollingTopicMessageRetrieverPerformanceTest extends GrpcIntegrationTest {
+
+    @Resource
+    private DomainBuilder domainBuilder;
+
+    @Resource
+    private PollingTopicMessageRetriever pollingTopicMessageRetriever;
+
+    @Resource
+    private RetrieverProperties retrieverProperties;
+
+    @Value("${performance.messages:10}")
+    private int messages;
+
+    @Value("${performance.subscribers:5000}")
+    private int subscribers;
+
+    @BeforeEach
+    void setup() {
+        domainBuilder.topicMessages(messages, Instant.now().minusSeconds(60L)).blockLast();
+    }
+
+    @AfterEach
+    void teardown() {
+        retrieverProperties.setReactive(false);
+    }
+
+    @ParameterizedTest(name = "reactive={0}")
+    @ValueSource(booleans = {false, true})
+    void concurrentSubscribers(boolean reactive) {
+        retrieverProperties.setReactive(reactive);
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(Instant.EPOCH)
+                .build();
+
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        AtomicLong peakHeap = new AtomicLong(0L);
+        List<Long> latencies = new CopyOnWriteArrayList<>();
+
+        System.gc();
+        long heapBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+        threadMXBean.resetPeakThreadCount();
+        Disposable heapSampler = Flux.interval(Duration.ofMillis(50L))
+                .subscribe(i -> peakHeap.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max));
+
+        long start = System.nanoTime();
+        Long complete = Flux.range(0, subscribers)
+                .flatMap(i -> Mono.defer(() -> {
+                    long subscribed = System.nanoTime();
+                    return pollingTopicMessageRetriever.retrieve(filter, true)
+                            .count()
+                            .doOnNext(c -> latencies.add(System.nanoTime() - subscribed));
+                }).subscribeOn(Schedulers.boundedElastic()), subscribers)
+                .filter(count -> count == messages)
+                .count()
+                .block(Duration.ofMinutes(5L));
+        long elapsed = System.nanoTime() - start;
+        heapSampler.dispose();
+
+        latencies.sort(Long::compareTo);
+        log.info("{} {} subscribers retrieved {} messages each in {} ms. Latency p50: {} ms, p99: {} ms, max: {} ms. " +
+                        "Peak threads: {}, peak heap growth: {} MB", subscribers, reactive ? "Reactive" : "JPA",
+                messages, TimeUnit.NANOSECONDS.toMillis(elapsed), percentile(latencies, 0.5),
+                percentile(latencies, 0.99), percentile(latencies, 1.0), threadMXBean.getPeakThreadCount(),
+                (peakHeap.get() - heapBefore) / 1024 / 1024);
+
+        assertThat(complete).isEqualTo(subscribers);
+    }
+
+    private long percentile(List<Long> latencies, double percentile) {
+        int index = (int) Math.ceil(percentile * latencies.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(latencies.get(Math.max(index, 0)));
+    }
+}
@@ -185,6 +185,31 @@ class PollingTopicMessageRetrieverTest extends GrpcIntegrationTest {
         restoreMaxPageSize(throttle, maxPageSize);
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void greaterThanPageSizeReactive(boolean throttle) {
+        int maxPageSize = overrideMaxPageSize(throttle, 2);
+        retrieverProperties.setReactive(true);
+
+        domainBuilder.topicMessage().block();
+        domainBuilder.topicMessage().block();
+        domainBuilder.topicMessage().block();
+
+        TopicMessageFilter filter = TopicMessageFilter.builder()
+                .startTime(Instant.EPOCH)
+                .build();
+
+        pollingTopicMessageRetriever.retrieve(filter, throttle)
+                .map(TopicMessage::getSequenceNumber)
+                .as(StepVerifier::create)
+                .expectNext(1L, 2L, 3L)
+                .expectComplete()
+                .verify(Duration.ofMillis(1000));
+
+        retrieverProperties.setReactive(false);
+        restoreMaxPageSize(throttle, maxPageSize);
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void startTimeBefore(boolean throttle) {
@@ -0,0 +1,225 @@
+package com.hedera.mirror.grpc.retriever;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import com.hedera.mirror.grpc.domain.TopicMessage;
+import com.hedera.mirror.grpc.domain.TopicMessageFilter;
+
+class QueryCoalescerTest {
+
+    private static final String QUERIES_METRIC = "hedera.mirror.retriever.queries";
+    private static final Duration WAIT = Duration.ofMillis(500L);
+
+    private final List<TopicMessage> topicMessages = LongStream.rangeClosed(1L, 10L)
+            .mapToObj(this::topicMessage)
+            .collect(Collectors.toList());
+    private final List<TopicMessageFilter> queries = new CopyOnWriteArrayList<>();
+
+    private MeterRegistry meterRegistry;
+    private QueryCoalescer queryCoalescer;
+    private Sinks.Empty<Void> pending;
+    private RuntimeException error;
+
+    @BeforeEach
+    void setup() {
+        error = null;
+        meterRegistry = new SimpleMeterRegistry();
+        pending = Sinks.empty();
+        queryCoalescer = new QueryCoalescer(this::query, meterRegistry);
+    }
+
+    @Test
+    void identicalQueries() {
+        var stepVerifier1 = verifyLater(filter(1L, null, 0L), 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        var stepVerifier2 = verifyLater(filter(1L, null, 0L), 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        assertThat(queries).hasSize(1);
+        assertQueries(1.0, 1.0);
+    }
+
+    @Test
+    void containedQuery() {
+        var stepVerifier1 = verifyLater(filter(1L, null, 0L), 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        var stepVerifier2 = verifyLater(filter(4L, 8L, 2L), 4L, 5L);
+        var stepVerifier3 = verifyLater(filter(6L, 8L, 0L), 6L, 7L);
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        stepVerifier3.verify(WAIT);
+        assertThat(queries).hasSize(1);
+        assertQueries(1.0, 2.0);
+    }
+
+    @Test
+    void uncontainedQuery() {
+        var stepVerifier1 = verifyLater(filter(4L, null, 0L), 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        var stepVerifier2 = verifyLater(filter(1L, null, 2L), 1L, 2L);
+        var stepVerifier3 = verifyLater(filter(8L, 9L, 0L), 8L);
+        var stepVerifier4 = verifyLater(filter(5L, null, 0L), 5L, 6L, 7L, 8L, 9L, 10L);
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        stepVerifier3.verify(WAIT);
+        stepVerifier4.verify(WAIT);
+        assertThat(queries).hasSize(2);
+        assertQueries(2.0, 2.0);
+    }
+
+    @Test
+    void otherTopic() {
+        var stepVerifier1 = verifyLater(filter(1L, null, 0L), 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        var stepVerifier2 = verifyLater(filter(1L, null, 0L).toBuilder().topicNum(2).build());
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        assertThat(queries).hasSize(2);
+        assertQueries(2.0, 0.0);
+    }
+
+    @Test
+    void continuesAfterFullPage() {
+        var stepVerifier1 = verifyLater(filter(1L, null, 5L), 1L, 2L, 3L, 4L, 5L);
+        var stepVerifier2 = verifyLater(filter(3L, null, 5L), 3L, 4L, 5L, 6L, 7L);
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        assertThat(queries)
+                .hasSize(2)
+                .element(1)
+                .returns(instant(5L).plusNanos(1L), TopicMessageFilter::getStartTime)
+                .returns(2L, TopicMessageFilter::getLimit);
+        assertQueries(2.0, 1.0);
+    }
+
+    @Test
+    void sequentialQueries() {
+        pending.tryEmitEmpty();
+
+        verifyLater(filter(1L, null, 2L), 1L, 2L).verify(WAIT);
+        verifyLater(filter(1L, null, 2L), 1L, 2L).verify(WAIT);
+
+        assertThat(queries).hasSize(2);
+        assertQueries(2.0, 0.0);
+    }
+
+    @Test
+    void error() {
+        error = new IllegalStateException("error");
+        var stepVerifier1 = queryCoalescer.find(filter(1L, null, 0L))
+                .as(StepVerifier::create)
+                .expectErrorMessage("error")
+                .verifyLater();
+        var stepVerifier2 = queryCoalescer.find(filter(2L, null, 0L))
+                .as(StepVerifier::create)
+                .expectErrorMessage("error")
+                .verifyLater();
+
+        pending.tryEmitEmpty();
+
+        stepVerifier1.verify(WAIT);
+        stepVerifier2.verify(WAIT);
+        assertThat(queries).hasSize(1);
+
+        error = null;
+        verifyLater(filter(1L, null, 1L), 1L).verify(WAIT);
+        assertThat(queries).hasSize(2);
+    }
+
+    private Flux<TopicMessage> query(TopicMessageFilter filter) {
+        queries.add(filter);
+        long startTime = filter.getStartTimeLong();
+        Instant endTime = filter.getEndTime();
+        long limit = filter.hasLimit() ? filter.getLimit() : Long.MAX_VALUE;
+
+        return pending.asMono().thenMany(Flux.defer(() -> error != null ? Flux.error(error) : Flux
+                .fromIterable(topicMessages)
+                .filter(t -> t.getTopicNum() == filter.getTopicNum())
+                .filter(t -> t.getConsensusTimestamp() >= startTime)
+                .filter(t -> endTime == null || t.getConsensusTimestampInstant().isBefore(endTime))
+                .take(limit)));
+    }
+
+    private StepVerifier verifyLater(TopicMessageFilter filter, Long... sequenceNumbers) {
+        return queryCoalescer.find(filter)
+                .map(TopicMessage::getSequenceNumber)
+                .as(StepVerifier::create)
+                .expectNext(sequenceNumbers)
+                .expectComplete()
+                .verifyLater();
+    }
+
+    private void assertQueries(double executed, double collapsed) {
+        assertThat(meterRegistry.get(QUERIES_METRIC).tag("collapsed", "false").counter().count())
+                .isEqualTo(executed);
+        assertThat(meterRegistry.get(QUERIES_METRIC).tag("collapsed", "true").counter().count())
+                .isEqualTo(collapsed);
+    }
+
+    private TopicMessageFilter filter(long start, Long end, long limit) {
+        return TopicMessageFilter.builder()
+                .endTime(end != null ? instant(end) : null)
+                .limit(limit)
+                .startTime(instant(start))
+                .topicNum(1)
+                .build();
+    }
+
+    private Instant instant(long sequenceNumber) {
+        return Instant.EPOCH.plusSeconds(sequenceNumber);
+    }
+
+    private TopicMessage topicMessage(long sequenceNumber) {
+        return TopicMessage.builder()
+                .consensusTimestamp(instant(sequenceNumber))
+                .realmNum(0)
+                .sequenceNumber(sequenceNumber)
+                .topicNum(1)
+                .build();
+    }
+}
@@ -47,6 +47,7 @@ import com.hedera.mirror.grpc.domain.TopicMessageFilter;
 import com.hedera.mirror.grpc.exception.TopicNotFoundException;
 import com.hedera.mirror.grpc.listener.ListenerProperties;
 import com.hedera.mirror.grpc.listener.TopicListener;
+import com.hedera.mirror.grpc.listener.TopicMessageBuffer;
 import com.hedera.mirror.grpc.repository.EntityRepository;
 import com.hedera.mirror.grpc.retriever.RetrieverProperties;
 import com.hedera.mirror.grpc.retriever.TopicMessageRetriever;
@@ -477,7 +478,7 @@ class TopicMessageServiceTest extends GrpcIntegrationTest {
         EntityRepository entityRepository = Mockito.mock(EntityRepository.class);
         TopicMessageRetriever topicMessageRetriever = Mockito.mock(TopicMessageRetriever.class);
         topicMessageService = new TopicMessageServiceImpl(new GrpcProperties(), topicListener, entityRepository,
-                topicMessageRetriever, new SimpleMeterRegistry());
+                topicMessageRetriever, Mockito.mock(TopicMessageBuffer.class), new SimpleMeterRegistry());
 
         TopicMessageFilter retrieverFilter = TopicMessageFilter.builder()
                 .startTime(Instant.EPOCH)
@@ -513,7 +514,7 @@ class TopicMessageServiceTest extends GrpcIntegrationTest {
         EntityRepository entityRepository = Mockito.mock(EntityRepository.class);
         TopicMessageRetriever topicMessageRetriever = Mockito.mock(TopicMessageRetriever.class);
         topicMessageService = new TopicMessageServiceImpl(new GrpcProperties(), topicListener, entityRepository,
-                topicMessageRetriever, new SimpleMeterRegistry());
+                topicMessageRetriever, Mockito.mock(TopicMessageBuffer.class), new SimpleMeterRegistry());
 
         TopicMessageFilter filter = TopicMessageFilter.builder()
                 .startTime(Instant.EPOCH)
@@ -600,7 +601,7 @@ class TopicMessageServiceTest extends GrpcIntegrationTest {
         EntityRepository entityRepository = Mockito.mock(EntityRepository.class);
         TopicMessageRetriever topicMessageRetriever = Mockito.mock(TopicMessageRetriever.class);
         topicMessageService = new TopicMessageServiceImpl(new GrpcProperties(), topicListener, entityRepository,
-                topicMessageRetriever, new SimpleMeterRegistry());
+                topicMessageRetriever, Mockito.mock(TopicMessageBuffer.class), new SimpleMeterRegistry());
 
         TopicMessageFilter retrieverFilter = TopicMessageFilter.builder()
                 .startTime(Instant.EPOCH)
@@ -656,7 +657,7 @@ class TopicMessageServiceTest extends GrpcIntegrationTest {
         EntityRepository entityRepository = Mockito.mock(EntityRepository.class);
         TopicMessageRetriever topicMessageRetriever = Mockito.mock(TopicMessageRetriever.class);
         topicMessageService = new TopicMessageServiceImpl(new GrpcProperties(), topicListener, entityRepository,
-                topicMessageRetriever, new SimpleMeterRegistry());
+                topicMessageRetriever, Mockito.mock(TopicMessageBuffer.class), new SimpleMeterRegistry());
 
         // historic messages
         TopicMessage retrieved1 = topicMessage(1);
@@ -44,6 +44,7 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 
 import com.hedera.mirror.importer.downloader.CommonDownloaderProperties;
+import com.hedera.mirror.importer.downloader.LocalStorageClient;
 
 @Configuration
 @Log4j2
@@ -88,6 +89,13 @@ public class CloudStorageConfiguration {
         return clientBuilder.build();
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "hedera.mirror.importer.downloader", name = "cloudProvider", havingValue = "LOCAL")
+    S3AsyncClient localStorageClient() {
+        log.info("Configured to download from local directory {}", downloaderProperties.getLocalPath());
+        return new LocalStorageClient(downloaderProperties.getLocalPath());
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "hedera.mirror.importer.downloader", name = "cloudProvider", havingValue = "S3",
             matchIfMissing = true)
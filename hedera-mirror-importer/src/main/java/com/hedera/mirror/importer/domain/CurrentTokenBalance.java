@@ -0,0 +1,62 @@
+package com.hedera.mirror.importer.domain;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import java.io.Serializable;
+import javax.persistence.Embeddable;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The balance of a token for an account as of the last transfer applied to it. As a change, the balance is the sum of
+ * the amounts transferred.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class CurrentTokenBalance {
+
+    @EmbeddedId
+    @JsonUnwrapped
+    private Id id;
+
+    private long balance;
+
+    private long consensusTimestamp;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Embeddable
+    public static class Id implements Serializable {
+
+        private static final long serialVersionUID = 4470329387424563487L;
+
+        private long accountId;
+
+        private long tokenId;
+    }
+}
@@ -22,7 +22,9 @@ package com.hedera.mirror.importer.domain;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import lombok.NonNull;
@@ -78,6 +80,24 @@ public class StreamFileData {
         }
     }
 
+    /**
+     * Returns the uncompressed contents as a heap buffer. Uncompressed files are wrapped without copying, so the buffer
+     * shares the downloaded bytes and must not be written to.
+     *
+     * @return the uncompressed contents
+     */
+    public ByteBuffer getByteBuffer() {
+        if (StringUtils.isBlank(streamFilename.getCompressor())) {
+            return ByteBuffer.wrap(bytes);
+        }
+
+        try (InputStream is = getInputStream()) {
+            return ByteBuffer.wrap(is.readAllBytes());
+        } catch (IOException e) {
+            throw new InvalidStreamFileException("Unable to decompress file " + streamFilename, e);
+        }
+    }
+
     public Instant getInstant() {
         return streamFilename.getInstant();
     }
@@ -20,13 +20,17 @@ package com.hedera.mirror.importer.downloader;
  * ‍
  */
 
+import java.nio.file.Path;
+import java.time.Duration;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -41,6 +45,9 @@ public class CommonDownloaderProperties {
 
     private String accessKey;
 
+    @NotNull
+    private ArchiveProperties archive = new ArchiveProperties();
+
     private String bucketName;
 
     public String getBucketName() {
@@ -54,15 +61,29 @@ public class CommonDownloaderProperties {
     @NotNull
     private CloudProvider cloudProvider = CloudProvider.S3;
 
+    private boolean earlyConsensus = false;
+
     private String endpointOverride;
 
+    private Path localPath;
+
+    public Path getLocalPath() {
+        return localPath != null ? localPath : mirrorProperties.getDataPath();
+    }
+
     @Min(0)
     private int maxConcurrency = 1000; // aws sdk default = 50
 
+    @NotNull
+    private PipelineProperties pipeline = new PipelineProperties();
+
     private String region = "us-east-1";
 
     private String secretKey;
 
+    @Min(1)
+    private int signatureVerificationThreads = Runtime.getRuntime().availableProcessors();
+
     private String gcpProjectId;
 
     private Boolean allowAnonymousAccess;
@@ -80,12 +101,57 @@ public class CommonDownloaderProperties {
                 .getAllowAnonymousAccess();
     }
 
+    @Data
+    @Validated
+    public static class ArchiveProperties {
+
+        @NotNull
+        private ArchiveCompression compression = ArchiveCompression.GZIP;
+
+        @NotNull
+        private ArchiveFormat format = ArchiveFormat.FILE;
+
+        @DurationMin(seconds = 1)
+        @NotNull
+        private Duration segmentDuration = Duration.ofHours(1L);
+    }
+
+    @Data
+    @Validated
+    public static class PipelineProperties {
+
+        private boolean batchVerification = false;
+
+        private boolean enabled = false;
+
+        @Min(1)
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        @Min(1)
+        private int windowSize = 5; // max number of data files verified ahead of the file being verified
+    }
+
     @Getter
     @RequiredArgsConstructor
     public enum CloudProvider {
         S3("https://s3.amazonaws.com"),
-        GCP("https://storage.googleapis.com");
+        GCP("https://storage.googleapis.com"),
+        LOCAL(null); // Reads the bucket layout from localPath
 
         private final String endpoint;
     }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum ArchiveCompression {
+        GZIP(CompressorStreamFactory.GZIP, "gz");
+
+        private final String compressor;
+        private final String extension;
+    }
+
+    public enum ArchiveFormat {
+        FILE, // One file per stream file
+        SEGMENT // Time partitioned, compressed segments with an index
+    }
 }
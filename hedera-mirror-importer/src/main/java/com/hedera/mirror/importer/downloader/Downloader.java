@@ -26,9 +26,13 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.maxBy;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.TreeMultimap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.nio.file.Path;
@@ -36,12 +40,16 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -49,6 +57,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import lombok.Value;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
@@ -68,13 +77,15 @@ import com.hedera.mirror.importer.domain.StreamFile;
 import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.domain.StreamFilename;
 import com.hedera.mirror.importer.domain.StreamType;
+import com.hedera.mirror.importer.downloader.archive.FileArchiver;
+import com.hedera.mirror.importer.downloader.archive.SegmentArchiver;
+import com.hedera.mirror.importer.downloader.archive.StreamFileArchiver;
 import com.hedera.mirror.importer.exception.HashMismatchException;
 import com.hedera.mirror.importer.exception.InvalidStreamFileException;
 import com.hedera.mirror.importer.exception.SignatureVerificationException;
 import com.hedera.mirror.importer.reader.StreamFileReader;
 import com.hedera.mirror.importer.reader.signature.SignatureFileReader;
 import com.hedera.mirror.importer.util.ShutdownHelper;
-import com.hedera.mirror.importer.util.Utility;
 
 public abstract class Downloader<T extends StreamFile> {
     public static final String STREAM_CLOSE_LATENCY_METRIC_NAME = "hedera.mirror.stream.close.latency";
@@ -83,6 +94,8 @@ public abstract class Downloader<T extends StreamFile> {
     private final S3AsyncClient s3Client;
     private final AddressBookService addressBookService;
     private final ExecutorService signatureDownloadThreadPool; // One per node during the signature download process
+    private final ExecutorService pipelineThreadPool; // Lists the next signature batch while the current is verified
+    private final ExecutorService streamFileReaderThreadPool; // Reads data files ahead of the one being verified
     protected final DownloaderProperties downloaderProperties;
     private final MirrorProperties mirrorProperties;
     private final CommonDownloaderProperties commonDownloaderProperties;
@@ -90,10 +103,13 @@ public abstract class Downloader<T extends StreamFile> {
     protected final SignatureFileReader signatureFileReader;
     protected final StreamFileReader<T, ?> streamFileReader;
     protected final StreamFileNotifier streamFileNotifier;
+    private final StreamFileArchiver streamFileArchiver;
     protected final MirrorDateRangePropertiesProcessor mirrorDateRangePropertiesProcessor;
     private final StreamType streamType;
 
     protected final AtomicReference<Optional<T>> lastStreamFile = new AtomicReference<>(Optional.empty());
+    private final AtomicReference<PipelinedBatch> nextBatch = new AtomicReference<>();
+    private final AtomicInteger pipelineWindow = new AtomicInteger(0);
 
     // Metrics
     private final MeterRegistry meterRegistry;
@@ -101,6 +117,7 @@ public abstract class Downloader<T extends StreamFile> {
     private final Timer downloadLatencyMetric;
     private final Timer streamCloseMetric;
     private final Timer.Builder streamVerificationMetric;
+    private final Counter.Builder pipelinedBatchMetric;
 
     protected Downloader(S3AsyncClient s3Client,
                          AddressBookService addressBookService, DownloaderProperties downloaderProperties,
@@ -114,13 +131,21 @@ public abstract class Downloader<T extends StreamFile> {
         this.meterRegistry = meterRegistry;
         this.nodeSignatureVerifier = nodeSignatureVerifier;
         signatureDownloadThreadPool = Executors.newFixedThreadPool(downloaderProperties.getThreads());
+        pipelineThreadPool = Executors.newSingleThreadExecutor();
+        streamFileReaderThreadPool = Executors.newFixedThreadPool(downloaderProperties.getCommon().getPipeline()
+                .getThreads());
         this.signatureFileReader = signatureFileReader;
         this.streamFileReader = streamFileReader;
         this.streamFileNotifier = streamFileNotifier;
         this.mirrorDateRangePropertiesProcessor = mirrorDateRangePropertiesProcessor;
         Runtime.getRuntime().addShutdownHook(new Thread(signatureDownloadThreadPool::shutdown));
+        Runtime.getRuntime().addShutdownHook(new Thread(pipelineThreadPool::shutdownNow));
+        Runtime.getRuntime().addShutdownHook(new Thread(streamFileReaderThreadPool::shutdownNow));
         mirrorProperties = downloaderProperties.getMirrorProperties();
         commonDownloaderProperties = downloaderProperties.getCommon();
+        var archiveProperties = commonDownloaderProperties.getArchive();
+        streamFileArchiver = archiveProperties.getFormat() == CommonDownloaderProperties.ArchiveFormat.SEGMENT ?
+                new SegmentArchiver(archiveProperties) : new FileArchiver();
 
         streamType = downloaderProperties.getStreamType();
 
@@ -145,6 +170,15 @@ public abstract class Downloader<T extends StreamFile> {
         streamVerificationMetric = Timer.builder("hedera.mirror.download.stream.verification")
                 .description("The duration in seconds it took to verify consensus and hash chain of a stream file")
                 .tag("type", streamType.toString());
+
+        pipelinedBatchMetric = Counter.builder("hedera.mirror.download.pipeline.batch")
+                .description("The number of signature batches listed ahead of time, tagged by whether they were used")
+                .tag("type", streamType.toString());
+
+        Gauge.builder("hedera.mirror.download.pipeline.window", pipelineWindow, AtomicInteger::get)
+                .description("The number of data files downloading ahead of the stream file being verified")
+                .tag("type", streamType.toString())
+                .register(meterRegistry);
     }
 
     public abstract void download();
@@ -160,7 +194,7 @@ public abstract class Downloader<T extends StreamFile> {
 
         try {
             AddressBook addressBook = addressBookService.getCurrent();
-            var sigFilesMap = downloadAndParseSigFiles(addressBook);
+            var sigFilesMap = getSignatures(addressBook);
 
             // Following is a cost optimization to not unnecessarily list the public demo bucket once complete
             if (sigFilesMap.isEmpty() && mirrorProperties.getNetwork() == MirrorProperties.HederaNetwork.DEMO) {
@@ -168,6 +202,10 @@ public abstract class Downloader<T extends StreamFile> {
                 log.warn("Disabled polling after downloading all files in demo bucket");
             }
 
+            if (commonDownloaderProperties.getPipeline().isEnabled()) {
+                listNextBatch(addressBook, sigFilesMap);
+            }
+
             // Verify signature files and download corresponding files of valid signature files
             verifySigsAndDownloadDataFiles(sigFilesMap);
         } catch (SignatureVerificationException e) {
@@ -180,16 +218,69 @@ public abstract class Downloader<T extends StreamFile> {
         }
     }
 
+    /**
+     * Returns the signature batch after the last valid file. If the pipeline listed this exact batch ahead of time
+     * while the previous batch was being verified, its result is used instead of listing the bucket again.
+     *
+     * @param addressBook the current address book
+     * @return a multi-map of signature file objects from different nodes, grouped by filename
+     */
+    private Multimap<String, FileStreamSignature> getSignatures(AddressBook addressBook) throws InterruptedException {
+        String startAfterFilename = getStartAfterFilename();
+        PipelinedBatch pipelinedBatch = nextBatch.getAndSet(null);
+
+        if (pipelinedBatch != null) {
+            Multimap<String, FileStreamSignature> sigFilesMap = pipelinedBatch.getSignatures(startAfterFilename,
+                    addressBook);
+            boolean used = !sigFilesMap.isEmpty();
+            pipelinedBatchMetric.tag("used", String.valueOf(used)).register(meterRegistry).increment();
+
+            if (used) {
+                log.info("Using {} signatures listed ahead of time after file: {}", sigFilesMap.size(),
+                        startAfterFilename);
+                return sigFilesMap;
+            }
+        }
+
+        return downloadAndParseSigFiles(addressBook, startAfterFilename);
+    }
+
+    /**
+     * Starts listing and downloading the signature batch that follows the current batch in the background, assuming
+     * every file in the current batch will be verified. If that turns out to be false, the result is discarded.
+     *
+     * @param addressBook the current address book
+     * @param sigFilesMap the current batch of signature files
+     */
+    private void listNextBatch(AddressBook addressBook, Multimap<String, FileStreamSignature> sigFilesMap) {
+        if (sigFilesMap.isEmpty()) {
+            return;
+        }
+
+        String lastSigFilename = Iterables.getLast(sigFilesMap.keySet());
+        String startAfterFilename = new StreamFilename(lastSigFilename).getFilenameAfter();
+        var future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return downloadAndParseSigFiles(addressBook, startAfterFilename);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, pipelineThreadPool);
+        nextBatch.set(new PipelinedBatch(addressBook, future, startAfterFilename));
+    }
+
     /**
      * Download and parse all signature files with a timestamp later than the last valid file. Put signature files into
      * a multi-map sorted and grouped by the timestamp.
      *
-     * @param addressBook the current address book
+     * @param addressBook        the current address book
+     * @param startAfterFilename the filename after which to list signature files
      * @return a multi-map of signature file objects from different nodes, grouped by filename
      */
-    private Multimap<String, FileStreamSignature> downloadAndParseSigFiles(AddressBook addressBook)
+    private Multimap<String, FileStreamSignature> downloadAndParseSigFiles(AddressBook addressBook,
+                                                                           String startAfterFilename)
             throws InterruptedException {
-        String startAfterFilename = getStartAfterFilename();
         Multimap<String, FileStreamSignature> sigFilesMap = Multimaps
                 .synchronizedSortedSetMultimap(TreeMultimap.create());
 
@@ -358,102 +449,243 @@ public abstract class Downloader<T extends StreamFile> {
      * file. (3) compare the hash of data file with Hash which has been agreed on by valid signatures, if match, move
      * the data file into `valid` directory; else download the data file from other valid node folder and compare the
      * hash until we find a match.
+     * <p>
+     * When the pipeline is enabled, steps (1) to (3) run concurrently for up to windowSize files after the current one,
+     * or for the whole batch with batch verification, using the data file from the first node that reached consensus.
+     * Only the hash chain is verified strictly in order. If any of that fails, the file falls back to being downloaded
+     * and verified node by node.
      *
      * @param sigFilesMap signature files grouped by filename
      */
     private void verifySigsAndDownloadDataFiles(Multimap<String, FileStreamSignature> sigFilesMap) {
         Instant endDate = mirrorProperties.getEndDate();
+        List<String> sigFilenames = new ArrayList<>(sigFilesMap.keySet());
+        int lookahead = getLookahead(sigFilenames.size());
+        Map<String, CompletableFuture<Optional<PreparedStreamFile>>> preparedStreamFiles = new HashMap<>();
+        PrefetchedDownloads prefetchedDownloads = new PrefetchedDownloads();
+        int preparedCount = 0;
 
-        for (var sigFilenameIter = sigFilesMap.keySet().iterator(); sigFilenameIter.hasNext(); ) {
-            if (ShutdownHelper.isStopping()) {
-                return;
-            }
+        try {
+            for (int index = 0; index < sigFilenames.size(); index++) {
+                if (ShutdownHelper.isStopping()) {
+                    return;
+                }
 
-            Instant startTime = Instant.now();
-            String sigFilename = sigFilenameIter.next();
-            Collection<FileStreamSignature> signatures = sigFilesMap.get(sigFilename);
-            boolean valid = false;
+                Instant startTime = Instant.now();
+                String sigFilename = sigFilenames.get(index);
+                Collection<FileStreamSignature> signatures = sigFilesMap.get(sigFilename);
+                Optional<PreparedStreamFile> preparedStreamFile = Optional.empty();
+
+                if (lookahead > 0) {
+                    for (int end = Math.min(index + 1 + lookahead, sigFilenames.size()); preparedCount < end;
+                            preparedCount++) {
+                        String filename = sigFilenames.get(preparedCount);
+                        preparedStreamFiles.put(filename, prepareStreamFile(sigFilesMap.get(filename),
+                                prefetchedDownloads));
+                    }
+                    pipelineWindow.set(preparedStreamFiles.size());
+                }
 
-            try {
-                nodeSignatureVerifier.verify(signatures);
-            } catch (SignatureVerificationException ex) {
-                if (sigFilenameIter.hasNext()) {
-                    log.warn("Signature verification failed but still have files in the batch, try to process the " +
-                            "next group: {}", ex.getMessage());
-                    continue;
+                try {
+                    if (lookahead > 0) {
+                        preparedStreamFile = join(preparedStreamFiles.remove(sigFilename));
+                        preparedStreamFile.ifPresent(p -> prefetchedDownloads.remove(p.getPendingDownload()));
+                    } else {
+                        nodeSignatureVerifier.verify(signatures);
+                    }
+                } catch (SignatureVerificationException ex) {
+                    if (index < sigFilenames.size() - 1) {
+                        log.warn("Signature verification failed but still have files in the batch, try to process " +
+                                "the next group: {}", ex.getMessage());
+                        continue;
+                    }
+                    throw ex;
                 }
-                throw ex;
-            }
 
-            for (FileStreamSignature signature : signatures) {
-                if (ShutdownHelper.isStopping()) {
+                boolean valid = verifyAndDownloadDataFile(sigFilename, signatures, preparedStreamFile, endDate);
+                if (ShutdownHelper.isStopping() || !downloaderProperties.isEnabled()) {
                     return;
                 }
 
-                // Ignore signatures that didn't validate or weren't in the majority
-                if (signature.getStatus() != FileStreamSignature.SignatureStatus.CONSENSUS_REACHED) {
-                    continue;
+                if (!valid) {
+                    log.error("None of the data files could be verified, signatures: {}", signatures);
                 }
 
-                try {
-                    PendingDownload pendingDownload = downloadSignedDataFile(signature);
+                streamVerificationMetric.tag("success", String.valueOf(valid))
+                        .register(meterRegistry)
+                        .record(Duration.between(startTime, Instant.now()));
+            }
+        } finally {
+            // Abort the transfers started ahead of time so they don't keep running or hold on to their bytes
+            prefetchedDownloads.cancel();
+            preparedStreamFiles.values().forEach(f -> f.cancel(false));
+            pipelineWindow.set(0);
+        }
+    }
+
+    /**
+     * Returns the number of files after the current one to verify concurrently with it.
+     *
+     * @param batchSize the number of files in the batch
+     * @return the number of files to verify ahead of the current one
+     */
+    private int getLookahead(int batchSize) {
+        var pipeline = commonDownloaderProperties.getPipeline();
+        if (!pipeline.isEnabled()) {
+            return 0;
+        }
+        return pipeline.isBatchVerification() ? batchSize : pipeline.getWindowSize();
+    }
+
+    private <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SignatureVerificationException) {
+                throw (SignatureVerificationException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Downloads the data file from the nodes that reached consensus until one matches the agreed upon hash and links
+     * to the last stream file's hash.
+     *
+     * @param sigFilename        the signature filename
+     * @param signatures         the verified signatures for the file
+     * @param preparedStreamFile the stream file already downloaded and verified against its signature, if any
+     * @param endDate            the end date after which downloading is disabled
+     * @return true if a data file was verified
+     */
+    private boolean verifyAndDownloadDataFile(String sigFilename, Collection<FileStreamSignature> signatures,
+                                              Optional<PreparedStreamFile> preparedStreamFile, Instant endDate) {
+        for (FileStreamSignature signature : signatures) {
+            if (ShutdownHelper.isStopping()) {
+                return false;
+            }
+
+            // Ignore signatures that didn't validate or weren't in the majority
+            if (signature.getStatus() != FileStreamSignature.SignatureStatus.CONSENSUS_REACHED) {
+                continue;
+            }
+
+            try {
+                PendingDownload pendingDownload;
+                T streamFile;
+
+                if (preparedStreamFile.isPresent() && preparedStreamFile.get().getSignature() == signature) {
+                    pendingDownload = preparedStreamFile.get().getPendingDownload();
+                    streamFile = preparedStreamFile.get().getStreamFile();
+                } else {
+                    pendingDownload = downloadSignedDataFile(signature);
                     if (!pendingDownload.waitForCompletion()) {
                         continue;
                     }
 
-                    StreamFilename dataFilename = pendingDownload.getStreamFilename();
-                    StreamFileData streamFileData = new StreamFileData(dataFilename, pendingDownload.getBytes());
-                    T streamFile = streamFileReader.read(streamFileData);
-                    streamFile.setNodeAccountId(signature.getNodeAccountId());
+                    streamFile = readStreamFile(pendingDownload, signature);
+                }
 
-                    verify(streamFile, signature);
+                verifyHashChain(streamFile);
 
-                    if (downloaderProperties.isWriteFiles()) {
-                        Utility.archiveFile(streamFile.getName(), streamFile.getBytes(),
-                                downloaderProperties.getNodeStreamPath(signature.getNodeAccountIdString()));
-                    }
-
-                    if (downloaderProperties.isWriteSignatures()) {
-                        signatures.forEach(s -> {
-                            Path destination = downloaderProperties.getNodeStreamPath(s.getNodeAccountIdString());
-                            Utility.archiveFile(s.getFilename(), s.getBytes(), destination);
-                        });
-                    }
+                if (downloaderProperties.isWriteFiles()) {
+                    streamFileArchiver.archive(streamFile.getName(), streamFile.getBytes(),
+                            downloaderProperties.getNodeStreamPath(signature.getNodeAccountIdString()));
+                }
 
-                    if (!downloaderProperties.isPersistBytes()) {
-                        streamFile.setBytes(null);
-                    }
+                if (downloaderProperties.isWriteSignatures()) {
+                    signatures.forEach(s -> {
+                        Path destination = downloaderProperties.getNodeStreamPath(s.getNodeAccountIdString());
+                        streamFileArchiver.archive(s.getFilename(), s.getBytes(), destination);
+                    });
+                }
 
-                    if (dataFilename.getInstant().isAfter(endDate)) {
-                        downloaderProperties.setEnabled(false);
-                        log.warn("Disabled polling after downloading all files <= endDate ({})", endDate);
-                        return;
-                    }
+                if (!downloaderProperties.isPersistBytes()) {
+                    streamFile.setBytes(null);
+                }
 
-                    onVerified(pendingDownload, streamFile);
-                    valid = true;
-                    break;
-                } catch (HashMismatchException e) {
-                    log.warn("Failed to verify data file from node {} corresponding to {}. Will retry another node",
-                            signature.getNodeAccountIdString(), sigFilename, e);
-                } catch (InterruptedException e) {
-                    log.warn("Failed to download data file from node {} corresponding to {}",
-                            signature.getNodeAccountIdString(), sigFilename, e);
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    log.error("Error downloading data file from node {} corresponding to {}. Will retry another node",
-                            signature.getNodeAccountIdString(), sigFilename, e);
+                if (pendingDownload.getStreamFilename().getInstant().isAfter(endDate)) {
+                    downloaderProperties.setEnabled(false);
+                    log.warn("Disabled polling after downloading all files <= endDate ({})", endDate);
+                    return false;
                 }
+
+                onVerified(pendingDownload, streamFile);
+                return true;
+            } catch (HashMismatchException e) {
+                log.warn("Failed to verify data file from node {} corresponding to {}. Will retry another node",
+                        signature.getNodeAccountIdString(), sigFilename, e);
+            } catch (InterruptedException e) {
+                log.warn("Failed to download data file from node {} corresponding to {}",
+                        signature.getNodeAccountIdString(), sigFilename, e);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error downloading data file from node {} corresponding to {}. Will retry another node",
+                        signature.getNodeAccountIdString(), sigFilename, e);
             }
+        }
+
+        return false;
+    }
 
-            if (!valid) {
-                log.error("None of the data files could be verified, signatures: {}", signatures);
+    /**
+     * Reads the downloaded data file and verifies its hashes match the ones in the signature.
+     *
+     * @param pendingDownload the completed download of the data file
+     * @param signature       the signature of the node the data file was downloaded from
+     * @return the stream file
+     */
+    private T readStreamFile(PendingDownload pendingDownload, FileStreamSignature signature)
+            throws ExecutionException, InterruptedException {
+        StreamFileData streamFileData = new StreamFileData(pendingDownload.getStreamFilename(),
+                pendingDownload.getBytes());
+        T streamFile = streamFileReader.read(streamFileData);
+        streamFile.setNodeAccountId(signature.getNodeAccountId());
+        verifyHashes(streamFile, signature);
+        return streamFile;
+    }
+
+    /**
+     * Verifies the signatures of a stream file and then downloads, reads and verifies the data file from the first
+     * node that reached consensus, which is the first node verifyAndDownloadDataFile() will try. Everything except
+     * the hash chain is verified, since that depends on the stream files before it.
+     *
+     * @param signatures          the signatures for the file
+     * @param prefetchedDownloads the downloads started ahead of time, to cancel if they're no longer needed
+     * @return a future completing exceptionally if the signatures can't be verified, or with the verified stream file
+     * if its data file could be downloaded and verified from the first node
+     */
+    private CompletableFuture<Optional<PreparedStreamFile>> prepareStreamFile(
+            Collection<FileStreamSignature> signatures, PrefetchedDownloads prefetchedDownloads) {
+        return nodeSignatureVerifier.verifyAsync(signatures).thenApplyAsync(v -> {
+            Optional<FileStreamSignature> signature = signatures.stream()
+                    .filter(s -> s.getStatus() == FileStreamSignature.SignatureStatus.CONSENSUS_REACHED)
+                    .findFirst();
+
+            if (signature.isEmpty() || ShutdownHelper.isStopping()) {
+                return Optional.empty();
             }
 
-            streamVerificationMetric.tag("success", String.valueOf(valid))
-                    .register(meterRegistry)
-                    .record(Duration.between(startTime, Instant.now()));
-        }
+            PendingDownload pendingDownload = downloadSignedDataFile(signature.get());
+            if (!prefetchedDownloads.add(pendingDownload)) {
+                return Optional.empty();
+            }
+
+            try {
+                if (pendingDownload.waitForCompletion()) {
+                    T streamFile = readStreamFile(pendingDownload, signature.get());
+                    return Optional.of(new PreparedStreamFile(pendingDownload, signature.get(), streamFile));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Failed to verify data file {} from node {} ahead of time: {}",
+                        pendingDownload.getStreamFilename(), signature.get().getNodeAccountIdString(), e.getMessage());
+            }
+
+            prefetchedDownloads.remove(pendingDownload);
+            return Optional.empty();
+        }, streamFileReaderThreadPool);
     }
 
     private PendingDownload downloadSignedDataFile(FileStreamSignature fileStreamSignature) {
@@ -484,6 +716,16 @@ public abstract class Downloader<T extends StreamFile> {
         lastStreamFile.set(Optional.of(streamFile));
     }
 
+    /**
+     * Resumes downloading after the last stream file in the database, discarding the stream files verified since then
+     * so that they're verified and parsed again.
+     */
+    protected void resume() {
+        nextBatch.set(null);
+        lastStreamFile.set(mirrorDateRangePropertiesProcessor.getLastStreamFile(streamType));
+        log.warn("Resuming download after {}", lastStreamFile.get().map(StreamFile::getName).orElse(null));
+    }
+
     /**
      * Sets the index of the streamFile to the last index plus 1, or 0 if it's the first stream file.
      *
@@ -498,20 +740,26 @@ public abstract class Downloader<T extends StreamFile> {
     }
 
     /**
-     * Verifies the stream file is the next file in the hashchain if it's chained and the hash of the stream file
-     * matches the expected hash in the signature.
+     * Verifies the stream file is the next file in the hashchain if it's chained.
      *
      * @param streamFile the stream file object
-     * @param signature  the signature object corresponding to the stream file
      */
-    private void verify(StreamFile streamFile, FileStreamSignature signature) {
-        String filename = streamFile.getName();
+    private void verifyHashChain(StreamFile streamFile) {
         String expectedPrevHash = lastStreamFile.get().map(StreamFile::getHash).orElse(null);
 
         if (!verifyHashChain(streamFile, expectedPrevHash)) {
-            throw new HashMismatchException(filename, expectedPrevHash, streamFile.getPreviousHash());
+            throw new HashMismatchException(streamFile.getName(), expectedPrevHash, streamFile.getPreviousHash());
         }
+    }
 
+    /**
+     * Verifies the hashes of the stream file match the expected hashes in the signature.
+     *
+     * @param streamFile the stream file object
+     * @param signature  the signature object corresponding to the stream file
+     */
+    private void verifyHashes(StreamFile streamFile, FileStreamSignature signature) {
+        String filename = streamFile.getName();
         verifyHash(filename, streamFile.getFileHash(), signature.getFileHashAsHex());
         verifyHash(filename, streamFile.getMetadataHash(), signature.getMetadataHashAsHex());
     }
@@ -548,4 +796,76 @@ public abstract class Downloader<T extends StreamFile> {
 
         return streamFile.getPreviousHash().contentEquals(expectedPreviousHash);
     }
+
+    /**
+     * A signature batch listed in the background while the previous batch is being verified.
+     */
+    @Value
+    private class PipelinedBatch {
+        private final AddressBook addressBook;
+        private final CompletableFuture<Multimap<String, FileStreamSignature>> future;
+        private final String startAfterFilename;
+
+        /**
+         * Returns the signatures listed ahead of time if they were listed after the expected filename with the same
+         * address book, otherwise an empty multi-map.
+         *
+         * @param expectedStartAfterFilename the filename after which signature files should be listed
+         * @param currentAddressBook         the current address book
+         * @return a multi-map of signature file objects from different nodes, grouped by filename
+         */
+        Multimap<String, FileStreamSignature> getSignatures(String expectedStartAfterFilename,
+                                                            AddressBook currentAddressBook)
+                throws InterruptedException {
+            if (!startAfterFilename.equals(expectedStartAfterFilename) || !Objects.equals(
+                    addressBook.getStartConsensusTimestamp(), currentAddressBook.getStartConsensusTimestamp())) {
+                log.info("Discarding signatures listed ahead of time after file: {}", startAfterFilename);
+                future.cancel(true);
+                return ImmutableMultimap.of();
+            }
+
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                log.warn("Error listing signatures ahead of time after file: {}", startAfterFilename, e);
+                return ImmutableMultimap.of();
+            }
+        }
+    }
+
+    /**
+     * The data file downloads started ahead of time for a batch that haven't been handed off yet. Downloads added after
+     * the batch ended are cancelled right away. They're keyed by their future since PendingDownload equality includes
+     * its mutable state.
+     */
+    private static class PrefetchedDownloads {
+        private final Map<CompletableFuture<?>, PendingDownload> pendingDownloads = new ConcurrentHashMap<>();
+        private volatile boolean cancelled = false;
+
+        boolean add(PendingDownload pendingDownload) {
+            pendingDownloads.put(pendingDownload.getFuture(), pendingDownload);
+            if (cancelled) {
+                pendingDownload.cancel();
+                return false;
+            }
+            return true;
+        }
+
+        void remove(PendingDownload pendingDownload) {
+            pendingDownloads.remove(pendingDownload.getFuture());
+        }
+
+        void cancel() {
+            cancelled = true;
+            pendingDownloads.values().forEach(PendingDownload::cancel);
+            pendingDownloads.clear();
+        }
+    }
+
+    @Value
+    private class PreparedStreamFile {
+        private final PendingDownload pendingDownload;
+        private final FileStreamSignature signature;
+        private final T streamFile;
+    }
 }
@@ -0,0 +1,258 @@
+package com.hedera.mirror.importer.downloader;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import com.hedera.mirror.importer.downloader.archive.SegmentArchiveReader;
+
+/**
+ * An S3AsyncClient that serves the bucket layout from a local directory tree instead of cloud storage. The object key
+ * is resolved relative to the root directory and the bucket name is ignored, so a directory populated by a previous run
+ * with writeFiles enabled or a mirrored copy of the bucket can be replayed without any per-request cost. Only the
+ * listObjects and getObject operations used by the downloaders are supported.
+ * <p>
+ * Objects are read fully into memory with a single read, and directory listings are cached and reused until the
+ * directory's modification time changes so that each batch only pays for a sorted tail lookup after the marker.
+ * <p>
+ * Directories holding archived segments (see {@link SegmentArchiveReader}) are listed as the files in their indexes,
+ * and those files are decompressed from their segment when requested, so an archive can be replayed like the bucket it
+ * was downloaded from.
+ */
+@Log4j2
+public class LocalStorageClient implements S3AsyncClient {
+
+    private static final int DEFAULT_MAX_KEYS = 1000; // Same as S3
+    private static final String DELIMITER = "/";
+
+    private final Map<Path, DirectoryListing> listings = new ConcurrentHashMap<>();
+    private final Path root;
+
+    public LocalStorageClient(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        listings.clear();
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsResponse> listObjects(ListObjectsRequest listObjectsRequest) {
+        try {
+            String prefix = StringUtils.defaultString(listObjectsRequest.prefix());
+            String directory = StringUtils.substringBeforeLast(prefix, DELIMITER);
+            String namePrefix = prefix.contains(DELIMITER) ? StringUtils.substringAfterLast(prefix, DELIMITER) : prefix;
+            String keyPrefix = prefix.substring(0, prefix.length() - namePrefix.length());
+            String marker = StringUtils.defaultString(listObjectsRequest.marker());
+            Integer maxKeys = listObjectsRequest.maxKeys();
+            int limit = maxKeys != null ? maxKeys : DEFAULT_MAX_KEYS;
+
+            Path path = resolve(prefix.contains(DELIMITER) ? directory : "");
+            DirectoryListing listing = getListing(path);
+            NavigableSet<String> names = listing.getNames();
+
+            // Keys in a directory share the same prefix so they sort the same as their file names
+            String startAfter = marker.startsWith(keyPrefix) ? marker.substring(keyPrefix.length()) : "";
+            List<S3Object> contents = names.tailSet(startAfter, false)
+                    .stream()
+                    .filter(name -> name.startsWith(namePrefix) && (keyPrefix + name).compareTo(marker) > 0)
+                    .limit(limit + 1L)
+                    .map(name -> toS3Object(path.resolve(name), keyPrefix + name, listing))
+                    .collect(Collectors.toList());
+
+            boolean truncated = contents.size() > limit;
+            if (truncated) {
+                contents = contents.subList(0, limit);
+            }
+
+            ListObjectsResponse response = ListObjectsResponse.builder()
+                    .contents(contents)
+                    .delimiter(listObjectsRequest.delimiter())
+                    .isTruncated(truncated)
+                    .marker(listObjectsRequest.marker())
+                    .maxKeys(limit)
+                    .name(listObjectsRequest.bucket())
+                    .prefix(listObjectsRequest.prefix())
+                    .build();
+            return CompletableFuture.completedFuture(response);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getObject(GetObjectRequest getObjectRequest,
+                                              AsyncResponseTransformer<GetObjectResponse, T> transformer) {
+        CompletableFuture<T> future = transformer.prepare();
+
+        try {
+            Path path = resolve(getObjectRequest.key());
+            byte[] bytes;
+            FileTime lastModified;
+
+            if (Files.isRegularFile(path)) {
+                bytes = Files.readAllBytes(path);
+                lastModified = Files.getLastModifiedTime(path);
+            } else {
+                SegmentArchiveReader.Entry entry = getArchived(path);
+                if (entry == null) {
+                    throw NoSuchKeyException.builder().message("The specified key does not exist: " +
+                            getObjectRequest.key()).build();
+                }
+
+                bytes = SegmentArchiveReader.read(entry);
+                lastModified = Files.getLastModifiedTime(entry.getSegment());
+            }
+
+            GetObjectResponse response = GetObjectResponse.builder()
+                    .contentLength((long) bytes.length)
+                    .lastModified(lastModified.toInstant())
+                    .build();
+            transformer.onResponse(response);
+            transformer.onStream(SdkPublisher.adapt(Mono.just(ByteBuffer.wrap(bytes))));
+        } catch (Exception e) {
+            transformer.exceptionOccurred(e);
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private SegmentArchiveReader.Entry getArchived(Path path) throws IOException {
+        Path directory = path.getParent();
+        return directory != null ? getListing(directory).getArchived().get(path.getFileName().toString()) : null;
+    }
+
+    private DirectoryListing getListing(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new DirectoryListing(null, null, null, new TreeSet<>(), Map.of());
+        }
+
+        FileTime lastModified = Files.getLastModifiedTime(directory);
+        DirectoryListing listing = listings.get(directory);
+
+        if (listing == null || !listing.getLastModified().equals(lastModified) || isLatestIndexModified(listing)) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            NavigableSet<String> names = new TreeSet<>();
+            Map<String, SegmentArchiveReader.Entry> archived = new HashMap<>();
+            Path latestIndex = null;
+
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+
+                if (SegmentArchiveReader.isIndex(name)) {
+                    latestIndex = file;
+                    for (SegmentArchiveReader.Entry entry : SegmentArchiveReader.readIndex(file)) {
+                        archived.put(entry.getFilename(), entry);
+                        names.add(entry.getFilename());
+                    }
+                } else if (!SegmentArchiveReader.isArchive(name)) {
+                    names.add(name);
+                }
+            }
+
+            FileTime latestIndexModified = latestIndex != null ? Files.getLastModifiedTime(latestIndex) : null;
+            listing = new DirectoryListing(lastModified, latestIndex, latestIndexModified, names, archived);
+            listings.put(directory, listing);
+            log.debug("Listed {} files in {}", names.size(), directory);
+        }
+
+        return listing;
+    }
+
+    // Only the latest index is appended to, older segments are complete once a newer one is created
+    private boolean isLatestIndexModified(DirectoryListing listing) throws IOException {
+        Path latestIndex = listing.getLatestIndex();
+        return latestIndex != null && !Files.getLastModifiedTime(latestIndex).equals(listing.getLatestIndexModified());
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Key resolves outside of the root directory: " + key);
+        }
+        return path;
+    }
+
+    private S3Object toS3Object(Path path, String key, DirectoryListing listing) {
+        if (listing.getArchived().containsKey(path.getFileName().toString())) {
+            return S3Object.builder().key(key).build();
+        }
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return S3Object.builder()
+                    .key(key)
+                    .lastModified(attributes.lastModifiedTime().toInstant())
+                    .size(attributes.size())
+                    .build();
+        } catch (IOException e) {
+            // Removed after it was listed, so let the subsequent download report the failure
+            return S3Object.builder().key(key).build();
+        }
+    }
+
+    @Value
+    private static class DirectoryListing {
+        private final FileTime lastModified;
+        private final Path latestIndex;
+        private final FileTime latestIndexModified;
+        private final NavigableSet<String> names;
+        private final Map<String, SegmentArchiveReader.Entry> archived;
+    }
+}
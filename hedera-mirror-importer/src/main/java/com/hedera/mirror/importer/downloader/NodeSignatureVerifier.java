@@ -25,17 +25,26 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.security.GeneralSecurityException;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import javax.inject.Named;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.util.CollectionUtils;
 
 import com.hedera.mirror.importer.addressbook.AddressBookService;
@@ -52,10 +61,16 @@ public class NodeSignatureVerifier {
 
     private final AddressBookService addressBookService;
     private final CommonDownloaderProperties commonDownloaderProperties;
+    private final ExecutorService verificationThreadPool;
+
+    // Signature instances are not thread safe, so each verification thread caches its own per public key
+    private final ThreadLocal<Map<Pair<String, PublicKey>, Signature>> signatureCache =
+            ThreadLocal.withInitial(HashMap::new);
 
     // Metrics
     private final MeterRegistry meterRegistry;
     private final Map<String, Counter> nodeSignatureStatusMetricMap = new ConcurrentHashMap<>();
+    private final Map<String, Timer> verificationDurationMetricMap = new ConcurrentHashMap<>();
 
     public NodeSignatureVerifier(AddressBookService addressBookService,
                                  CommonDownloaderProperties commonDownloaderProperties,
@@ -63,6 +78,9 @@ public class NodeSignatureVerifier {
         this.addressBookService = addressBookService;
         this.commonDownloaderProperties = commonDownloaderProperties;
         this.meterRegistry = meterRegistry;
+        verificationThreadPool = Executors
+                .newFixedThreadPool(commonDownloaderProperties.getSignatureVerificationThreads());
+        Runtime.getRuntime().addShutdownHook(new Thread(verificationThreadPool::shutdown));
     }
 
     private boolean canReachConsensus(long actualNodes, long expectedNodes) {
@@ -78,39 +96,75 @@ public class NodeSignatureVerifier {
      *      valid, we put the hash in its content and its file to the map, to see if at least 1/3 valid signatures have
      *      the same hash</li>
      * </ol>
+     * <p>
+     * Signatures are verified concurrently. If early consensus is enabled, verification stops as soon as one hash has
+     * enough valid signatures to reach consensus. The signatures that weren't verified by then but have that hash are
+     * still marked as having reached consensus, since the data file is checked against the hash when downloaded.
      *
      * @param signatures a list of signature files which have the same filename
      * @throws SignatureVerificationException
      */
     public void verify(Collection<FileStreamSignature> signatures) throws SignatureVerificationException {
+        try {
+            verifyAsync(signatures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SignatureVerificationException) {
+                throw (SignatureVerificationException) e.getCause();
+            }
+            throw new SignatureVerificationException("Error verifying signatures", e.getCause());
+        }
+    }
 
+    /**
+     * Verifies the signature files the same way as verify() without blocking the caller, so that the signatures of
+     * multiple stream files can be verified concurrently.
+     *
+     * @param signatures a list of signature files which have the same filename
+     * @return a future that completes when consensus is reached, or completes exceptionally with a
+     * SignatureVerificationException otherwise
+     */
+    public CompletableFuture<Void> verifyAsync(Collection<FileStreamSignature> signatures) {
         AddressBook currentAddressBook = addressBookService.getCurrent();
         Map<String, PublicKey> nodeAccountIDPubKeyMap = currentAddressBook.getNodeAccountIDPubKeyMap();
-
-        Multimap<String, FileStreamSignature> signatureHashMap = HashMultimap.create();
         String filename = signatures.stream().map(FileStreamSignature::getFilename).findFirst().orElse("unknown");
-        int consensusCount = 0;
 
         long sigFileCount = signatures.size();
         long nodeCount = nodeAccountIDPubKeyMap.size();
         if (!canReachConsensus(sigFileCount, nodeCount)) {
-            throw new SignatureVerificationException(String.format(
+            return CompletableFuture.failedFuture(new SignatureVerificationException(String.format(
                     "Insufficient downloaded signature file count, requires at least %.03f to reach consensus, got %d" +
                             " out of %d for file %s: %s",
                     commonDownloaderProperties.getConsensusRatio(),
                     sigFileCount,
                     nodeCount,
                     filename,
-                    statusMap(signatures, nodeAccountIDPubKeyMap)));
+                    statusMap(signatures, nodeAccountIDPubKeyMap))));
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String streamType = signatures.stream().map(s -> String.valueOf(s.getStreamType())).findFirst()
+                .orElse("unknown");
+        SignatureVerification verification = new SignatureVerification(signatures.size(), nodeCount);
+
         for (FileStreamSignature fileStreamSignature : signatures) {
-            if (verifySignature(fileStreamSignature, nodeAccountIDPubKeyMap)) {
-                fileStreamSignature.setStatus(SignatureStatus.VERIFIED);
-                signatureHashMap.put(fileStreamSignature.getFileHashAsHex(), fileStreamSignature);
-            }
+            CompletableFuture.supplyAsync(() -> !verification.isDone() &&
+                    verifySignature(fileStreamSignature, nodeAccountIDPubKeyMap), verificationThreadPool)
+                    .whenComplete((valid, e) -> verification
+                            .onVerified(fileStreamSignature, Boolean.TRUE.equals(valid)));
         }
 
+        return verification.getFuture().thenAccept(v -> {
+            sample.stop(verificationDurationMetricMap.computeIfAbsent(streamType, this::newVerificationDurationMetric));
+            checkConsensus(signatures, v, filename, nodeAccountIDPubKeyMap);
+        });
+    }
+
+    private void checkConsensus(Collection<FileStreamSignature> signatures, SignatureVerification verification,
+                                String filename, Map<String, PublicKey> nodeAccountIDPubKeyMap) {
+        Multimap<String, FileStreamSignature> signatureHashMap = verification.getSignatureHashMap();
+        long nodeCount = nodeAccountIDPubKeyMap.size();
+        int consensusCount = 0;
+
         if (commonDownloaderProperties.getConsensusRatio() == 0 && signatureHashMap.size() > 0) {
             log.debug("Signature file {} does not require consensus, skipping consensus check", filename);
             return;
@@ -128,6 +182,16 @@ public class NodeSignatureVerifier {
         if (consensusCount == nodeCount) {
             log.debug("Verified signature file {} reached consensus", filename);
             return;
+        } else if (verification.isConsensusReachedEarly()) {
+            String consensusHash = verification.getConsensusHash();
+            signatures.stream()
+                    .filter(s -> s.getStatus() == SignatureStatus.DOWNLOADED)
+                    .filter(s -> consensusHash.equals(s.getFileHashAsHex()))
+                    .forEach(s -> s.setStatus(SignatureStatus.CONSENSUS_REACHED));
+            log.debug("Verified signature file {} reached consensus after verifying {} of {} signatures: {}",
+                    filename, signatureHashMap.size(), signatures.size(), statusMap(signatures,
+                            nodeAccountIDPubKeyMap));
+            return;
         } else if (consensusCount > 0) {
             log.warn("Verified signature file {} reached consensus but with some errors: {}", filename,
                     statusMap(signatures, nodeAccountIDPubKeyMap));
@@ -157,12 +221,11 @@ public class NodeSignatureVerifier {
             return false;
         }
 
+        Signature sig = null;
         try {
             log.trace("Verifying signature: {}", fileStreamSignature);
 
-            Signature sig = Signature.getInstance(fileStreamSignature.getSignatureType().getAlgorithm(),
-                    fileStreamSignature.getSignatureType().getProvider());
-            sig.initVerify(publicKey);
+            sig = getSignature(fileStreamSignature.getSignatureType(), publicKey);
             sig.update(fileStreamSignature.getFileHash());
 
             if (!sig.verify(fileStreamSignature.getFileHashSignature())) {
@@ -177,10 +240,33 @@ public class NodeSignatureVerifier {
             return true;
         } catch (Exception e) {
             log.error("Failed to verify signature with public key {}: {}", publicKey, fileStreamSignature, e);
+            if (sig != null) {
+                // The signature may be left in an inconsistent state, so don't reuse it
+                signatureCache.get().remove(Pair.of(sig.getAlgorithm(), publicKey));
+            }
         }
         return false;
     }
 
+    /**
+     * Returns the verification thread's Signature for the algorithm and public key, initialized for verification. A
+     * Signature is reset to this state after every call to verify().
+     */
+    private Signature getSignature(FileStreamSignature.SignatureType signatureType, PublicKey publicKey)
+            throws GeneralSecurityException {
+        var key = Pair.of(signatureType.getAlgorithm(), publicKey);
+        Map<Pair<String, PublicKey>, Signature> signatures = signatureCache.get();
+        Signature sig = signatures.get(key);
+
+        if (sig == null) {
+            sig = Signature.getInstance(signatureType.getAlgorithm(), signatureType.getProvider());
+            sig.initVerify(publicKey);
+            signatures.put(key, sig);
+        }
+
+        return sig;
+    }
+
     private Map<String, Collection<String>> statusMap(Collection<FileStreamSignature> signatures, Map<String,
             PublicKey> nodeAccountIDPubKeyMap) {
         Map<String, Collection<String>> statusMap = signatures.stream()
@@ -212,6 +298,13 @@ public class NodeSignatureVerifier {
         return statusMap;
     }
 
+    private Timer newVerificationDurationMetric(String streamType) {
+        return Timer.builder("hedera.mirror.download.signature.verification.duration")
+                .description("The duration in seconds it took to verify the signatures of a stream file")
+                .tag("type", streamType)
+                .register(meterRegistry);
+    }
+
     private Counter newStatusMetric(String entityIdString, String streamType, String status) {
         EntityId entityId = EntityId.of(entityIdString, EntityTypeEnum.ACCOUNT);
         return Counter.builder("hedera.mirror.download.signature.verification")
@@ -223,4 +316,56 @@ public class NodeSignatureVerifier {
                 .tag("status", status)
                 .register(meterRegistry);
     }
+
+    /**
+     * Collects the results of verifying the signatures of one stream file as they complete. It completes as soon as
+     * all signatures are verified or, with early consensus, as soon as the valid signatures for one hash are enough to
+     * reach consensus, after which late results are ignored.
+     */
+    @Getter
+    private class SignatureVerification {
+        private final CompletableFuture<SignatureVerification> future = new CompletableFuture<>();
+        private final Multimap<String, FileStreamSignature> signatureHashMap = HashMultimap.create();
+        private final long nodeCount;
+        private long remaining;
+        private String consensusHash;
+        private boolean consensusReachedEarly = false;
+
+        SignatureVerification(long signatureCount, long nodeCount) {
+            this.nodeCount = nodeCount;
+            remaining = signatureCount;
+            if (signatureCount == 0) {
+                future.complete(this);
+            }
+        }
+
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        synchronized void onVerified(FileStreamSignature fileStreamSignature, boolean valid) {
+            if (future.isDone()) {
+                return;
+            }
+
+            remaining--;
+            if (valid) {
+                String fileHash = fileStreamSignature.getFileHashAsHex();
+                fileStreamSignature.setStatus(SignatureStatus.VERIFIED);
+                signatureHashMap.put(fileHash, fileStreamSignature);
+
+                if (remaining > 0 && commonDownloaderProperties.isEarlyConsensus() &&
+                        canReachConsensus(signatureHashMap.get(fileHash).size(), nodeCount)) {
+                    consensusHash = fileHash;
+                    consensusReachedEarly = true;
+                    future.complete(this);
+                    return;
+                }
+            }
+
+            if (remaining == 0) {
+                future.complete(this);
+            }
+        }
+    }
 }
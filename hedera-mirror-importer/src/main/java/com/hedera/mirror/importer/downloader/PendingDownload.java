@@ -21,6 +21,7 @@ package com.hedera.mirror.importer.downloader;
  */
 
 import com.google.common.base.Stopwatch;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import lombok.Value;
@@ -66,6 +67,13 @@ class PendingDownload {
         return future.get().response();
     }
 
+    /**
+     * Aborts the transfer if it's still in progress. A completed download is left as is.
+     */
+    void cancel() {
+        future.cancel(true);
+    }
+
     /**
      * @return true if the download was successful.
      */
@@ -81,6 +89,8 @@ class PendingDownload {
         } catch (InterruptedException e) {
             log.warn("Failed downloading {} after {}", s3key, stopwatch, e);
             Thread.currentThread().interrupt();
+        } catch (CancellationException ex) {
+            log.debug("Cancelled downloading {} after {}", s3key, stopwatch);
         } catch (ExecutionException ex) {
             log.warn("Failed downloading {} after {}: {}", s3key, stopwatch, ex.getMessage());
         } catch (Exception ex) {
@@ -0,0 +1,36 @@
+package com.hedera.mirror.importer.downloader.archive;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.file.Path;
+
+import com.hedera.mirror.importer.util.Utility;
+
+/**
+ * Writes each file individually beneath the node directory, mirroring the bucket layout.
+ */
+public class FileArchiver implements StreamFileArchiver {
+
+    @Override
+    public void archive(String filename, byte[] contents, Path directory) {
+        Utility.archiveFile(filename, contents, directory);
+    }
+}
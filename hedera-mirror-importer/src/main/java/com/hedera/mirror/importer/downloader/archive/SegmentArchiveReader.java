@@ -0,0 +1,132 @@
+package com.hedera.mirror.importer.downloader.archive;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Reads the segments written by {@link SegmentArchiver}. Every line of a segment's index maps a file name to the offset
+ * and length of its independently compressed member within the segment, so a single file is served with one positional
+ * read. The compression is detected from the member itself.
+ */
+@Log4j2
+@UtilityClass
+public class SegmentArchiveReader {
+
+    static final String INDEX_SUFFIX = ".idx";
+    static final String SEGMENT_PREFIX = "segment_";
+
+    private static final CompressorStreamFactory compressorStreamFactory = new CompressorStreamFactory();
+    private static final String SEPARATOR = " ";
+
+    public static boolean isArchive(String name) {
+        return name.startsWith(SEGMENT_PREFIX);
+    }
+
+    public static boolean isIndex(String name) {
+        return isArchive(name) && name.endsWith(INDEX_SUFFIX);
+    }
+
+    static Path getIndex(Path segment) {
+        return segment.resolveSibling(segment.getFileName() + INDEX_SUFFIX);
+    }
+
+    static String toIndexLine(String filename, long offset, int length) {
+        return filename + SEPARATOR + offset + SEPARATOR + length + "\n";
+    }
+
+    /**
+     * Reads the entries of a segment index in the order they were archived. Lines left incomplete by an interrupted
+     * write are skipped.
+     *
+     * @param index the path to the segment index
+     * @return the indexed entries
+     * @throws IOException if the index can't be read
+     */
+    public static List<Entry> readIndex(Path index) throws IOException {
+        Path segment = index.resolveSibling(StringUtils.removeEnd(index.getFileName().toString(), INDEX_SUFFIX));
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        List<Entry> entries = new ArrayList<>(lines.size());
+
+        for (String line : lines) {
+            String[] parts = StringUtils.split(line, SEPARATOR);
+
+            try {
+                entries.add(new Entry(parts[0], segment, Long.parseLong(parts[1]), Integer.parseInt(parts[2])));
+            } catch (RuntimeException e) {
+                log.warn("Skipping malformed line in {}: {}", index, line);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Reads and decompresses a single archived file.
+     *
+     * @param entry the index entry of the file
+     * @return the original file contents
+     * @throws IOException if the segment can't be read or decompressed
+     */
+    public static byte[] read(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.getLength());
+
+        try (FileChannel channel = FileChannel.open(entry.getSegment(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, entry.getOffset() + buffer.position()) < 0) {
+                    throw new IOException("Segment " + entry.getSegment() + " ends before " + entry.getFilename());
+                }
+            }
+        }
+
+        try (InputStream inputStream = compressorStreamFactory
+                .createCompressorInputStream(new ByteArrayInputStream(buffer.array()))) {
+            return IOUtils.toByteArray(inputStream);
+        } catch (CompressorException e) {
+            throw new IOException("Unable to decompress " + entry.getFilename(), e);
+        }
+    }
+
+    @Value
+    public static class Entry {
+        private final String filename;
+        private final Path segment;
+        private final long offset;
+        private final int length;
+    }
+}
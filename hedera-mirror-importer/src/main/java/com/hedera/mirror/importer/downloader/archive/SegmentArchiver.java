@@ -0,0 +1,123 @@
+package com.hedera.mirror.importer.downloader.archive;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+import com.hedera.mirror.importer.domain.StreamFilename;
+import com.hedera.mirror.importer.downloader.CommonDownloaderProperties;
+
+/**
+ * Packs files into time partitioned segments instead of writing one file per stream or signature file. Files are
+ * assigned to the segment covering their consensus instant and appended to it as an independently compressed member,
+ * followed by a line in the segment's index recording its offset and length. The member is always written before its
+ * index line, so an interrupted write leaves at worst unreferenced bytes in the segment that readers never reach.
+ */
+@Log4j2
+public class SegmentArchiver implements StreamFileArchiver {
+
+    private static final CompressorStreamFactory compressorStreamFactory = new CompressorStreamFactory();
+
+    private final CommonDownloaderProperties.ArchiveCompression compression;
+    private final long segmentSeconds;
+
+    public SegmentArchiver(CommonDownloaderProperties.ArchiveProperties archiveProperties) {
+        compression = archiveProperties.getCompression();
+        segmentSeconds = archiveProperties.getSegmentDuration().getSeconds();
+    }
+
+    @Override
+    public synchronized void archive(String filename, byte[] contents, Path directory) {
+        Path segment = directory;
+
+        try {
+            segment = directory.resolve(getSegmentName(filename));
+            Files.createDirectories(directory);
+            byte[] compressed = compress(contents);
+            long offset;
+
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                offset = channel.size();
+                write(channel, ByteBuffer.wrap(compressed));
+            }
+
+            appendIndex(SegmentArchiveReader.getIndex(segment), filename, offset, compressed.length);
+            log.trace("Archived {} to {} at offset {}", filename, segment, offset);
+        } catch (Exception e) {
+            log.error("Error archiving {} to {}", filename, segment, e);
+        }
+    }
+
+    String getSegmentName(String filename) {
+        long epochSecond = new StreamFilename(filename).getInstant().getEpochSecond();
+        Instant start = Instant.ofEpochSecond(epochSecond - Math.floorMod(epochSecond, segmentSeconds));
+        return SegmentArchiveReader.SEGMENT_PREFIX + start.toString().replace(':', '_') + "." +
+                compression.getExtension();
+    }
+
+    private byte[] compress(byte[] contents) throws CompressorException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(contents.length / 2);
+        try (OutputStream outputStream = compressorStreamFactory
+                .createCompressorOutputStream(compression.getCompressor(), bytes)) {
+            outputStream.write(contents);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void appendIndex(Path index, String filename, long offset, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            String line = SegmentArchiveReader.toIndexLine(filename, offset, length);
+
+            // Terminate a line left incomplete by an interrupted write so it doesn't swallow this entry
+            if (size > 0) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.read(last, size - 1);
+                if (last.get(0) != '\n') {
+                    line = "\n" + line;
+                }
+            }
+
+            channel.position(size);
+            write(channel, ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hedera.mirror.importer.downloader.archive;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.file.Path;
+
+/**
+ * Archives verified stream and signature files to the local filesystem.
+ */
+public interface StreamFileArchiver {
+
+    /**
+     * Archives the contents of a stream or signature file beneath the given node directory. Failures are logged rather
+     * than thrown since archiving is a best effort that should not stop the downloader.
+     *
+     * @param filename  the stream or signature file name
+     * @param contents  the file contents
+     * @param directory the node directory to archive to
+     */
+    void archive(String filename, byte[] contents, Path directory);
+}
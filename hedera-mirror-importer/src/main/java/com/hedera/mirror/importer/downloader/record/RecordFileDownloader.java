@@ -22,6 +22,7 @@ package com.hedera.mirror.importer.downloader.record;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import javax.inject.Named;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 
@@ -32,6 +33,7 @@ import com.hedera.mirror.importer.downloader.Downloader;
 import com.hedera.mirror.importer.downloader.NodeSignatureVerifier;
 import com.hedera.mirror.importer.downloader.StreamFileNotifier;
 import com.hedera.mirror.importer.leader.Leader;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFailedEvent;
 import com.hedera.mirror.importer.reader.record.RecordFileReader;
 import com.hedera.mirror.importer.reader.signature.SignatureFileReader;
 
@@ -56,4 +58,9 @@ public class RecordFileDownloader extends Downloader<RecordFile> {
     public void download() {
         downloadNextBatch();
     }
+
+    @EventListener
+    public void onBatchFailed(EntityBatchFailedEvent event) {
+        resume();
+    }
 }
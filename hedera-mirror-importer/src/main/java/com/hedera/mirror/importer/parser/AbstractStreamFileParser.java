@@ -107,7 +107,7 @@ public abstract class AbstractStreamFileParser<T extends StreamFile> implements
             return false;
         }
 
-        boolean exists = streamFileRepository.existsById(streamFile.getConsensusEnd());
+        boolean exists = exists(streamFile);
 
         if (exists) {
             log.warn("Skipping existing stream file {}", streamFile.getName());
@@ -115,4 +115,8 @@ public abstract class AbstractStreamFileParser<T extends StreamFile> implements
 
         return !exists;
     }
+
+    protected boolean exists(T streamFile) {
+        return streamFileRepository.existsById(streamFile.getConsensusEnd());
+    }
 }
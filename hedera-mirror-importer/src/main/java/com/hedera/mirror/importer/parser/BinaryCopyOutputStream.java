@@ -0,0 +1,126 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.hedera.mirror.importer.domain.EntityId;
+
+/**
+ * Encodes values onto an output stream in the PostgreSQL binary COPY format. Each value is written as its length
+ * followed by its network byte order representation, with a length of -1 denoting null. The caller is responsible for
+ * writing values whose size matches the column type, e.g. {@link #writeSmallint} for a smallint column.
+ */
+public class BinaryCopyOutputStream implements Closeable {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int NULL_LENGTH = -1;
+    private static final short TRAILER = -1;
+
+    private final DataOutputStream dos;
+
+    public BinaryCopyOutputStream(OutputStream outputStream) {
+        dos = new DataOutputStream(outputStream);
+    }
+
+    public void writeHeader() throws IOException {
+        dos.write(SIGNATURE);
+        dos.writeInt(0); // flags
+        dos.writeInt(0); // header extension length
+    }
+
+    public void writeTrailer() throws IOException {
+        dos.writeShort(TRAILER);
+    }
+
+    public void startRow(int columns) throws IOException {
+        dos.writeShort(columns);
+    }
+
+    public void writeBigint(long value) throws IOException {
+        dos.writeInt(Long.BYTES);
+        dos.writeLong(value);
+    }
+
+    public void writeBigint(Long value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            writeBigint(value.longValue());
+        }
+    }
+
+    public void writeBoolean(Boolean value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            dos.writeInt(1);
+            dos.writeBoolean(value);
+        }
+    }
+
+    public void writeBytea(byte[] value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            dos.writeInt(value.length);
+            dos.write(value);
+        }
+    }
+
+    public void writeEntityId(EntityId value) throws IOException {
+        if (EntityId.isEmpty(value)) {
+            writeNull();
+        } else {
+            writeBigint(value.getId());
+        }
+    }
+
+    public void writeInteger(Integer value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            dos.writeInt(Integer.BYTES);
+            dos.writeInt(value);
+        }
+    }
+
+    public void writeSmallint(Integer value) throws IOException {
+        if (value == null) {
+            writeNull();
+        } else {
+            dos.writeInt(Short.BYTES);
+            dos.writeShort(value);
+        }
+    }
+
+    public void writeNull() throws IOException {
+        dos.writeInt(NULL_LENGTH);
+    }
+
+    @Override
+    public void close() throws IOException {
+        dos.close();
+    }
+}
@@ -0,0 +1,162 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import com.hedera.mirror.importer.exception.ParserException;
+
+/**
+ * Stateless writer to insert rows into PostgreSQL using binary COPY. Rows are encoded by a {@link BinaryRowWriter}
+ * instead of being serialized to CSV, so no intermediate strings or hex encoded byte arrays are allocated.
+ *
+ * @param <T> domain object
+ */
+@Log4j2
+public class BinaryPgCopy<T> extends PgCopy<T> {
+
+    private final BinaryRowWriter<T> rowWriter;
+    private final int columnCount;
+    private final String sql;
+
+    public BinaryPgCopy(Class<T> entityClass, MeterRegistry meterRegistry, ParserProperties properties,
+                        BinaryRowWriter<T> rowWriter) {
+        super(entityClass, meterRegistry, properties);
+        this.rowWriter = rowWriter;
+        columnCount = rowWriter.getColumns().size();
+        sql = String.format("COPY %s(%s) FROM STDIN WITH (FORMAT BINARY)", tableName,
+                String.join(", ", rowWriter.getColumns()));
+    }
+
+    @Override
+    protected void persistItems(Collection<T> items, Connection connection) throws SQLException, IOException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        CopyIn copyIn = pgConnection.getCopyAPI().copyIn(sql);
+
+        try (var pgCopyOutputStream = new PGCopyOutputStream(copyIn, properties.getBufferSize())) {
+            write(items, pgCopyOutputStream);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    @Override
+    protected void write(Collection<T> items, OutputStream outputStream) throws IOException {
+        var binaryOutputStream = new BinaryCopyOutputStream(outputStream);
+        binaryOutputStream.writeHeader();
+
+        for (T item : items) {
+            binaryOutputStream.startRow(columnCount);
+            rowWriter.write(item, binaryOutputStream);
+        }
+
+        binaryOutputStream.writeTrailer();
+    }
+
+    /**
+     * Starts a COPY that rows can be streamed to in batches, for inputs too large to be held in memory at once. The
+     * returned writer must be closed to complete the COPY, or cancelled to discard the rows written so far. It isn't
+     * thread safe, and no other statement can be executed on the connection until it's closed or cancelled.
+     *
+     * @param connection the connection to copy on
+     * @return the writer for the rows
+     */
+    public Writer open(Connection connection) {
+        try {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            CopyIn copyIn = pgConnection.getCopyAPI().copyIn(sql);
+            Writer writer = new Writer(copyIn);
+            writer.outputStream.writeHeader();
+            return writer;
+        } catch (Exception e) {
+            throw new ParserException("Error starting copy to table " + tableName, e);
+        }
+    }
+
+    public class Writer implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final BinaryCopyOutputStream outputStream;
+        private final Stopwatch stopwatch = Stopwatch.createStarted();
+        private long count = 0L;
+
+        private Writer(CopyIn copyIn) {
+            this.copyIn = copyIn;
+            outputStream = new BinaryCopyOutputStream(new PGCopyOutputStream(copyIn, properties.getBufferSize()));
+        }
+
+        public void write(Collection<T> items) {
+            try {
+                for (T item : items) {
+                    outputStream.startRow(columnCount);
+                    rowWriter.write(item, outputStream);
+                }
+                count += items.size();
+            } catch (Exception e) {
+                cancel();
+                throw new ParserException(String.format("Error copying %d items to table %s", items.size(),
+                        tableName), e);
+            }
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Discards the rows written so far, if the COPY hasn't already completed.
+         */
+        public void cancel() {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (Exception e) {
+                log.warn("Unable to cancel copy to table {}", tableName, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                outputStream.writeTrailer();
+                outputStream.close();
+                insertDurationMetric.record(stopwatch.elapsed());
+                log.info("Copied {} rows to {} table in {}", count, tableName, stopwatch);
+            } catch (Exception e) {
+                cancel();
+                throw new ParserException(String.format("Error copying %d items to table %s", count, tableName), e);
+            }
+        }
+    }
+}
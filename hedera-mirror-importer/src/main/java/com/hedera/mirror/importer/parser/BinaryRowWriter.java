@@ -0,0 +1,40 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the columns of a domain object directly in the PostgreSQL binary COPY format, avoiding the reflection and text
+ * encoding done by the CSV based {@link PgCopy}.
+ *
+ * @param <T> domain object
+ */
+public interface BinaryRowWriter<T> {
+
+    /**
+     * @return the snake case column names in the same order as they are written by {@link #write}
+     */
+    List<String> getColumns();
+
+    void write(T item, BinaryCopyOutputStream outputStream) throws IOException;
+}
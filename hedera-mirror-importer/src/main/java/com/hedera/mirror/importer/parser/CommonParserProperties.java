@@ -38,6 +38,12 @@ import com.hedera.mirror.importer.domain.TransactionTypeEnum;
 @ConfigurationProperties("hedera.mirror.importer.parser")
 public class CommonParserProperties {
 
+    /**
+     * Whether to keep the current balances up to date from the transfers of each record file and reconcile them against
+     * each balance file
+     */
+    private boolean currentBalances = false;
+
     @NotNull
     private Collection<TransactionFilter> exclude = new ArrayList<>();
 
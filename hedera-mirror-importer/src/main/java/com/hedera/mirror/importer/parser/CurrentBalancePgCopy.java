@@ -0,0 +1,96 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+
+/**
+ * Adds balance changes to a current balance table, inserting the rows that don't exist yet. The changes are copied to
+ * a temporary table and then merged into the final table with a single statement.
+ * <p>
+ * The current balance tables are also rewritten when they're reconciled against a balance file, so both take a
+ * transaction level advisory lock per table before merging into them. The locks must be taken in the order of their
+ * keys to avoid deadlocks.
+ *
+ * @param <T> domain object
+ */
+public class CurrentBalancePgCopy<T> extends PgCopy<T> {
+
+    public static final long CURRENT_BALANCE_LOCK = 1L;
+    public static final long CURRENT_TOKEN_BALANCE_LOCK = 2L;
+
+    private final String createTempTableSql;
+    private final long[] locks;
+    private final String truncateSql;
+    private final String upsertSql;
+
+    /**
+     * @param entityClass the class of the balance changes
+     * @param finalTable  the current balance table
+     * @param idColumns   the comma separated primary key columns of the table
+     * @param locks       the advisory locks to take, in ascending order
+     */
+    public CurrentBalancePgCopy(Class<T> entityClass, MeterRegistry meterRegistry, ParserProperties properties,
+                                String finalTable, String idColumns, long... locks) {
+        super(entityClass, meterRegistry, properties, finalTable + "_temp");
+        this.locks = locks;
+        createTempTableSql = String.format("create temporary table if not exists %s on commit drop as table %s " +
+                "limit 0", tableName, finalTable);
+        truncateSql = String.format("truncate table %s", tableName);
+        upsertSql = String.format("insert into %1$s select * from %2$s on conflict (%3$s) do update set " +
+                        "balance = %1$s.balance + excluded.balance, " +
+                        "consensus_timestamp = greatest(%1$s.consensus_timestamp, excluded.consensus_timestamp)",
+                finalTable, tableName, idColumns);
+    }
+
+    /**
+     * Takes the advisory locks until the end of the current transaction, waiting for any other transaction holding
+     * them to complete.
+     */
+    public static void lock(Connection connection, long... locks) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (long lock : locks) {
+                statement.execute("select pg_advisory_xact_lock(" + lock + ")");
+            }
+        }
+    }
+
+    @Override
+    protected void persistItems(Collection<T> items, Connection connection) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTempTableSql);
+            statement.execute(truncateSql);
+        }
+
+        super.persistItems(items, connection);
+        lock(connection, locks);
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(upsertSql)) {
+            preparedStatement.execute();
+        }
+    }
+}
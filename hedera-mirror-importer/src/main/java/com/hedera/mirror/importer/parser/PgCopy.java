@@ -30,6 +30,7 @@ import com.google.common.collect.Lists;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
@@ -54,7 +55,7 @@ public class PgCopy<T> {
 
     private final String sql;
     private final ObjectWriter writer;
-    private final ParserProperties properties;
+    protected final ParserProperties properties;
     protected final MeterRegistry meterRegistry;
     protected final String tableName;
     protected final Timer insertDurationMetric;
@@ -108,12 +109,24 @@ public class PgCopy<T> {
         CopyIn copyIn = pgConnection.getCopyAPI().copyIn(sql);
 
         try (var pgCopyOutputStream = new PGCopyOutputStream(copyIn, properties.getBufferSize())) {
-            writer.writeValue(pgCopyOutputStream, items);
+            write(items, pgCopyOutputStream);
         } finally {
             if (copyIn.isActive()) {
                 copyIn.cancelCopy();
             }
         }
     }
+
+    /**
+     * Serializes the items in the COPY format expected by the statement this instance executes, independent of the
+     * database connection so the encoding can be exercised in isolation.
+     *
+     * @param items        the rows to serialize
+     * @param outputStream the stream to write the rows to
+     * @throws IOException if writing to the stream fails
+     */
+    protected void write(Collection<T> items, OutputStream outputStream) throws IOException {
+        writer.writeValue(outputStream, items);
+    }
 }
 
@@ -0,0 +1,271 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hedera.mirror.importer.exception.ParserException;
+
+/**
+ * Ties the transaction of a connection separate from the caller's to the caller's transaction with a two phase commit,
+ * so that rows written on both become visible together or not at all. The connection's transaction is prepared right
+ * before the caller's transaction commits, committed after it committed and rolled back if it rolled back. This
+ * requires max_prepared_transactions to be greater than zero, which isn't the PostgreSQL default.
+ * <p>
+ * The name of each prepared transaction is recorded in the two_phase_commit table within the caller's transaction, so
+ * the ones left behind by a crash between the two phases are committed if the caller's transaction committed and rolled
+ * back otherwise. Since they hold on to the locks and rows the parsers need, they're recovered on startup before any
+ * parser runs, and again before the next connection is enlisted or the balances are reconciled after a failure to
+ * complete them.
+ */
+@Log4j2
+@Named
+@RequiredArgsConstructor
+public class TwoPhaseCommit implements SmartInitializingSingleton {
+
+    private static final String GID_PREFIX = "mirror_";
+    private static final String DELETE_SQL = "delete from two_phase_commit where gid = ?";
+    private static final String DELETE_COMPLETED_SQL = "delete from two_phase_commit t where not exists " +
+            "(select 1 from pg_prepared_xacts p where p.gid = t.gid)";
+    private static final String INSERT_SQL = "insert into two_phase_commit (gid) values (?)";
+    private static final String PREPARED_SQL = "select gid from pg_prepared_xacts where gid like '" + GID_PREFIX +
+            "%' and database = current_database()";
+    private static final String RECORDED_SQL = "select count(*) from two_phase_commit where gid = ?";
+    private static final String TRANSACTION_COMPLETED_SQL = "select txid_visible_in_snapshot(?, " +
+            "txid_current_snapshot())";
+
+    private final DataSource dataSource;
+    private final AtomicLong sequence = new AtomicLong(0L);
+    private volatile int maxPreparedTransactions = -1;
+    private volatile boolean recovered = false;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        recover();
+    }
+
+    /**
+     * @param connections the number of connections that are enlisted in the same transaction
+     * @return whether the database allows preparing that many transactions at once
+     */
+    public boolean isSupported(int connections) {
+        if (maxPreparedTransactions < 0) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("show max_prepared_transactions")) {
+                resultSet.next();
+                maxPreparedTransactions = resultSet.getInt(1);
+            } catch (SQLException e) {
+                throw new ParserException("Error getting max_prepared_transactions", e);
+            }
+        }
+
+        return maxPreparedTransactions >= connections;
+    }
+
+    /**
+     * Commits the connection's transaction together with the caller's transaction if there is one, or right away
+     * otherwise. Either way the connection is closed once its transaction completed.
+     *
+     * @param connection a connection with auto commit disabled
+     */
+    public void enlist(Connection connection) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(connection, true);
+            return;
+        }
+
+        try {
+            if (!isSupported(1)) {
+                throw new ParserException("Two phase commit requires max_prepared_transactions to be greater than " +
+                        "zero");
+            }
+
+            if (!recovered) {
+                recover();
+            }
+        } catch (RuntimeException e) {
+            complete(connection, false);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new PreparedConnection(connection));
+    }
+
+    private void complete(Connection connection, boolean commit) {
+        try {
+            if (connection.isClosed()) {
+                return;
+            }
+
+            try (connection) {
+                if (commit) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+            }
+        } catch (SQLException e) {
+            if (commit) {
+                throw new ParserException("Error committing connection", e);
+            }
+            log.error("Unable to rollback connection", e);
+        }
+    }
+
+    /**
+     * Commits or rolls back a prepared transaction once the caller's transaction completed. A failure here can't undo
+     * the caller's transaction, so the prepared transaction is left to be recovered instead.
+     */
+    private void finish(String gid, boolean commit) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             PreparedStatement delete = connection.prepareStatement(DELETE_SQL)) {
+            connection.setAutoCommit(true);
+            statement.execute((commit ? "commit" : "rollback") + " prepared '" + gid + "'");
+            delete.setString(1, gid);
+            delete.executeUpdate();
+        } catch (SQLException e) {
+            log.error("Unable to {} prepared transaction {}, leaving it to be recovered", commit ? "commit" :
+                    "rollback", gid, e);
+            recovered = false;
+        }
+    }
+
+    /**
+     * Completes the prepared transactions of the caller's transactions that are no longer in progress, according to
+     * whether their names were recorded. Does nothing if they were already recovered and none has been left to be
+     * recovered since.
+     */
+    public synchronized void recover() {
+        if (recovered) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             PreparedStatement completed = connection.prepareStatement(TRANSACTION_COMPLETED_SQL);
+             PreparedStatement recorded = connection.prepareStatement(RECORDED_SQL)) {
+            connection.setAutoCommit(true);
+            List<String> gids = new ArrayList<>();
+
+            try (ResultSet resultSet = statement.executeQuery(PREPARED_SQL)) {
+                while (resultSet.next()) {
+                    gids.add(resultSet.getString(1));
+                }
+            }
+
+            for (String gid : gids) {
+                completed.setLong(1, Long.parseLong(gid.substring(GID_PREFIX.length(), gid.lastIndexOf('_'))));
+                try (ResultSet resultSet = completed.executeQuery()) {
+                    resultSet.next();
+                    if (!resultSet.getBoolean(1)) {
+                        continue;
+                    }
+                }
+
+                boolean commit;
+                recorded.setString(1, gid);
+                try (ResultSet resultSet = recorded.executeQuery()) {
+                    resultSet.next();
+                    commit = resultSet.getLong(1) > 0;
+                }
+
+                statement.execute((commit ? "commit" : "rollback") + " prepared '" + gid + "'");
+                log.info("Recovered prepared transaction {} by {}", gid, commit ? "committing" : "rolling back");
+            }
+
+            statement.executeUpdate(DELETE_COMPLETED_SQL);
+            recovered = true;
+        } catch (SQLException e) {
+            throw new ParserException("Error recovering prepared transactions", e);
+        }
+    }
+
+    private class PreparedConnection implements TransactionSynchronization {
+
+        private final Connection connection;
+        private String gid;
+
+        private PreparedConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Connection callerConnection = DataSourceUtils.getConnection(dataSource);
+            String name = null;
+
+            try (Statement statement = callerConnection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select txid_current()");
+                 PreparedStatement insert = callerConnection.prepareStatement(INSERT_SQL)) {
+                resultSet.next();
+                name = GID_PREFIX + resultSet.getLong(1) + "_" + sequence.incrementAndGet();
+                insert.setString(1, name);
+                insert.executeUpdate();
+
+                try (connection; Statement prepare = connection.createStatement()) {
+                    prepare.execute("prepare transaction '" + name + "'");
+                }
+
+                gid = name;
+            } catch (SQLException e) {
+                throw new ParserException("Error preparing transaction " + name, e);
+            } finally {
+                DataSourceUtils.releaseConnection(callerConnection, dataSource);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (gid != null) {
+                finish(gid, true);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (gid == null) {
+                complete(connection, false);
+            } else if (status == STATUS_ROLLED_BACK) {
+                finish(gid, false);
+            } else if (status == STATUS_UNKNOWN) {
+                log.warn("Unknown outcome of the transaction, leaving prepared transaction {} to be recovered", gid);
+                recovered = false;
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ package com.hedera.mirror.importer.parser;
  */
 
 import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
@@ -28,50 +29,92 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
 import com.hedera.mirror.importer.exception.ParserException;
 import com.hedera.mirror.importer.repository.upsert.UpsertQueryGenerator;
 
 /**
- * Stateless writer to upsert rows into PostgreSQL using COPY into a temp table then insert and update into final table
+ * Stateless writer to upsert rows into PostgreSQL using COPY into a temp table then insert and update into final table.
+ * With staged merge, it instead uses COPY into a session scoped staging table then a single statement that drains it
+ * and both updates and inserts into the final table.
  *
  * @param <T> domain object
  */
 @Log4j2
 public class UpsertPgCopy<T> extends PgCopy<T> {
+    private static final String STRATEGY = "strategy";
     private static final String TABLE = "table";
+    private final String createStagingTableSql;
     private final String createTempTableSql;
     private final String finalTableName;
     private final String insertSql;
+    private final String mergeSql;
+    private final boolean stagedMerge;
+    private final Set<PGConnection> stagingConnections;
     private final String updateSql;
     private final Timer copyDurationMetric;
     private final Timer finalInsertDurationMetric;
+    private final Timer mergeDurationMetric;
+    private final Counter statementsMetric;
     private final Timer updateDurationMetric;
+    private final Timer upsertDurationMetric;
     private final String truncateSql;
 
     public UpsertPgCopy(Class<T> entityClass, MeterRegistry meterRegistry, ParserProperties properties,
                         UpsertQueryGenerator upsertQueryGenerator) {
-        super(entityClass, meterRegistry, properties, upsertQueryGenerator.getTemporaryTableName());
+        this(entityClass, meterRegistry, properties, upsertQueryGenerator, false);
+    }
+
+    public UpsertPgCopy(Class<T> entityClass, MeterRegistry meterRegistry, ParserProperties properties,
+                        UpsertQueryGenerator upsertQueryGenerator, boolean stagedMerge) {
+        super(entityClass, meterRegistry, properties, stagedMerge ? upsertQueryGenerator.getStagingTableName() :
+                upsertQueryGenerator.getTemporaryTableName());
+        this.stagedMerge = stagedMerge;
+        createStagingTableSql = upsertQueryGenerator.getCreateStagingTableQuery();
         createTempTableSql = upsertQueryGenerator.getCreateTempTableQuery();
         truncateSql = String
                 .format("truncate table %s restart identity cascade", upsertQueryGenerator.getTemporaryTableName());
         finalTableName = upsertQueryGenerator.getFinalTableName();
         insertSql = upsertQueryGenerator.getInsertQuery();
+        mergeSql = stagedMerge ? upsertQueryGenerator.getStagedMergeQuery() : null;
+        stagingConnections = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
         updateSql = upsertQueryGenerator.getUpdateQuery();
         copyDurationMetric = Timer.builder("hedera.mirror.importer.parse.upsert.copy")
                 .description("Time to copy transaction information from importer to temp table")
-                .tag(TABLE, upsertQueryGenerator.getTemporaryTableName())
+                .tag(TABLE, tableName)
                 .register(meterRegistry);
         finalInsertDurationMetric = Timer.builder("hedera.mirror.importer.parse.upsert.insert")
                 .description("Time to insert transaction information from temp to final table")
                 .tag(TABLE, finalTableName)
                 .register(meterRegistry);
+        mergeDurationMetric = Timer.builder("hedera.mirror.importer.parse.upsert.merge")
+                .description("Time to insert and update transaction information from staging to final table")
+                .tag(TABLE, finalTableName)
+                .register(meterRegistry);
         updateDurationMetric = Timer.builder("hedera.mirror.importer.parse.upsert.update")
                 .description("Time to update parsed transactions information into table")
                 .tag(TABLE, finalTableName)
                 .register(meterRegistry);
+
+        String strategy = stagedMerge ? "staged_merge" : "temp_table";
+        statementsMetric = Counter.builder("hedera.mirror.importer.parse.upsert.statements")
+                .description("Number of statements sent to the database to upsert parsed transactions information")
+                .tag(STRATEGY, strategy)
+                .tag(TABLE, finalTableName)
+                .register(meterRegistry);
+        upsertDurationMetric = Timer.builder("hedera.mirror.importer.parse.upsert")
+                .description("Time to upsert parsed transactions information into table, including the copy")
+                .tag(STRATEGY, strategy)
+                .tag(TABLE, finalTableName)
+                .register(meterRegistry);
     }
 
     @Override
@@ -81,25 +124,56 @@ public class UpsertPgCopy<T> extends PgCopy<T> {
         }
 
         try {
-            // create temp table to copy into
-            createTempTable(connection);
-
-            // copy items to temp table
-            copyItems(items, connection);
-
-            // insert items from temp table to final table
-            int insertCount = insertItems(connection);
+            Stopwatch stopwatch = Stopwatch.createStarted();
 
-            // update items in final table from temp table
-            updateItems(connection);
+            if (stagedMerge) {
+                mergeItems(items, connection);
+            } else {
+                upsertItems(items, connection);
+            }
 
-            log.debug("Inserted {} and updated from a total of {} rows to {}", insertCount, items
-                    .size(), finalTableName);
+            recordMetric(upsertDurationMetric, stopwatch);
         } catch (Exception e) {
             throw new ParserException(String.format("Error copying %d items to table %s", items.size(), tableName), e);
         }
     }
 
+    private void upsertItems(Collection<T> items, Connection connection) throws SQLException, IOException {
+        // create temp table to copy into
+        createTempTable(connection);
+
+        // copy items to temp table
+        copyItems(items, connection);
+
+        // insert items from temp table to final table
+        int insertCount = insertItems(connection);
+
+        // update items in final table from temp table
+        updateItems(connection);
+
+        statementsMetric.increment(5);
+        log.debug("Inserted {} and updated from a total of {} rows to {}", insertCount, items
+                .size(), finalTableName);
+    }
+
+    private void mergeItems(Collection<T> items, Connection connection) throws SQLException, IOException {
+        // create staging table to copy into, if this connection doesn't have it already
+        boolean created = createStagingTable(connection);
+
+        // copy items to staging table
+        copyItems(items, connection);
+
+        // insert and update items in final table from staging table, leaving it empty for the next batch
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(mergeSql)) {
+            preparedStatement.execute();
+        }
+        recordMetric(mergeDurationMetric, stopwatch);
+
+        statementsMetric.increment(created ? 3 : 2);
+        log.debug("Merged a total of {} rows to {}", items.size(), finalTableName);
+    }
+
     private int insertToFinalTable(Connection connection) throws SQLException {
         int insertCount = 0;
         try (PreparedStatement preparedStatement = connection.prepareStatement(insertSql)) {
@@ -129,6 +203,35 @@ public class UpsertPgCopy<T> extends PgCopy<T> {
         log.trace("Created temp table {}", tableName);
     }
 
+    private boolean createStagingTable(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        if (!stagingConnections.add(pgConnection)) {
+            return false;
+        }
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(createStagingTableSql)) {
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            stagingConnections.remove(pgConnection);
+            throw e;
+        }
+
+        // creating the table is undone if the transaction rolls back, so it needs to be created again next time
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        stagingConnections.remove(pgConnection);
+                    }
+                }
+            });
+        }
+
+        log.trace("Created staging table {}", tableName);
+        return true;
+    }
+
     private void copyItems(Collection<T> items, Connection connection) throws SQLException, IOException {
         Stopwatch stopwatch = Stopwatch.createStarted();
         super.persistItems(items, connection);
@@ -152,4 +255,3 @@ public class UpsertPgCopy<T> extends PgCopy<T> {
         timer.record(stopwatch.elapsed());
     }
 }
-
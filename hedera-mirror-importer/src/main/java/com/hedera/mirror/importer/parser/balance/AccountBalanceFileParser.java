@@ -22,11 +22,21 @@ package com.hedera.mirror.importer.parser.balance;
 
 import static com.hedera.mirror.importer.config.MirrorDateRangePropertiesProcessor.DateRangeFilter;
 
+import com.google.common.base.Stopwatch;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import javax.sql.DataSource;
 import org.springframework.jdbc.datasource.DataSourceUtils;
@@ -39,9 +49,13 @@ import com.hedera.mirror.importer.domain.AccountBalance;
 import com.hedera.mirror.importer.domain.AccountBalanceFile;
 import com.hedera.mirror.importer.domain.StreamType;
 import com.hedera.mirror.importer.domain.TokenBalance;
+import com.hedera.mirror.importer.exception.ParserException;
 import com.hedera.mirror.importer.leader.Leader;
 import com.hedera.mirror.importer.parser.AbstractStreamFileParser;
-import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.BinaryPgCopy;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
+import com.hedera.mirror.importer.parser.CurrentBalancePgCopy;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
 import com.hedera.mirror.importer.repository.StreamFileRepository;
 
 /**
@@ -50,20 +64,79 @@ import com.hedera.mirror.importer.repository.StreamFileRepository;
 @Named
 public class AccountBalanceFileParser extends AbstractStreamFileParser<AccountBalanceFile> {
 
+    private static final String DELETE_CURRENT_BALANCE_SQL = "delete from current_balance cb " +
+            "where cb.consensus_timestamp <= ? and not exists (" +
+            "  select 1 from account_balance ab " +
+            "  where ab.consensus_timestamp = ? and ab.account_id = cb.account_id" +
+            ")";
+
+    private static final String DELETE_CURRENT_TOKEN_BALANCE_SQL = "delete from current_token_balance ctb " +
+            "where ctb.consensus_timestamp <= ? and not exists (" +
+            "  select 1 from token_balance tb " +
+            "  where tb.consensus_timestamp = ? and tb.account_id = ctb.account_id and tb.token_id = ctb.token_id" +
+            ")";
+
+    private static final String RECORD_FILE_CONSENSUS_END_SQL = "select max(consensus_end) from record_file";
+
+    private static final String RECONCILE_CURRENT_BALANCE_SQL = "insert into current_balance " +
+            "(account_id, balance, consensus_timestamp) " +
+            "select ab.account_id, ab.balance + coalesce(ct.amount, 0), " +
+            "  coalesce(ct.consensus_timestamp, ab.consensus_timestamp) " +
+            "from account_balance ab " +
+            "left join (" +
+            "  select entity_id, sum(amount) as amount, max(consensus_timestamp) as consensus_timestamp " +
+            "  from crypto_transfer " +
+            "  where consensus_timestamp > ? " +
+            "  group by entity_id" +
+            ") ct on ct.entity_id = ab.account_id " +
+            "where ab.consensus_timestamp = ? " +
+            "on conflict (account_id) do update " +
+            "set balance = excluded.balance, consensus_timestamp = excluded.consensus_timestamp";
+
+    private static final String RECONCILE_CURRENT_TOKEN_BALANCE_SQL = "insert into current_token_balance " +
+            "(account_id, token_id, balance, consensus_timestamp) " +
+            "select tb.account_id, tb.token_id, tb.balance + coalesce(tt.amount, 0), " +
+            "  coalesce(tt.consensus_timestamp, tb.consensus_timestamp) " +
+            "from token_balance tb " +
+            "left join (" +
+            "  select account_id, token_id, sum(amount) as amount, max(consensus_timestamp) as consensus_timestamp " +
+            "  from token_transfer " +
+            "  where consensus_timestamp > ? " +
+            "  group by account_id, token_id" +
+            ") tt on tt.account_id = tb.account_id and tt.token_id = tb.token_id " +
+            "where tb.consensus_timestamp = ? " +
+            "on conflict (account_id, token_id) do update " +
+            "set balance = excluded.balance, consensus_timestamp = excluded.consensus_timestamp";
+
+    private final CommonParserProperties commonParserProperties;
     private final DataSource dataSource;
     private final MirrorDateRangePropertiesProcessor mirrorDateRangePropertiesProcessor;
-    private final PgCopy<AccountBalance> pgCopyAccountBalance;
-    private final PgCopy<TokenBalance> pgCopyTokenBalance;
+    private final ExecutorService executorService;
+    private final BinaryPgCopy<AccountBalance> pgCopyAccountBalance;
+    private final BinaryPgCopy<TokenBalance> pgCopyTokenBalance;
+    private final TwoPhaseCommit twoPhaseCommit;
 
     public AccountBalanceFileParser(MeterRegistry meterRegistry, BalanceParserProperties parserProperties,
                                     StreamFileRepository<AccountBalanceFile, Long> accountBalanceFileRepository,
                                     DataSource dataSource,
-                                    MirrorDateRangePropertiesProcessor mirrorDateRangePropertiesProcessor) {
+                                    MirrorDateRangePropertiesProcessor mirrorDateRangePropertiesProcessor,
+                                    TwoPhaseCommit twoPhaseCommit,
+                                    CommonParserProperties commonParserProperties) {
         super(meterRegistry, parserProperties, accountBalanceFileRepository);
+        this.commonParserProperties = commonParserProperties;
         this.dataSource = dataSource;
         this.mirrorDateRangePropertiesProcessor = mirrorDateRangePropertiesProcessor;
-        pgCopyAccountBalance = new PgCopy<>(AccountBalance.class, meterRegistry, parserProperties);
-        pgCopyTokenBalance = new PgCopy<>(TokenBalance.class, meterRegistry, parserProperties);
+        this.twoPhaseCommit = twoPhaseCommit;
+        pgCopyAccountBalance = new BinaryPgCopy<>(AccountBalance.class, meterRegistry, parserProperties,
+                AccountBalanceRowWriter.INSTANCE);
+        pgCopyTokenBalance = new BinaryPgCopy<>(TokenBalance.class, meterRegistry, parserProperties,
+                TokenBalanceRowWriter.INSTANCE);
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdown();
     }
 
     /**
@@ -86,31 +159,11 @@ public class AccountBalanceFileParser extends AbstractStreamFileParser<AccountBa
         log.info("Starting processing account balances file {}", accountBalanceFile.getName());
         DateRangeFilter filter = mirrorDateRangePropertiesProcessor.getDateRangeFilter(StreamType.BALANCE);
         Connection connection = DataSourceUtils.getConnection(dataSource);
-        int batchSize = ((BalanceParserProperties) parserProperties).getBatchSize();
-
         long count = 0L;
-        List<AccountBalance> accountBalances = new ArrayList<>(batchSize);
-        List<TokenBalance> tokenBalances = new ArrayList<>(batchSize);
 
         try {
             if (filter.filter(accountBalanceFile.getConsensusTimestamp())) {
-                count = accountBalanceFile.getItems().doOnNext(accountBalance -> {
-                    accountBalances.add(accountBalance);
-                    tokenBalances.addAll(accountBalance.getTokenBalances());
-
-                    if (accountBalances.size() >= batchSize) {
-                        pgCopyAccountBalance.copy(accountBalances, connection);
-                        accountBalances.clear();
-                    }
-
-                    if (tokenBalances.size() >= batchSize) {
-                        pgCopyTokenBalance.copy(tokenBalances, connection);
-                        tokenBalances.clear();
-                    }
-                }).count().block();
-
-                pgCopyAccountBalance.copy(accountBalances, connection);
-                pgCopyTokenBalance.copy(tokenBalances, connection);
+                count = copy(accountBalanceFile, connection);
             }
 
             Instant loadEnd = Instant.now();
@@ -121,4 +174,217 @@ public class AccountBalanceFileParser extends AbstractStreamFileParser<AccountBa
             DataSourceUtils.releaseConnection(connection, dataSource);
         }
     }
+
+    /**
+     * Streams the account balances and the token balances to two concurrent COPY streams as the file is parsed. The
+     * token balances are copied on a separate connection that's committed together with the caller's transaction using
+     * a two phase commit. If the database doesn't allow prepared transactions, both are copied on the caller's
+     * connection one batch at a time instead.
+     */
+    private long copy(AccountBalanceFile accountBalanceFile, Connection connection) {
+        if (!twoPhaseCommit.isSupported(1)) {
+            return copySequentially(accountBalanceFile, connection);
+        }
+
+        int batchSize = ((BalanceParserProperties) parserProperties).getBatchSize();
+        Connection tokenBalanceConnection = getTokenBalanceConnection();
+        CopyStream<AccountBalance> accountBalances = null;
+        CopyStream<TokenBalance> tokenBalances = null;
+        boolean copied = false;
+        long count = 0L;
+
+        try {
+            accountBalances = new CopyStream<>(pgCopyAccountBalance.open(connection), batchSize);
+            tokenBalances = new CopyStream<>(pgCopyTokenBalance.open(tokenBalanceConnection), batchSize);
+
+            for (AccountBalance accountBalance : accountBalanceFile.getItems().toIterable()) {
+                accountBalances.add(accountBalance);
+                tokenBalances.addAll(accountBalance.getTokenBalances());
+                count++;
+            }
+
+            accountBalances.close();
+            tokenBalances.close();
+            reconcile(accountBalanceFile.getConsensusTimestamp(), connection, tokenBalanceConnection);
+            copied = true;
+        } finally {
+            // Errors as well as exceptions must release the token balance connection
+            if (!copied) {
+                try {
+                    if (accountBalances != null) {
+                        accountBalances.cancel();
+                    }
+                    if (tokenBalances != null) {
+                        tokenBalances.cancel();
+                    }
+                } finally {
+                    rollback(tokenBalanceConnection);
+                }
+            }
+        }
+
+        twoPhaseCommit.enlist(tokenBalanceConnection);
+        return count;
+    }
+
+    private long copySequentially(AccountBalanceFile accountBalanceFile, Connection connection) {
+        int batchSize = ((BalanceParserProperties) parserProperties).getBatchSize();
+        List<AccountBalance> accountBalances = new ArrayList<>(batchSize);
+        List<TokenBalance> tokenBalances = new ArrayList<>(batchSize);
+        long count = 0L;
+
+        for (AccountBalance accountBalance : accountBalanceFile.getItems().toIterable()) {
+            accountBalances.add(accountBalance);
+            tokenBalances.addAll(accountBalance.getTokenBalances());
+            count++;
+
+            if (accountBalances.size() >= batchSize) {
+                pgCopyAccountBalance.copy(accountBalances, connection);
+                accountBalances.clear();
+            }
+
+            if (tokenBalances.size() >= batchSize) {
+                pgCopyTokenBalance.copy(tokenBalances, connection);
+                tokenBalances.clear();
+            }
+        }
+
+        pgCopyAccountBalance.copy(accountBalances, connection);
+        pgCopyTokenBalance.copy(tokenBalances, connection);
+        reconcile(accountBalanceFile.getConsensusTimestamp(), connection, connection);
+        return count;
+    }
+
+    /**
+     * Resets the current balances of the accounts in the balance file to their balance in the file plus the transfers
+     * after it, and removes the ones missing from the file that haven't changed since. Transfers at or before the file
+     * that are imported later would be applied on top of the balance in the file, so this is skipped until the record
+     * files have caught up with the balance file.
+     */
+    private void reconcile(long consensusTimestamp, Connection connection, Connection tokenBalanceConnection) {
+        if (!commonParserProperties.isCurrentBalances()) {
+            return;
+        }
+
+        try {
+            // a prepared transaction left behind would hold the token balance lock while the record files wait on it
+            // with the current balance lock
+            twoPhaseCommit.recover();
+            CurrentBalancePgCopy.lock(connection, CurrentBalancePgCopy.CURRENT_BALANCE_LOCK);
+            long consensusEnd = 0L;
+
+            try (PreparedStatement statement = connection.prepareStatement(RECORD_FILE_CONSENSUS_END_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    consensusEnd = resultSet.getLong(1);
+                }
+            }
+
+            if (consensusEnd < consensusTimestamp) {
+                log.info("Skipping reconciling current balances since record files are behind the balance file");
+                return;
+            }
+
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            int balances = reconcile(connection, RECONCILE_CURRENT_BALANCE_SQL, consensusTimestamp);
+            int deleted = reconcile(connection, DELETE_CURRENT_BALANCE_SQL, consensusTimestamp);
+
+            // the token balances of this file are only visible on the connection they were copied with, which may be
+            // the caller's
+            CurrentBalancePgCopy.lock(tokenBalanceConnection, CurrentBalancePgCopy.CURRENT_TOKEN_BALANCE_LOCK);
+            int tokenBalances = reconcile(tokenBalanceConnection, RECONCILE_CURRENT_TOKEN_BALANCE_SQL,
+                    consensusTimestamp);
+            int deletedTokenBalances = reconcile(tokenBalanceConnection, DELETE_CURRENT_TOKEN_BALANCE_SQL,
+                    consensusTimestamp);
+            log.info("Reconciled {} current balances and {} current token balances, removing {} and {} missing from " +
+                    "the balance file, in {}", balances, tokenBalances, deleted, deletedTokenBalances, stopwatch);
+        } catch (SQLException e) {
+            throw new ParserException("Error reconciling current balances", e);
+        }
+    }
+
+    private int reconcile(Connection connection, String sql, long consensusTimestamp) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, consensusTimestamp);
+            statement.setLong(2, consensusTimestamp);
+            return statement.executeUpdate();
+        }
+    }
+
+    private Connection getTokenBalanceConnection() {
+        try {
+            Connection tokenBalanceConnection = dataSource.getConnection();
+            tokenBalanceConnection.setAutoCommit(false);
+            return tokenBalanceConnection;
+        } catch (SQLException e) {
+            throw new ParserException(e);
+        }
+    }
+
+    private void rollback(Connection tokenBalanceConnection) {
+        try (tokenBalanceConnection) {
+            tokenBalanceConnection.rollback();
+        } catch (SQLException e) {
+            log.error("Unable to rollback token balances", e);
+        }
+    }
+
+    /**
+     * Buffers rows into batches and writes each full batch to its COPY on the executor, so that the next batch is
+     * filled while the previous one is written. At most one batch is being written at a time.
+     */
+    private class CopyStream<T> {
+
+        private final int batchSize;
+        private final BinaryPgCopy<T>.Writer writer;
+        private List<T> batch;
+        private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+
+        private CopyStream(BinaryPgCopy<T>.Writer writer, int batchSize) {
+            this.batchSize = batchSize;
+            this.writer = writer;
+            batch = new ArrayList<>(batchSize);
+        }
+
+        void add(T item) {
+            batch.add(item);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void addAll(Collection<T> items) {
+            items.forEach(this::add);
+        }
+
+        void close() {
+            flush();
+            await();
+            writer.close();
+        }
+
+        void cancel() {
+            try {
+                pending.join();
+            } catch (Exception e) {
+                // Already failing, so only the original exception is propagated
+            }
+            writer.cancel();
+        }
+
+        private void flush() {
+            await();
+            List<T> items = batch;
+            batch = new ArrayList<>(batchSize);
+            pending = CompletableFuture.runAsync(() -> writer.write(items), executorService);
+        }
+
+        private void await() {
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.hedera.mirror.importer.parser.balance;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+import com.hedera.mirror.importer.domain.TokenBalance;
+import com.hedera.mirror.importer.parser.BinaryCopyOutputStream;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+
+public class TokenBalanceRowWriter implements BinaryRowWriter<TokenBalance> {
+
+    public static final TokenBalanceRowWriter INSTANCE = new TokenBalanceRowWriter();
+
+    private static final List<String> COLUMNS = List.of("account_id", "balance", "consensus_timestamp", "token_id");
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void write(TokenBalance tokenBalance, BinaryCopyOutputStream outputStream) throws IOException {
+        TokenBalance.Id id = tokenBalance.getId();
+        outputStream.writeEntityId(id.getAccountId());
+        outputStream.writeBigint(tokenBalance.getBalance());
+        outputStream.writeBigint(id.getConsensusTimestamp());
+        outputStream.writeEntityId(id.getTokenId());
+    }
+}
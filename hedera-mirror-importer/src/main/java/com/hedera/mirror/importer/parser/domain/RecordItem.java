@@ -27,9 +27,13 @@ import com.hederahashgraph.api.proto.java.SignedTransaction;
 import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Set;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 
@@ -49,8 +53,21 @@ public class RecordItem implements StreamItem {
     // This field is not TransactionTypeEnum since in case of unknown type, we want exact numerical value rather than
     // -1 in enum.
     private final int transactionType;
-    private final byte[] transactionBytes;
-    private final byte[] recordBytes;
+
+    // The bytes are kept as views of the record file and only copied if an array is requested
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final ByteBuffer transactionBuffer;
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final ByteBuffer recordBuffer;
+
+    @Getter(lazy = true)
+    private final byte[] transactionBytes = toArray(transactionBuffer);
+    @Getter(lazy = true)
+    private final byte[] recordBytes = toArray(recordBuffer);
 
     @Getter(lazy = true)
     private long consensusTimestamp = Utility.timestampInNanosMax(record.getConsensusTimestamp());
@@ -67,20 +84,30 @@ public class RecordItem implements StreamItem {
      *                         </ul>
      */
     public RecordItem(byte[] transactionBytes, byte[] recordBytes) {
+        this(ByteBuffer.wrap(transactionBytes), ByteBuffer.wrap(recordBytes));
+    }
+
+    /**
+     * Constructs RecordItem from views of the serialized transactionBytes and recordBytes, parsing them in place. The
+     * buffers should be backed by an accessible array and must not be modified afterwards.
+     *
+     * @throws ParserException under the same conditions as {@link #RecordItem(byte[], byte[])}
+     */
+    public RecordItem(ByteBuffer transactionBytes, ByteBuffer recordBytes) {
         try {
-            transaction = Transaction.parseFrom(transactionBytes);
+            transaction = Transaction.parseFrom(transactionBytes.duplicate());
         } catch (InvalidProtocolBufferException e) {
             throw new ParserException(BAD_TRANSACTION_BYTES_MESSAGE, e);
         }
         try {
-            record = TransactionRecord.parseFrom(recordBytes);
+            record = TransactionRecord.parseFrom(recordBytes.duplicate());
         } catch (InvalidProtocolBufferException e) {
             throw new ParserException(BAD_RECORD_BYTES_MESSAGE, e);
         }
         transactionBodyAndSignatureMap = parseTransactionBodyAndSignatureMap(transaction);
         transactionType = getTransactionType(transactionBodyAndSignatureMap.getTransactionBody());
-        this.transactionBytes = transactionBytes;
-        this.recordBytes = recordBytes;
+        transactionBuffer = transactionBytes;
+        recordBuffer = recordBytes;
     }
 
     // Used only in tests
@@ -93,8 +120,12 @@ public class RecordItem implements StreamItem {
         transactionBodyAndSignatureMap = parseTransactionBodyAndSignatureMap(transaction);
         transactionType = getTransactionType(transactionBodyAndSignatureMap.getTransactionBody());
         this.record = record;
-        transactionBytes = null;
-        recordBytes = null;
+        transactionBuffer = null;
+        recordBuffer = null;
+    }
+
+    public int getTransactionSize() {
+        return transactionBuffer != null ? transactionBuffer.remaining() : 0;
     }
 
     public TransactionBody getTransactionBody() {
@@ -105,6 +136,21 @@ public class RecordItem implements StreamItem {
         return transactionBodyAndSignatureMap.getSignatureMap();
     }
 
+    private static byte[] toArray(ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0 &&
+                buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
     private static TransactionBodyAndSignatureMap parseTransactionBodyAndSignatureMap(Transaction transaction) {
         try {
             if (!transaction.getSignedTransactionBytes().equals(ByteString.EMPTY)) {
@@ -29,10 +29,15 @@ import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 import javax.inject.Named;
+import org.springframework.context.event.EventListener;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import com.hedera.mirror.importer.config.MirrorDateRangePropertiesProcessor;
 import com.hedera.mirror.importer.domain.RecordFile;
@@ -40,6 +45,7 @@ import com.hedera.mirror.importer.domain.TransactionTypeEnum;
 import com.hedera.mirror.importer.leader.Leader;
 import com.hedera.mirror.importer.parser.AbstractStreamFileParser;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFailedEvent;
 import com.hedera.mirror.importer.repository.StreamFileRepository;
 import com.hedera.mirror.importer.util.Utility;
 
@@ -49,6 +55,9 @@ public class RecordFileParser extends AbstractStreamFileParser<RecordFile> {
     private final RecordItemListener recordItemListener;
     private final RecordStreamFileListener recordStreamFileListener;
     private final MirrorDateRangePropertiesProcessor mirrorDateRangePropertiesProcessor;
+    private final boolean backfill;
+    private long lastConsensusEnd = -1L;
+    private boolean resuming = false;
 
     // Metrics
     private final Map<Integer, Timer> latencyMetrics;
@@ -65,6 +74,7 @@ public class RecordFileParser extends AbstractStreamFileParser<RecordFile> {
         this.recordItemListener = recordItemListener;
         this.recordStreamFileListener = recordStreamFileListener;
         this.mirrorDateRangePropertiesProcessor = mirrorDateRangePropertiesProcessor;
+        backfill = parserProperties.getBackfill().isEnabled();
 
         // build transaction latency metrics
         ImmutableMap.Builder<Integer, Timer> latencyMetricsBuilder = ImmutableMap.builder();
@@ -116,23 +126,68 @@ public class RecordFileParser extends AbstractStreamFileParser<RecordFile> {
 
         try {
             recordStreamFileListener.onStart();
-            long count = recordFile.getItems()
-                    .doOnNext(this::logItem)
-                    .filter(r -> dateRangeFilter.filter(r.getConsensusTimestamp()))
-                    .doOnNext(recordItemListener::onItem)
-                    .doOnNext(this::recordMetrics)
-                    .count()
-                    .block();
+            long count;
+
+            // items may be decoded on other threads, consume them in order on this thread since it's the one
+            // bound to the transaction. Closing the stream cancels the decoding if an item fails to be processed.
+            try (Stream<RecordItem> recordItems = recordFile.getItems().toStream()) {
+                count = Flux.fromStream(recordItems)
+                        .doOnNext(this::logItem)
+                        .filter(r -> dateRangeFilter.filter(r.getConsensusTimestamp()))
+                        .doOnNext(recordItemListener::onItem)
+                        .doOnNext(this::recordMetrics)
+                        .count()
+                        .block();
+            }
 
             recordFile.setCount(count);
             recordFile.setLoadEnd(Instant.now().getEpochSecond());
             recordStreamFileListener.onEnd(recordFile);
+            lastConsensusEnd = recordFile.getConsensusEnd();
         } catch (Exception ex) {
             recordStreamFileListener.onError();
             throw ex;
         }
     }
 
+    /**
+     * Resumes parsing after the last record file in the database once parsed record files failed to be written, since
+     * the record files still queued for parsing come after the failed ones.
+     */
+    @EventListener
+    public void onBatchFailed(EntityBatchFailedEvent event) {
+        lastConsensusEnd = -1L;
+        resuming = true;
+    }
+
+    /**
+     * While resuming, record files are skipped until the downloader provides the one following the last record file
+     * in the database again.
+     * <p>
+     * During a backfill, record files of the current group are not in the database yet and files arrive in consensus
+     * order, so only the latest record file is looked up once and later files are compared against the last parsed one.
+     */
+    @Override
+    protected boolean exists(RecordFile recordFile) {
+        if (resuming) {
+            Optional<RecordFile> latest = streamFileRepository.findLatest();
+            if (latest.isPresent() && !Objects.equals(latest.get().getHash(), recordFile.getPreviousHash())) {
+                return true;
+            }
+            resuming = false;
+        }
+
+        if (!backfill) {
+            return super.exists(recordFile);
+        }
+
+        if (lastConsensusEnd < 0) {
+            lastConsensusEnd = streamFileRepository.findLatest().map(RecordFile::getConsensusEnd).orElse(0L);
+        }
+
+        return recordFile.getConsensusEnd() <= lastConsensusEnd;
+    }
+
     private void logItem(RecordItem recordItem) {
         if (log.isTraceEnabled()) {
             log.trace("Transaction = {}, Record = {}",
@@ -145,7 +200,7 @@ public class RecordFileParser extends AbstractStreamFileParser<RecordFile> {
 
     private void recordMetrics(RecordItem recordItem) {
         sizeMetrics.getOrDefault(recordItem.getTransactionType(), unknownSizeMetric)
-                .record(recordItem.getTransactionBytes().length);
+                .record(recordItem.getTransactionSize());
 
         Instant consensusTimestamp = Utility.convertToInstant(recordItem.getRecord().getConsensusTimestamp());
         latencyMetrics.getOrDefault(recordItem.getTransactionType(), unknownLatencyMetric)
@@ -20,7 +20,11 @@ package com.hedera.mirror.importer.parser.record;
  * ‍
  */
 
+import java.time.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
@@ -34,8 +38,28 @@ import com.hedera.mirror.importer.parser.AbstractParserProperties;
 @ConfigurationProperties("hedera.mirror.importer.parser.record")
 public class RecordParserProperties extends AbstractParserProperties {
 
+    @NotNull
+    private BackfillProperties backfill = new BackfillProperties();
+
+    @Min(1)
+    private int parallelism = 2;
+
     @Override
     public StreamType getStreamType() {
         return StreamType.RECORD;
     }
+
+    @Data
+    @Validated
+    public static class BackfillProperties {
+
+        private boolean enabled = false;
+
+        @DurationMin(millis = 100L)
+        @NotNull
+        private Duration idleTimeout = Duration.ofSeconds(5L); // time without new files after which a group is written
+
+        @Min(1)
+        private int maxFiles = 20; // max number of record files merged and written together
+    }
 }
@@ -0,0 +1,41 @@
+package com.hedera.mirror.importer.parser.record.entity;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once a record file that was already parsed could not be written, so that it's downloaded and parsed
+ * again along with the record files after it, starting after the last record file in the database.
+ */
+public class EntityBatchFailedEvent extends ApplicationEvent {
+    private static final long serialVersionUID = -2165932411957530583L;
+
+    /**
+     * Create a new {@code ApplicationEvent}.
+     *
+     * @param source the object on which the event initially occurred or with which the event is associated (never
+     *               {@code null})
+     */
+    public EntityBatchFailedEvent(Object source) {
+        super(source);
+    }
+}
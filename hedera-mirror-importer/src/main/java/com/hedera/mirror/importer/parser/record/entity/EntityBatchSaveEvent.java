@@ -20,11 +20,16 @@ package com.hedera.mirror.importer.parser.record.entity;
  * ‍
  */
 
+import java.util.Collection;
 import org.springframework.context.ApplicationEvent;
 
+import com.hedera.mirror.importer.domain.TopicMessage;
+
 public class EntityBatchSaveEvent extends ApplicationEvent {
     private static final long serialVersionUID = -5121039174183266247L;
 
+    private final transient Collection<TopicMessage> topicMessages;
+
     /**
      * Create a new {@code ApplicationEvent}.
      *
@@ -32,6 +37,26 @@ public class EntityBatchSaveEvent extends ApplicationEvent {
      *               {@code null})
      */
     public EntityBatchSaveEvent(Object source) {
+        this(source, null);
+    }
+
+    /**
+     * Create a new {@code ApplicationEvent} for a batch that's saved after the listeners already moved on to the next
+     * one, within the transaction that writes it.
+     *
+     * @param source        the object on which the event initially occurred or with which the event is associated
+     *                      (never {@code null})
+     * @param topicMessages the topic messages of the batch
+     */
+    public EntityBatchSaveEvent(Object source, Collection<TopicMessage> topicMessages) {
         super(source);
+        this.topicMessages = topicMessages;
+    }
+
+    /**
+     * @return the topic messages of the batch, or null if the listeners should save the ones they collected
+     */
+    public Collection<TopicMessage> getTopicMessages() {
+        return topicMessages;
     }
 }
@@ -58,6 +58,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.inject.Named;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.hedera.mirror.importer.addressbook.AddressBookService;
 import com.hedera.mirror.importer.domain.AssessedCustomFee;
@@ -109,19 +110,22 @@ public class EntityRecordItemListener implements RecordItemListener {
     private final TransactionHandlerFactory transactionHandlerFactory;
     private final Predicate<TransactionFilterFields> transactionFilter;
     private final FileDataRepository fileDataRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EntityRecordItemListener(CommonParserProperties commonParserProperties, EntityProperties entityProperties,
                                     AddressBookService addressBookService,
                                     NonFeeTransferExtractionStrategy nonFeeTransfersExtractor,
                                     EntityListener entityListener,
                                     TransactionHandlerFactory transactionHandlerFactory,
-                                    FileDataRepository fileDataRepository) {
+                                    FileDataRepository fileDataRepository,
+                                    ApplicationEventPublisher eventPublisher) {
         this.entityProperties = entityProperties;
         this.addressBookService = addressBookService;
         this.nonFeeTransfersExtractor = nonFeeTransfersExtractor;
         this.entityListener = entityListener;
         this.transactionHandlerFactory = transactionHandlerFactory;
         this.fileDataRepository = fileDataRepository;
+        this.eventPublisher = eventPublisher;
         transactionFilter = commonParserProperties.getFilter();
     }
 
@@ -357,6 +361,8 @@ public class EntityRecordItemListener implements RecordItemListener {
 
         // We always store file data for address books since they're used by the address book service
         if (addressBookService.isAddressBook(entityId)) {
+            // the address book is saved by the parser's transaction, so the record files before it are written first
+            eventPublisher.publishEvent(new EntityBatchFlushEvent(this));
             fileDataRepository.save(fileData);
             addressBookService.update(fileData);
         } else if (entityProperties.getPersist().isFiles() ||
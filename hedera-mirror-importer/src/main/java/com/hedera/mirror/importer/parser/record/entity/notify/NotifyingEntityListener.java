@@ -86,9 +86,12 @@ public class NotifyingEntityListener implements BatchEntityListener {
     @EventListener
     public void onSave(EntityBatchSaveEvent event) {
         if (isEnabled()) {
+            // notifications are sent when the transaction that saves the batch commits
+            Collection<TopicMessage> messages = event.getTopicMessages() != null ? event.getTopicMessages() :
+                    topicMessages;
             Stopwatch stopwatch = Stopwatch.createStarted();
-            timer.record(() -> jdbcTemplate.execute(SQL, callback(topicMessages)));
-            log.info("Finished notifying {} messages in {}", topicMessages.size(), stopwatch);
+            timer.record(() -> jdbcTemplate.execute(SQL, callback(messages)));
+            log.info("Finished notifying {} messages in {}", messages.size(), stopwatch);
         }
     }
 
@@ -38,6 +38,8 @@ import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.hedera.mirror.importer.MirrorProperties;
 import com.hedera.mirror.importer.domain.StreamMessage;
@@ -109,16 +111,22 @@ public class RedisEntityListener implements BatchEntityListener {
     @Override
     @EventListener
     public void onSave(EntityBatchSaveEvent event) throws InterruptedException {
-        if (!isEnabled() || topicMessages.isEmpty()) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        if (event.getTopicMessages() != null) {
+            publishAfterCommit(new ArrayList<>(event.getTopicMessages()));
+            return;
+        }
+
+        if (topicMessages.isEmpty()) {
             return;
         }
 
         List<TopicMessage> latestMessageBatch = topicMessages;
         topicMessages = new ArrayList<>();
-        if (!topicMessagesQueue.offer(latestMessageBatch)) {
-            log.warn("topicMessagesQueue is full, will block until space is available");
-            topicMessagesQueue.put(latestMessageBatch);
-        }
+        enqueue(latestMessageBatch);
     }
 
     @Override
@@ -128,6 +136,39 @@ public class RedisEntityListener implements BatchEntityListener {
         topicMessages.clear();
     }
 
+    private void enqueue(List<TopicMessage> messages) throws InterruptedException {
+        if (!topicMessagesQueue.offer(messages)) {
+            log.warn("topicMessagesQueue is full, will block until space is available");
+            topicMessagesQueue.put(messages);
+        }
+    }
+
+    /**
+     * Publishes the messages of a batch saved after the parser moved on only once its transaction committed, so that a
+     * retried or failed write doesn't publish messages that were never stored.
+     */
+    private void publishAfterCommit(List<TopicMessage> messages) throws InterruptedException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(messages);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    enqueue(messages);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
     private void publish(List<TopicMessage> messages) {
         try {
             Stopwatch stopwatch = Stopwatch.createStarted();
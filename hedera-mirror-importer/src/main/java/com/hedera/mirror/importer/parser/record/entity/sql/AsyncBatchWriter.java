@@ -0,0 +1,152 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hedera.mirror.importer.exception.ParserException;
+import com.hedera.mirror.importer.parser.AbstractParserProperties;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
+/**
+ * Writes record files to the database on a dedicated thread so the parser can move on to the next file while the
+ * previous one is still being written. Files are written one at a time in the order they were submitted, each in its
+ * own transaction that is retried as a whole on failure. At most {@code queueDepth} files can be pending, after which
+ * submitting blocks until the oldest one is written. Once a file fails to be written after all retries, the files
+ * queued after it are skipped, since writing them would leave a gap in the data. The next call then waits for the
+ * queue to drain, runs the failure callback so the failed file and the ones after it are parsed again, and fails
+ * once, after which files can be submitted again.
+ * <p>
+ * The save event of a file is only published once it's written, within the same transaction.
+ */
+@Log4j2
+class AsyncBatchWriter {
+
+    private final ExecutorService executorService;
+    private final Semaphore pending;
+    private final Runnable onFailure;
+    private final int queueDepth;
+    private final RetryTemplate retryTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Exception failure;
+
+    AsyncBatchWriter(PlatformTransactionManager transactionManager, RecordParserProperties recordParserProperties,
+                     int queueDepth, Runnable onFailure) {
+        this.onFailure = onFailure;
+        this.queueDepth = queueDepth;
+        pending = new Semaphore(queueDepth);
+        executorService = Executors.newSingleThreadExecutor();
+        Runtime.getRuntime().addShutdownHook(new Thread(executorService::shutdown));
+
+        AbstractParserProperties.RetryProperties retry = recordParserProperties.getRetry();
+        ExponentialBackOffPolicy backOffPolicy = new ExponentialBackOffPolicy();
+        backOffPolicy.setInitialInterval(retry.getMinBackoff().toMillis());
+        backOffPolicy.setMaxInterval(retry.getMaxBackoff().toMillis());
+        backOffPolicy.setMultiplier(retry.getMultiplier());
+        retryTemplate = RetryTemplate.builder()
+                .maxAttempts(Math.max(retry.getMaxAttempts(), 1))
+                .customBackoff(backOffPolicy)
+                .build();
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout((int) recordParserProperties.getTransactionTimeout().toSeconds());
+    }
+
+    /**
+     * Queues the write of a record file, blocking while {@code queueDepth} files are already pending.
+     *
+     * @param name  the name of the record file, used for logging
+     * @param write the action writing the record file, run within a transaction
+     */
+    void submit(String name, Runnable write) {
+        checkFailure();
+        acquire(1);
+
+        try {
+            executorService.execute(() -> {
+                try {
+                    if (failure != null) {
+                        log.warn("Skipping write of {} after a previous record file failed to be written", name);
+                    } else {
+                        retryTemplate.execute(context -> {
+                            if (context.getRetryCount() > 0) {
+                                log.warn("Retrying write of {}, attempt {}", name, context.getRetryCount() + 1);
+                            }
+                            transactionTemplate.executeWithoutResult(status -> write.run());
+                            return null;
+                        });
+                    }
+                } catch (Exception e) {
+                    log.error("Unable to write {}", name, e);
+                    failure = e;
+                } finally {
+                    pending.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            throw new ParserException(e);
+        }
+    }
+
+    /**
+     * Waits until all submitted record files have been written.
+     */
+    void await() {
+        acquire(queueDepth);
+        pending.release(queueDepth);
+        checkFailure();
+    }
+
+    /**
+     * Fails if a previously submitted record file could not be written. The failure is only reported once, after the
+     * record files queued behind the failed one have been skipped.
+     */
+    void checkFailure() {
+        if (failure == null) {
+            return;
+        }
+
+        acquire(queueDepth);
+        pending.release(queueDepth);
+        Exception exception = failure;
+        failure = null;
+        onFailure.run();
+        throw new ParserException("Error writing a previous record file", exception);
+    }
+
+    private void acquire(int permits) {
+        try {
+            pending.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParserException(e);
+        }
+    }
+}
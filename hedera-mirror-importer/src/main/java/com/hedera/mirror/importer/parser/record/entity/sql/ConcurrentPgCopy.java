@@ -0,0 +1,166 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+
+import com.hedera.mirror.importer.exception.ParserException;
+import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
+
+/**
+ * Copies independent insert only tables concurrently, spreading them over a small number of connections separate from
+ * the caller's. The connections are enlisted in the caller's transaction with a {@link TwoPhaseCommit}, so the rows
+ * become visible together with the rest of the record file or not at all. This requires max_prepared_transactions to be
+ * at least the number of connections.
+ */
+@Log4j2
+class ConcurrentPgCopy {
+
+    private final int connections;
+    private final DataSource dataSource;
+    private final ExecutorService executorService;
+    private final List<Connection> pendingConnections = new ArrayList<>();
+    private final TwoPhaseCommit twoPhaseCommit;
+
+    ConcurrentPgCopy(DataSource dataSource, TwoPhaseCommit twoPhaseCommit, int connections) {
+        this.connections = connections;
+        this.dataSource = dataSource;
+        this.twoPhaseCommit = twoPhaseCommit;
+        executorService = Executors.newFixedThreadPool(connections);
+        Runtime.getRuntime().addShutdownHook(new Thread(executorService::shutdown));
+    }
+
+    /**
+     * Starts copying the tables, assigning them to connections so that the number of rows per connection is roughly
+     * balanced. {@link #complete(boolean)} must be called once the returned future is done, whether it failed or not.
+     *
+     * @param tables the tables to copy
+     * @return a future that's done when all tables have been copied
+     */
+    CompletableFuture<Void> copy(Collection<Table<?>> tables) {
+        if (!twoPhaseCommit.isSupported(connections)) {
+            throw new ParserException("Concurrent copy requires max_prepared_transactions to be at least " +
+                    connections);
+        }
+
+        List<List<Table<?>>> groups = new ArrayList<>();
+        long[] groupSizes = new long[connections];
+
+        for (int i = 0; i < connections; i++) {
+            groups.add(new ArrayList<>());
+        }
+
+        tables.stream()
+                .filter(table -> !table.getItems().isEmpty())
+                .sorted(Comparator.comparingInt((Table<?> table) -> table.getItems().size()).reversed())
+                .forEach(table -> {
+                    int smallest = 0;
+                    for (int i = 1; i < connections; i++) {
+                        if (groupSizes[i] < groupSizes[smallest]) {
+                            smallest = i;
+                        }
+                    }
+                    groups.get(smallest).add(table);
+                    groupSizes[smallest] += table.getItems().size();
+                });
+
+        return CompletableFuture.allOf(groups.stream()
+                .filter(group -> !group.isEmpty())
+                .map(group -> CompletableFuture.runAsync(() -> copyGroup(group), executorService))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Rolls back the connections if the copies or the rest of the batch failed. Otherwise enlists them in the caller's
+     * transaction if there is one, or commits them.
+     *
+     * @param success whether the copies and the rest of the batch succeeded
+     */
+    void complete(boolean success) {
+        List<Connection> completing;
+        synchronized (pendingConnections) {
+            completing = new ArrayList<>(pendingConnections);
+            pendingConnections.clear();
+        }
+
+        for (int i = 0; i < completing.size(); i++) {
+            Connection connection = completing.get(i);
+
+            if (success) {
+                try {
+                    twoPhaseCommit.enlist(connection);
+                } catch (RuntimeException e) {
+                    completing.subList(i + 1, completing.size()).forEach(this::rollback);
+                    throw e;
+                }
+            } else {
+                rollback(connection);
+            }
+        }
+    }
+
+    private void copyGroup(List<Table<?>> group) {
+        Connection connection;
+
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new ParserException(e);
+        }
+
+        synchronized (pendingConnections) {
+            pendingConnections.add(connection);
+        }
+
+        group.forEach(table -> table.copy(connection));
+    }
+
+    private void rollback(Connection connection) {
+        try (connection) {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.error("Unable to rollback concurrent copy connection", e);
+        }
+    }
+
+    @Value
+    static class Table<T> {
+        private final PgCopy<T> pgCopy;
+        private final Collection<T> items;
+
+        void copy(Connection connection) {
+            pgCopy.copy(items, connection);
+        }
+    }
+}
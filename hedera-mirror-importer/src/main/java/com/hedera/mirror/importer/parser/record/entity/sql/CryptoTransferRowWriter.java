@@ -0,0 +1,48 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.parser.BinaryCopyOutputStream;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+
+public class CryptoTransferRowWriter implements BinaryRowWriter<CryptoTransfer> {
+
+    public static final CryptoTransferRowWriter INSTANCE = new CryptoTransferRowWriter();
+
+    private static final List<String> COLUMNS = List.of("amount", "consensus_timestamp", "entity_id");
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void write(CryptoTransfer cryptoTransfer, BinaryCopyOutputStream outputStream) throws IOException {
+        CryptoTransfer.Id id = cryptoTransfer.getId();
+        outputStream.writeBigint(id.getAmount());
+        outputStream.writeBigint(id.getConsensusTimestamp());
+        outputStream.writeEntityId(id.getEntityId());
+    }
+}
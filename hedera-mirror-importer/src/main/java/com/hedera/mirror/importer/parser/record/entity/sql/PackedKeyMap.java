@@ -0,0 +1,74 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A map from composite keys to non-null values that packs the keys into a primitive long where they fit, so that they
+ * are neither hashed as objects nor stored in an entry. Keys that don't fit fall back to a HashMap.
+ */
+class PackedKeyMap<K, V> {
+
+    private final Predicate<K> packable;
+    private final ToLongFunction<K> packer;
+    private final LongObjectHashMap<V> packed = new LongObjectHashMap<>();
+    private final Map<K, V> unpacked = new HashMap<>();
+
+    /**
+     * @param packable whether a key fits into a long
+     * @param packer   packs a key that fits into a long, distinct for distinct keys
+     */
+    PackedKeyMap(Predicate<K> packable, ToLongFunction<K> packer) {
+        this.packable = packable;
+        this.packer = packer;
+    }
+
+    V merge(K key, V value, BinaryOperator<V> merger) {
+        if (packable.test(key)) {
+            return packed.merge(packer.applyAsLong(key), value, merger);
+        }
+        return unpacked.merge(key, value, merger);
+    }
+
+    int size() {
+        return packed.size() + unpacked.size();
+    }
+
+    void clear() {
+        packed.clear();
+        unpacked.clear();
+    }
+
+    /**
+     * @return a snapshot of the values, in no particular order
+     */
+    List<V> values() {
+        List<V> values = packed.values();
+        values.addAll(unpacked.values());
+        return values;
+    }
+}
@@ -0,0 +1,156 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hedera.mirror.importer.domain.Entity;
+
+/**
+ * Remembers what is known about entity rows already written to the database across record files, so that entities
+ * whose upsert would not change the row can be left out of the batch. An entry means the row exists, and its non-null
+ * fields hold the values last written for them. Changes are only applied to the cache once the transaction writing
+ * them commits, and entities must be filtered in the order they are written.
+ */
+class PersistedEntityCache implements TransactionSynchronization {
+
+    private final Cache<Long, Entity> cache;
+    private final BinaryOperator<Entity> merger;
+    private final Map<Long, Entity> pending = new HashMap<>();
+    private final Counter elidedMetric;
+    private final Counter hitMetric;
+    private final Counter missMetric;
+    private boolean registered = false;
+
+    PersistedEntityCache(SqlProperties.EntityCacheProperties properties, MeterRegistry meterRegistry,
+                         BinaryOperator<Entity> merger) {
+        cache = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .maximumSize(properties.getMaxSize())
+                .build();
+        this.merger = merger;
+
+        Counter.Builder counter = Counter.builder("hedera.mirror.importer.parse.entity.cache")
+                .description("The number of entities looked up in the cache of persisted entities, by result");
+        elidedMetric = counter.tag("type", "elided").register(meterRegistry);
+        hitMetric = counter.tag("type", "hit").register(meterRegistry);
+        missMetric = counter.tag("type", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Returns the entities that would change the database when upserted, given what has been written before.
+     *
+     * @param entities the entities about to be upserted
+     * @return the entities to upsert
+     */
+    Collection<Entity> filter(Collection<Entity> entities) {
+        List<Entity> changed = new ArrayList<>(entities.size());
+
+        for (Entity entity : entities) {
+            Long id = entity.getId();
+            Entity persisted = pending.get(id);
+            if (persisted == null) {
+                persisted = cache.getIfPresent(id);
+            }
+
+            if (persisted == null) {
+                missMetric.increment();
+                changed.add(entity);
+                // a create is skipped if the row already exists, so nothing is known about its fields
+                pending.put(id, entity.getCreatedTimestamp() == null ? merger.apply(empty(id), entity) : empty(id));
+            } else if (isUnchanged(persisted, entity)) {
+                hitMetric.increment();
+                elidedMetric.increment();
+            } else {
+                hitMetric.increment();
+                changed.add(entity);
+                pending.put(id, merger.apply(merger.apply(empty(id), persisted), entity));
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!registered) {
+                TransactionSynchronizationManager.registerSynchronization(this);
+                registered = true;
+            }
+        } else {
+            complete(true);
+        }
+
+        return changed;
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        registered = false;
+        complete(status == STATUS_COMMITTED);
+    }
+
+    private void complete(boolean commit) {
+        if (commit) {
+            cache.putAll(pending);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Mirrors the entity upsert: the insert skips rows that exist and the update only applies to entities without a
+     * created timestamp, replacing the columns that are not null.
+     */
+    private boolean isUnchanged(Entity persisted, Entity entity) {
+        if (entity.getCreatedTimestamp() != null) {
+            return true;
+        }
+
+        return matches(entity.getAutoRenewAccountId(), persisted.getAutoRenewAccountId()) &&
+                matches(entity.getAutoRenewPeriod(), persisted.getAutoRenewPeriod()) &&
+                matches(entity.getDeleted(), persisted.getDeleted()) &&
+                matches(entity.getExpirationTimestamp(), persisted.getExpirationTimestamp()) &&
+                (entity.getKey() == null || Arrays.equals(entity.getKey(), persisted.getKey())) &&
+                matches(entity.getMemo(), persisted.getMemo()) &&
+                matches(entity.getModifiedTimestamp(), persisted.getModifiedTimestamp()) &&
+                matches(entity.getProxyAccountId(), persisted.getProxyAccountId()) &&
+                (entity.getSubmitKey() == null || Arrays.equals(entity.getSubmitKey(), persisted.getSubmitKey()));
+    }
+
+    private boolean matches(Object value, Object persistedValue) {
+        return value == null || Objects.equals(value, persistedValue);
+    }
+
+    private Entity empty(Long id) {
+        Entity entity = new Entity();
+        entity.setId(id);
+        return entity;
+    }
+}
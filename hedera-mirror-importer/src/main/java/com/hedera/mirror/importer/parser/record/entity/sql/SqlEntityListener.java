@@ -20,24 +20,39 @@ package com.hedera.mirror.importer.parser.record.entity.sql;
  * ‍
  */
 
+import com.google.common.base.CaseFormat;
 import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.sql.Connection;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import javax.inject.Named;
 import javax.sql.DataSource;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.annotation.Order;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.hedera.mirror.importer.domain.AssessedCustomFee;
 import com.hedera.mirror.importer.domain.ContractResult;
 import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.CurrentBalance;
+import com.hedera.mirror.importer.domain.CurrentTokenBalance;
 import com.hedera.mirror.importer.domain.CustomFee;
 import com.hedera.mirror.importer.domain.Entity;
 import com.hedera.mirror.importer.domain.EntityId;
@@ -58,13 +73,20 @@ import com.hedera.mirror.importer.domain.Transaction;
 import com.hedera.mirror.importer.domain.TransactionSignature;
 import com.hedera.mirror.importer.exception.ImporterException;
 import com.hedera.mirror.importer.exception.ParserException;
+import com.hedera.mirror.importer.parser.BinaryPgCopy;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
+import com.hedera.mirror.importer.parser.CurrentBalancePgCopy;
 import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
 import com.hedera.mirror.importer.parser.UpsertPgCopy;
 import com.hedera.mirror.importer.parser.record.RecordParserProperties;
 import com.hedera.mirror.importer.parser.record.RecordStreamFileListener;
 import com.hedera.mirror.importer.parser.record.entity.AbstractEntityListener;
 import com.hedera.mirror.importer.parser.record.entity.ConditionOnEntityRecordParser;
 import com.hedera.mirror.importer.parser.record.entity.EntityBatchCleanupEvent;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFailedEvent;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFlushEvent;
 import com.hedera.mirror.importer.parser.record.entity.EntityBatchSaveEvent;
 import com.hedera.mirror.importer.repository.RecordFileRepository;
 import com.hedera.mirror.importer.repository.upsert.EntityUpsertQueryGenerator;
@@ -72,6 +94,7 @@ import com.hedera.mirror.importer.repository.upsert.NftUpsertQueryGenerator;
 import com.hedera.mirror.importer.repository.upsert.ScheduleUpsertQueryGenerator;
 import com.hedera.mirror.importer.repository.upsert.TokenAccountUpsertQueryGenerator;
 import com.hedera.mirror.importer.repository.upsert.TokenUpsertQueryGenerator;
+import com.hedera.mirror.importer.repository.upsert.UpsertQueryGenerator;
 
 @Log4j2
 @Named
@@ -79,10 +102,25 @@ import com.hedera.mirror.importer.repository.upsert.TokenUpsertQueryGenerator;
 @ConditionOnEntityRecordParser
 public class SqlEntityListener extends AbstractEntityListener implements RecordStreamFileListener {
 
+    private final CommonParserProperties commonParserProperties;
     private final DataSource dataSource;
     private final RecordFileRepository recordFileRepository;
     private final SqlProperties sqlProperties;
     private final ApplicationEventPublisher eventPublisher;
+    private final AsyncBatchWriter asyncBatchWriter;
+    private final List<Batch> pendingBatches;
+    private final boolean backfill;
+    private final Duration backfillIdleTimeout;
+    private final int backfillMaxFiles;
+    private final List<Batch> backfillBatches;
+    private final List<RecordFile> backfillRecordFiles;
+    private final Counter backfillFilesMetric;
+    private final Counter backfillRowsMetric;
+    private final ConcurrentPgCopy concurrentPgCopy;
+    private final PersistedEntityCache persistedEntityCache;
+    private final Timer concurrentBatchMetric;
+    private final Timer sequentialBatchMetric;
+    private final Timer totalBatchMetric;
 
     // init schemas, writers, etc once per process
     private final PgCopy<AssessedCustomFee> assessedCustomFeePgCopy;
@@ -103,6 +141,9 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     private final UpsertPgCopy<Schedule> schedulePgCopy;
     private final UpsertPgCopy<TokenAccount> tokenAccountPgCopy;
     private final UpsertPgCopy<Token> tokenPgCopy;
+    private final PgCopy<CurrentBalance> currentBalancePgCopy;
+    private final PgCopy<CurrentTokenBalance> currentTokenBalancePgCopy;
+    private final Map<PgCopy<?>, UpsertMerge<?, ?>> upsertMerges;
 
     // lists of insert only domains
     private final Collection<AssessedCustomFee> assessedCustomFees;
@@ -119,51 +160,109 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     private final Collection<TransactionSignature> transactionSignatures;
 
     // maps of upgradable domains
-    private final Map<Long, Entity> entities;
-    private final Map<Long, Schedule> schedules;
-    private final Map<Long, Token> tokens;
-    private final Map<TokenAccountId, TokenAccount> tokenAccounts;
-    private final Map<NftId, Nft> nfts;
+    private final LongObjectHashMap<Entity> entities;
+    private final LongObjectHashMap<Schedule> schedules;
+    private final LongObjectHashMap<Token> tokens;
+    private final PackedKeyMap<TokenAccountId, TokenAccount> tokenAccounts;
+    private final PackedKeyMap<NftId, Nft> nfts;
+    private final LongObjectHashMap<CurrentBalance> currentBalances;
+    private final PackedKeyMap<CurrentTokenBalance.Id, CurrentTokenBalance> currentTokenBalances;
+
+    private boolean flushed = false;
+    private boolean parsing = false;
+    private long lastParsed = System.nanoTime();
 
     public SqlEntityListener(RecordParserProperties recordParserProperties, SqlProperties sqlProperties,
-                             DataSource dataSource,
+                             DataSource dataSource, TwoPhaseCommit twoPhaseCommit,
                              RecordFileRepository recordFileRepository, MeterRegistry meterRegistry,
                              ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
                              EntityUpsertQueryGenerator entityUpsertQueryGenerator,
                              ScheduleUpsertQueryGenerator scheduleUpsertQueryGenerator,
                              TokenUpsertQueryGenerator tokenUpsertQueryGenerator,
                              TokenAccountUpsertQueryGenerator tokenAccountUpsertQueryGenerator,
-                             NftUpsertQueryGenerator nftUpsertQueryGenerator) {
+                             NftUpsertQueryGenerator nftUpsertQueryGenerator,
+                             CommonParserProperties commonParserProperties) {
+        this.commonParserProperties = commonParserProperties;
         this.dataSource = dataSource;
         this.recordFileRepository = recordFileRepository;
         this.sqlProperties = sqlProperties;
         this.eventPublisher = eventPublisher;
 
+        // the backfill relies on the async writer to write a group of record files in a single transaction
+        RecordParserProperties.BackfillProperties backfillProperties = recordParserProperties.getBackfill();
+        SqlProperties.AsyncWriterProperties asyncWriterProperties = sqlProperties.getAsyncWriter();
+        backfill = backfillProperties.isEnabled();
+        asyncBatchWriter = asyncWriterProperties.isEnabled() || backfill ? new AsyncBatchWriter(transactionManager,
+                recordParserProperties, asyncWriterProperties.getQueueDepth(),
+                () -> eventPublisher.publishEvent(new EntityBatchFailedEvent(this))) : null;
+        pendingBatches = new ArrayList<>();
+        backfillIdleTimeout = backfillProperties.getIdleTimeout();
+        backfillMaxFiles = backfillProperties.getMaxFiles();
+        backfillBatches = new ArrayList<>();
+        backfillRecordFiles = new ArrayList<>();
+        backfillFilesMetric = Counter.builder("hedera.mirror.importer.parse.backfill.files")
+                .description("The number of record files written by the backfill")
+                .register(meterRegistry);
+        backfillRowsMetric = Counter.builder("hedera.mirror.importer.parse.backfill.rows")
+                .description("The number of rows written by the backfill")
+                .register(meterRegistry);
+
+        SqlProperties.ConcurrentCopyProperties concurrentCopyProperties = sqlProperties.getConcurrentCopy();
+        concurrentPgCopy = concurrentCopyProperties.isEnabled() ?
+                new ConcurrentPgCopy(dataSource, twoPhaseCommit,
+                concurrentCopyProperties.getConnections()) : null;
+        Timer.Builder batchMetric = Timer.builder("hedera.mirror.importer.parse.batch")
+                .description("Time to insert a batch into the database, with the total being the critical path of " +
+                        "the concurrent and the sequential stages");
+        concurrentBatchMetric = batchMetric.tag("stage", "concurrent").register(meterRegistry);
+        sequentialBatchMetric = batchMetric.tag("stage", "sequential").register(meterRegistry);
+        totalBatchMetric = batchMetric.tag("stage", "total").register(meterRegistry);
+
         // insert only tables
         assessedCustomFeePgCopy = new PgCopy<>(AssessedCustomFee.class, meterRegistry, recordParserProperties);
         contractResultPgCopy = new PgCopy<>(ContractResult.class, meterRegistry, recordParserProperties);
-        cryptoTransferPgCopy = new PgCopy<>(CryptoTransfer.class, meterRegistry, recordParserProperties);
+        cryptoTransferPgCopy = pgCopy(CryptoTransfer.class, CryptoTransferRowWriter.INSTANCE, meterRegistry,
+                recordParserProperties);
         customFeePgCopy = new PgCopy<>(CustomFee.class, meterRegistry, recordParserProperties);
         fileDataPgCopy = new PgCopy<>(FileData.class, meterRegistry, recordParserProperties);
         liveHashPgCopy = new PgCopy<>(LiveHash.class, meterRegistry, recordParserProperties);
         nftTransferPgCopy = new PgCopy<>(NftTransfer.class, meterRegistry, recordParserProperties);
         nonFeeTransferPgCopy = new PgCopy<>(NonFeeTransfer.class, meterRegistry, recordParserProperties);
         tokenTransferPgCopy = new PgCopy<>(TokenTransfer.class, meterRegistry, recordParserProperties);
-        topicMessagePgCopy = new PgCopy<>(TopicMessage.class, meterRegistry, recordParserProperties);
-        transactionPgCopy = new PgCopy<>(Transaction.class, meterRegistry, recordParserProperties);
+        topicMessagePgCopy = pgCopy(TopicMessage.class, TopicMessageRowWriter.INSTANCE, meterRegistry,
+                recordParserProperties);
+        transactionPgCopy = pgCopy(Transaction.class, TransactionRowWriter.INSTANCE, meterRegistry,
+                recordParserProperties);
         transactionSignaturePgCopy = new PgCopy<>(TransactionSignature.class, meterRegistry, recordParserProperties);
 
         // updatable tables
-        entityPgCopy = new UpsertPgCopy<>(Entity.class, meterRegistry, recordParserProperties,
-                entityUpsertQueryGenerator);
-        nftPgCopy = new UpsertPgCopy<>(Nft.class, meterRegistry, recordParserProperties,
-                nftUpsertQueryGenerator);
-        schedulePgCopy = new UpsertPgCopy<>(Schedule.class, meterRegistry, recordParserProperties,
-                scheduleUpsertQueryGenerator);
-        tokenAccountPgCopy = new UpsertPgCopy<>(TokenAccount.class, meterRegistry, recordParserProperties,
-                tokenAccountUpsertQueryGenerator);
-        tokenPgCopy = new UpsertPgCopy<>(Token.class, meterRegistry, recordParserProperties,
-                tokenUpsertQueryGenerator);
+        entityPgCopy = upsertPgCopy(Entity.class, entityUpsertQueryGenerator, meterRegistry, recordParserProperties);
+        nftPgCopy = upsertPgCopy(Nft.class, nftUpsertQueryGenerator, meterRegistry, recordParserProperties);
+        schedulePgCopy = upsertPgCopy(Schedule.class, scheduleUpsertQueryGenerator, meterRegistry,
+                recordParserProperties);
+        tokenAccountPgCopy = upsertPgCopy(TokenAccount.class, tokenAccountUpsertQueryGenerator, meterRegistry,
+                recordParserProperties);
+        tokenPgCopy = upsertPgCopy(Token.class, tokenUpsertQueryGenerator, meterRegistry, recordParserProperties);
+        currentBalancePgCopy = new CurrentBalancePgCopy<>(CurrentBalance.class, meterRegistry,
+                recordParserProperties, "current_balance", "account_id", CurrentBalancePgCopy.CURRENT_BALANCE_LOCK);
+        currentTokenBalancePgCopy = new CurrentBalancePgCopy<>(CurrentTokenBalance.class, meterRegistry,
+                recordParserProperties, "current_token_balance", "account_id, token_id",
+                CurrentBalancePgCopy.CURRENT_BALANCE_LOCK, CurrentBalancePgCopy.CURRENT_TOKEN_BALANCE_LOCK);
+
+        persistedEntityCache = sqlProperties.getEntityCache().isEnabled() ?
+                new PersistedEntityCache(sqlProperties.getEntityCache(), meterRegistry, this::mergeEntity) : null;
+
+        // keyed the same as the maps below, so rows are merged across record files the same way as within one
+        upsertMerges = Map.of(
+                entityPgCopy, new UpsertMerge<>(Entity::getId, this::mergeEntity),
+                nftPgCopy, new UpsertMerge<>(Nft::getId, this::mergeNft),
+                schedulePgCopy, new UpsertMerge<>(Schedule::getScheduleId, this::mergeSchedule),
+                tokenAccountPgCopy, new UpsertMerge<>(TokenAccount::getId, this::mergeTokenAccount),
+                tokenPgCopy, new UpsertMerge<>(t -> t.getTokenId().getTokenId().getId(), this::mergeToken),
+                currentBalancePgCopy, new UpsertMerge<>(CurrentBalance::getAccountId, this::mergeCurrentBalance),
+                currentTokenBalancePgCopy, new UpsertMerge<>(CurrentTokenBalance::getId,
+                        this::mergeCurrentTokenBalance));
 
         assessedCustomFees = new ArrayList<>();
         contractResults = new ArrayList<>();
@@ -178,11 +277,17 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
         transactions = new ArrayList<>();
         transactionSignatures = new ArrayList<>();
 
-        entities = new HashMap<>();
-        nfts = new HashMap<>();
-        schedules = new HashMap<>();
-        tokens = new HashMap<>();
-        tokenAccounts = new HashMap<>();
+        // the composite keys of entities in shard 0 and realm 0 are packed, with the token in the high 32 bits
+        entities = new LongObjectHashMap<>();
+        nfts = new PackedKeyMap<>(id -> isPackable(id.getTokenId().getId(), id.getSerialNumber()),
+                id -> pack(id.getTokenId().getId(), id.getSerialNumber()));
+        schedules = new LongObjectHashMap<>();
+        tokens = new LongObjectHashMap<>();
+        tokenAccounts = new PackedKeyMap<>(id -> isPackable(id.getTokenId().getId(), id.getAccountId().getId()),
+                id -> pack(id.getTokenId().getId(), id.getAccountId().getId()));
+        currentBalances = new LongObjectHashMap<>();
+        currentTokenBalances = new PackedKeyMap<>(id -> isPackable(id.getTokenId(), id.getAccountId()),
+                id -> pack(id.getTokenId(), id.getAccountId()));
     }
 
     @Override
@@ -191,26 +296,114 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     }
 
     @Override
-    public void onStart() {
+    public synchronized void onStart() {
+        if (asyncBatchWriter != null) {
+            asyncBatchWriter.checkFailure();
+            pendingBatches.clear();
+        }
+
+        flushed = false;
+        parsing = true;
         cleanup();
     }
 
     @Override
-    public void onEnd(RecordFile recordFile) {
+    public synchronized void onEnd(RecordFile recordFile) {
         executeBatches();
-        recordFileRepository.save(recordFile);
+        parsing = false;
+        lastParsed = System.nanoTime();
+
+        if (flushed) {
+            // the parser's transaction already changed the database outside of the batches, so the record file is
+            // written within that transaction instead of being committed later on its own
+            pendingBatches.forEach(this::writeBatch);
+            recordFileRepository.save(recordFile);
+            pendingBatches.forEach(this::publishSave);
+            pendingBatches.clear();
+            flushed = false;
+        } else if (backfill) {
+            // only whole record files are added to the group, so the group can be written at any time in between
+            backfillBatches.addAll(pendingBatches);
+            backfillRecordFiles.add(recordFile.toBuilder().items(null).build());
+            pendingBatches.clear();
+
+            if (backfillRecordFiles.size() >= backfillMaxFiles) {
+                submitBackfill();
+            }
+        } else if (asyncBatchWriter != null) {
+            // the parser keeps using the record file after this, so hand a copy of it to the writer
+            RecordFile pendingRecordFile = recordFile.toBuilder().items(null).build();
+            List<Batch> batches = new ArrayList<>(pendingBatches);
+            pendingBatches.clear();
+            asyncBatchWriter.submit(recordFile.getName(), () -> {
+                batches.forEach(this::writeBatch);
+                recordFileRepository.save(pendingRecordFile);
+                batches.forEach(this::publishSave);
+            });
+        } else {
+            recordFileRepository.save(recordFile);
+        }
     }
 
     @Override
-    public void onError() {
+    public synchronized void onError() {
+        // the record files already in the backfill group are kept, since only the failed one is parsed again
+        flushed = false;
+        parsing = false;
+        pendingBatches.clear();
         cleanup();
     }
 
+    @EventListener
+    public synchronized void onFlush(EntityBatchFlushEvent event) {
+        if (asyncBatchWriter != null) {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            submitBackfill();
+            asyncBatchWriter.await();
+            flushed = parsing;
+            log.debug("Waited {} for pending record files to be written", stopwatch);
+        }
+    }
+
+    /**
+     * Writes the backfill group once no record file has been parsed for the idle timeout, which is the case after the
+     * last record file before the end date or when the downloader falls behind.
+     */
+    @Scheduled(fixedDelayString = "#{@recordParserProperties.getBackfill().getIdleTimeout().toMillis()}")
+    public synchronized void onIdle() {
+        if (backfill && !parsing && !backfillRecordFiles.isEmpty() &&
+                System.nanoTime() - lastParsed >= backfillIdleTimeout.toNanos()) {
+            log.info("Writing {} pending backfill record files after being idle for {}", backfillRecordFiles.size(),
+                    backfillIdleTimeout);
+            submitBackfill();
+        }
+    }
+
+    private <T> PgCopy<T> pgCopy(Class<T> entityClass, BinaryRowWriter<T> rowWriter, MeterRegistry meterRegistry,
+                                 RecordParserProperties recordParserProperties) {
+        String tableName = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, entityClass.getSimpleName());
+        if (sqlProperties.getBinaryCopyTables().contains(tableName)) {
+            return new BinaryPgCopy<>(entityClass, meterRegistry, recordParserProperties, rowWriter);
+        }
+
+        return new PgCopy<>(entityClass, meterRegistry, recordParserProperties);
+    }
+
+    private <T> UpsertPgCopy<T> upsertPgCopy(Class<T> entityClass, UpsertQueryGenerator upsertQueryGenerator,
+                                             MeterRegistry meterRegistry,
+                                             RecordParserProperties recordParserProperties) {
+        boolean stagedMerge = sqlProperties.getStagedMergeTables().contains(upsertQueryGenerator.getFinalTableName());
+        return new UpsertPgCopy<>(entityClass, meterRegistry, recordParserProperties, upsertQueryGenerator,
+                stagedMerge);
+    }
+
     private void cleanup() {
         try {
             assessedCustomFees.clear();
             contractResults.clear();
             cryptoTransfers.clear();
+            currentBalances.clear();
+            currentTokenBalances.clear();
             customFees.clear();
             entities.clear();
             fileData.clear();
@@ -232,49 +425,213 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     }
 
     private void executeBatches() {
+        try {
+            if (asyncBatchWriter != null) {
+                // the writer only starts on the batches once the record file ends, so copy the items to free up the
+                // collections for the rest of the record file. The save event is published by the writer once the
+                // batch is written, since the other listeners would otherwise publish rows that aren't stored yet
+                pendingBatches.add(batch(true));
+            } else {
+                // batch save action may run asynchronously, triggering it before other operations can reduce latency
+                eventPublisher.publishEvent(new EntityBatchSaveEvent(this));
+                writeBatch(batch(false));
+            }
+        } finally {
+            cleanup();
+        }
+    }
+
+    private Batch batch(boolean copy) {
+        // insert only operations
+        List<ConcurrentPgCopy.Table<?>> insertOnlyTables = List.of(
+                table(assessedCustomFeePgCopy, assessedCustomFees, copy),
+                table(contractResultPgCopy, contractResults, copy),
+                table(cryptoTransferPgCopy, cryptoTransfers, copy),
+                table(customFeePgCopy, customFees, copy),
+                table(fileDataPgCopy, fileData, copy),
+                table(liveHashPgCopy, liveHashes, copy),
+                table(topicMessagePgCopy, topicMessages, copy),
+                table(transactionPgCopy, transactions, copy),
+                table(transactionSignaturePgCopy, transactionSignatures, copy));
+
+        List<ConcurrentPgCopy.Table<?>> sequentialTables = List.of(
+                // insert operations with conflict management
+                // the values of the maps are already a snapshot
+                table(entityPgCopy, entities.values(), false),
+                table(tokenPgCopy, tokens.values(), false),
+                table(tokenAccountPgCopy, tokenAccounts.values(), false),
+                table(nftPgCopy, nfts.values(), false), // persist nft after token entity
+                table(schedulePgCopy, schedules.values(), false),
+
+                // transfers operations should be last to ensure insert logic completeness, entities should already
+                // exist
+                table(nonFeeTransferPgCopy, nonFeeTransfers, copy),
+                table(nftTransferPgCopy, nftTransfers, copy),
+                table(tokenTransferPgCopy, tokenTransfers, copy),
+
+                // balance changes are applied in the order of their advisory locks
+                table(currentBalancePgCopy, currentBalances.values(), false),
+                table(currentTokenBalancePgCopy, currentTokenBalances.values(), false));
+
+        return new Batch(insertOnlyTables, sequentialTables);
+    }
+
+    private <T> ConcurrentPgCopy.Table<T> table(PgCopy<T> pgCopy, Collection<T> items, boolean copy) {
+        return new ConcurrentPgCopy.Table<>(pgCopy, copy ? new ArrayList<>(items) : items);
+    }
+
+    private static boolean isPackable(long high, long low) {
+        return (high >>> Integer.SIZE) == 0 && (low >>> Integer.SIZE) == 0;
+    }
+
+    private static long pack(long high, long low) {
+        return (high << Integer.SIZE) | low;
+    }
+
+    private void submitBackfill() {
+        if (backfillRecordFiles.isEmpty()) {
+            return;
+        }
+
+        Batch batch = merge(backfillBatches);
+        List<RecordFile> recordFiles = new ArrayList<>(backfillRecordFiles);
+        String name = String.format("%d record files from %s to %s", recordFiles.size(), recordFiles.get(0).getName(),
+                recordFiles.get(recordFiles.size() - 1).getName());
+        backfillBatches.clear();
+        backfillRecordFiles.clear();
+
+        asyncBatchWriter.submit(name, () -> {
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            writeBatch(batch);
+            recordFileRepository.saveAll(recordFiles);
+            publishSave(batch);
+
+            long rows = batch.getRows();
+            double seconds = Math.max(stopwatch.elapsed().toMillis(), 1L) / 1000.0;
+            backfillFilesMetric.increment(recordFiles.size());
+            backfillRowsMetric.increment(rows);
+            log.info("Backfilled {} with {} rows in {} ({} files/s, {} rows/s)", name, rows, stopwatch,
+                    Math.round(recordFiles.size() / seconds), Math.round(rows / seconds));
+        });
+    }
+
+    /**
+     * Merges the batches of consecutive record files into one, as if they had been a single record file. Insert only
+     * tables are concatenated in order and the rows of updatable tables are merged by their key.
+     */
+    private Batch merge(List<Batch> batches) {
+        if (batches.size() == 1) {
+            return batches.get(0);
+        }
+
+        return new Batch(merge(batches, Batch::getInsertOnlyTables), merge(batches, Batch::getSequentialTables));
+    }
+
+    private List<ConcurrentPgCopy.Table<?>> merge(List<Batch> batches,
+                                                  Function<Batch, List<ConcurrentPgCopy.Table<?>>> tables) {
+        // every batch has the same tables in the same order
+        int count = tables.apply(batches.get(0)).size();
+        List<ConcurrentPgCopy.Table<?>> merged = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            List<ConcurrentPgCopy.Table<?>> column = new ArrayList<>(batches.size());
+            for (Batch batch : batches) {
+                column.add(tables.apply(batch).get(i));
+            }
+            merged.add(mergeTable(column));
+        }
+
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ConcurrentPgCopy.Table<T> mergeTable(List<ConcurrentPgCopy.Table<?>> tables) {
+        PgCopy<T> pgCopy = (PgCopy<T>) tables.get(0).getPgCopy();
+        UpsertMerge<?, T> upsertMerge = (UpsertMerge<?, T>) upsertMerges.get(pgCopy);
+        List<Collection<T>> items = new ArrayList<>(tables.size());
+        tables.forEach(table -> items.add((Collection<T>) table.getItems()));
+
+        if (upsertMerge != null) {
+            return new ConcurrentPgCopy.Table<>(pgCopy, upsertMerge.merge(items));
+        }
+
+        List<T> merged = new ArrayList<>();
+        items.forEach(merged::addAll);
+        return new ConcurrentPgCopy.Table<>(pgCopy, merged);
+    }
+
+    private void writeBatch(Batch batch) {
         Connection connection = null;
+        CompletableFuture<Void> concurrentCopy = null;
+        boolean success = false;
 
         try {
-            // batch save action may run asynchronously, triggering it before other operations can reduce latency
-            eventPublisher.publishEvent(new EntityBatchSaveEvent(this));
-
             connection = DataSourceUtils.getConnection(dataSource);
             Stopwatch stopwatch = Stopwatch.createStarted();
 
-            // insert only operations
-            assessedCustomFeePgCopy.copy(assessedCustomFees, connection);
-            contractResultPgCopy.copy(contractResults, connection);
-            cryptoTransferPgCopy.copy(cryptoTransfers, connection);
-            customFeePgCopy.copy(customFees, connection);
-            fileDataPgCopy.copy(fileData, connection);
-            liveHashPgCopy.copy(liveHashes, connection);
-            topicMessagePgCopy.copy(topicMessages, connection);
-            transactionPgCopy.copy(transactions, connection);
-            transactionSignaturePgCopy.copy(transactionSignatures, connection);
-
-            // insert operations with conflict management
-            entityPgCopy.copy(entities.values(), connection);
-            tokenPgCopy.copy(tokens.values(), connection);
-            tokenAccountPgCopy.copy(tokenAccounts.values(), connection);
-            nftPgCopy.copy(nfts.values(), connection); // persist nft after token entity
-            schedulePgCopy.copy(schedules.values(), connection);
-
-            // transfers operations should be last to ensure insert logic completeness, entities should already exist
-            nonFeeTransferPgCopy.copy(nonFeeTransfers, connection);
-            nftTransferPgCopy.copy(nftTransfers, connection);
-            tokenTransferPgCopy.copy(tokenTransfers, connection);
-
+            if (concurrentPgCopy != null) {
+                concurrentCopy = concurrentPgCopy.copy(batch.getInsertOnlyTables())
+                        .whenComplete((v, e) -> concurrentBatchMetric.record(stopwatch.elapsed()));
+            } else {
+                for (ConcurrentPgCopy.Table<?> table : batch.getInsertOnlyTables()) {
+                    table.copy(connection);
+                }
+            }
+
+            for (ConcurrentPgCopy.Table<?> table : batch.getSequentialTables()) {
+                if (persistedEntityCache != null && table.getPgCopy() == entityPgCopy) {
+                    // filter when writing, since earlier batches may still be pending with the async writer
+                    entityPgCopy.copy(persistedEntityCache.filter(entities(table)), connection);
+                } else {
+                    table.copy(connection);
+                }
+            }
+            sequentialBatchMetric.record(stopwatch.elapsed());
+
+            if (concurrentCopy != null) {
+                concurrentCopy.join();
+            }
+
+            totalBatchMetric.record(stopwatch.elapsed());
             log.info("Completed batch inserts in {}", stopwatch);
+            success = true;
         } catch (ParserException e) {
             throw e;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof ParserException ? (ParserException) e.getCause() :
+                    new ParserException(e.getCause());
         } catch (Exception e) {
             throw new ParserException(e);
         } finally {
-            cleanup();
+            if (concurrentCopy != null) {
+                // the items can only be cleared once the concurrent copies are done with them
+                concurrentCopy.exceptionally(e -> null).join();
+                concurrentPgCopy.complete(success);
+            }
+
             DataSourceUtils.releaseConnection(connection, dataSource);
         }
     }
 
+    /**
+     * Publishes the save event of a batch written by the async writer, within the transaction that wrote it. The other
+     * listeners have moved on to later record files by then, so the event carries the topic messages of the batch.
+     */
+    @SuppressWarnings("unchecked")
+    private void publishSave(Batch batch) {
+        Collection<TopicMessage> messages = batch.getInsertOnlyTables().stream()
+                .filter(table -> table.getPgCopy() == topicMessagePgCopy)
+                .map(table -> (Collection<TopicMessage>) table.getItems())
+                .findFirst()
+                .orElseGet(List::of);
+        eventPublisher.publishEvent(new EntityBatchSaveEvent(this, messages));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<Entity> entities(ConcurrentPgCopy.Table<?> table) {
+        return (Collection<Entity>) table.getItems();
+    }
+
     @Override
     public void onAssessedCustomFee(AssessedCustomFee assessedCustomFee) throws ImporterException {
         assessedCustomFees.add(assessedCustomFee);
@@ -288,6 +645,15 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     @Override
     public void onCryptoTransfer(CryptoTransfer cryptoTransfer) throws ImporterException {
         cryptoTransfers.add(cryptoTransfer);
+
+        if (!commonParserProperties.isCurrentBalances()) {
+            return;
+        }
+
+        CryptoTransfer.Id id = cryptoTransfer.getId();
+        long accountId = id.getEntityId().getId();
+        currentBalances.merge(accountId, new CurrentBalance(accountId, id.getAmount(), id.getConsensusTimestamp()),
+                this::mergeCurrentBalance);
     }
 
     @Override
@@ -352,6 +718,15 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     @Override
     public void onTokenTransfer(TokenTransfer tokenTransfer) throws ImporterException {
         tokenTransfers.add(tokenTransfer);
+
+        if (!commonParserProperties.isCurrentBalances()) {
+            return;
+        }
+
+        TokenTransfer.Id id = tokenTransfer.getId();
+        var balanceId = new CurrentTokenBalance.Id(id.getAccountId().getId(), id.getTokenId().getId());
+        currentTokenBalances.merge(balanceId, new CurrentTokenBalance(balanceId, tokenTransfer.getAmount(),
+                id.getConsensusTimestamp()), this::mergeCurrentTokenBalance);
     }
 
     @Override
@@ -371,4 +746,45 @@ public class SqlEntityListener extends AbstractEntityListener implements RecordS
     public void onTransactionSignature(TransactionSignature transactionSignature) throws ImporterException {
         transactionSignatures.add(transactionSignature);
     }
+
+    private CurrentBalance mergeCurrentBalance(CurrentBalance current, CurrentBalance change) {
+        current.setBalance(current.getBalance() + change.getBalance());
+        current.setConsensusTimestamp(Math.max(current.getConsensusTimestamp(), change.getConsensusTimestamp()));
+        return current;
+    }
+
+    private CurrentTokenBalance mergeCurrentTokenBalance(CurrentTokenBalance current, CurrentTokenBalance change) {
+        current.setBalance(current.getBalance() + change.getBalance());
+        current.setConsensusTimestamp(Math.max(current.getConsensusTimestamp(), change.getConsensusTimestamp()));
+        return current;
+    }
+
+    @Value
+    private static class Batch {
+        private final List<ConcurrentPgCopy.Table<?>> insertOnlyTables;
+        private final List<ConcurrentPgCopy.Table<?>> sequentialTables;
+
+        long getRows() {
+            long rows = 0;
+            for (ConcurrentPgCopy.Table<?> table : insertOnlyTables) {
+                rows += table.getItems().size();
+            }
+            for (ConcurrentPgCopy.Table<?> table : sequentialTables) {
+                rows += table.getItems().size();
+            }
+            return rows;
+        }
+    }
+
+    @Value
+    private static class UpsertMerge<K, T> {
+        private final Function<T, K> key;
+        private final BinaryOperator<T> merger;
+
+        Collection<T> merge(List<Collection<T>> items) {
+            Map<K, T> merged = new HashMap<>();
+            items.forEach(batch -> batch.forEach(item -> merged.merge(key.apply(item), item, merger)));
+            return merged.values();
+        }
+    }
 }
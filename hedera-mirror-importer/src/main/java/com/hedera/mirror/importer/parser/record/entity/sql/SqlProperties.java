@@ -20,9 +20,14 @@ package com.hedera.mirror.importer.parser.record.entity.sql;
  * ‍
  */
 
+import java.time.Duration;
+import java.util.Set;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
 
 import com.hedera.mirror.importer.parser.record.entity.ConditionOnEntityRecordParser;
 
@@ -31,8 +36,57 @@ import com.hedera.mirror.importer.parser.record.entity.ConditionOnEntityRecordPa
 @ConfigurationProperties("hedera.mirror.importer.parser.record.entity.sql")
 public class SqlProperties {
 
+    @NotNull
+    private AsyncWriterProperties asyncWriter = new AsyncWriterProperties();
+
     @Min(1)
     private int batchSize = 20_000;
 
+    @NotNull
+    private Set<String> binaryCopyTables = Set.of();
+
+    @NotNull
+    private ConcurrentCopyProperties concurrentCopy = new ConcurrentCopyProperties();
+
     private boolean enabled = true;
+
+    @NotNull
+    private EntityCacheProperties entityCache = new EntityCacheProperties();
+
+    @NotNull
+    private Set<String> stagedMergeTables = Set.of();
+
+    @Data
+    @Validated
+    public static class AsyncWriterProperties {
+
+        private boolean enabled = false;
+
+        @Min(1)
+        private int queueDepth = 1;
+    }
+
+    @Data
+    @Validated
+    public static class EntityCacheProperties {
+
+        private boolean enabled = false;
+
+        @DurationMin(seconds = 1L)
+        @NotNull
+        private Duration expireAfterAccess = Duration.ofHours(1L);
+
+        @Min(1)
+        private long maxSize = 100_000L;
+    }
+
+    @Data
+    @Validated
+    public static class ConcurrentCopyProperties {
+
+        @Min(1)
+        private int connections = 2;
+
+        private boolean enabled = false;
+    }
 }
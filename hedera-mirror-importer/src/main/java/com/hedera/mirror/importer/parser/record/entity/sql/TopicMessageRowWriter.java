@@ -0,0 +1,57 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+import com.hedera.mirror.importer.domain.TopicMessage;
+import com.hedera.mirror.importer.parser.BinaryCopyOutputStream;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+
+public class TopicMessageRowWriter implements BinaryRowWriter<TopicMessage> {
+
+    public static final TopicMessageRowWriter INSTANCE = new TopicMessageRowWriter();
+
+    private static final List<String> COLUMNS = List.of("chunk_num", "chunk_total", "consensus_timestamp", "message",
+            "payer_account_id", "realm_num", "running_hash", "running_hash_version", "sequence_number", "topic_num",
+            "valid_start_timestamp");
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void write(TopicMessage topicMessage, BinaryCopyOutputStream outputStream) throws IOException {
+        outputStream.writeInteger(topicMessage.getChunkNum());
+        outputStream.writeInteger(topicMessage.getChunkTotal());
+        outputStream.writeBigint(topicMessage.getConsensusTimestamp());
+        outputStream.writeBytea(topicMessage.getMessage());
+        outputStream.writeEntityId(topicMessage.getPayerAccountId());
+        outputStream.writeSmallint(topicMessage.getRealmNum());
+        outputStream.writeBytea(topicMessage.getRunningHash());
+        outputStream.writeSmallint(topicMessage.getRunningHashVersion());
+        outputStream.writeBigint(topicMessage.getSequenceNumber());
+        outputStream.writeInteger(topicMessage.getTopicNum());
+        outputStream.writeBigint(topicMessage.getValidStartTimestamp());
+    }
+}
@@ -0,0 +1,61 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.io.IOException;
+import java.util.List;
+
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.parser.BinaryCopyOutputStream;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+
+public class TransactionRowWriter implements BinaryRowWriter<Transaction> {
+
+    public static final TransactionRowWriter INSTANCE = new TransactionRowWriter();
+
+    private static final List<String> COLUMNS = List.of("charged_tx_fee", "consensus_ns", "entity_id",
+            "initial_balance", "max_fee", "memo", "node_account_id", "payer_account_id", "result", "scheduled",
+            "transaction_bytes", "transaction_hash", "type", "valid_duration_seconds", "valid_start_ns");
+
+    @Override
+    public List<String> getColumns() {
+        return COLUMNS;
+    }
+
+    @Override
+    public void write(Transaction transaction, BinaryCopyOutputStream outputStream) throws IOException {
+        outputStream.writeBigint(transaction.getChargedTxFee());
+        outputStream.writeBigint(transaction.getConsensusNs());
+        outputStream.writeEntityId(transaction.getEntityId());
+        outputStream.writeBigint(transaction.getInitialBalance());
+        outputStream.writeBigint(transaction.getMaxFee());
+        outputStream.writeBytea(transaction.getMemo());
+        outputStream.writeEntityId(transaction.getNodeAccountId());
+        outputStream.writeEntityId(transaction.getPayerAccountId());
+        outputStream.writeSmallint(transaction.getResult());
+        outputStream.writeBoolean(transaction.isScheduled());
+        outputStream.writeBytea(transaction.getTransactionBytes());
+        outputStream.writeBytea(transaction.getTransactionHash());
+        outputStream.writeSmallint(transaction.getType());
+        outputStream.writeBigint(transaction.getValidDurationSeconds());
+        outputStream.writeBigint(transaction.getValidStartNs());
+    }
+}
@@ -24,10 +24,12 @@ import com.hederahashgraph.api.proto.java.NftTransfer;
 import com.hederahashgraph.api.proto.java.TokenTransferList;
 import com.hederahashgraph.api.proto.java.TokenUpdateTransactionBody;
 import javax.inject.Named;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.hedera.mirror.importer.domain.Entity;
 import com.hedera.mirror.importer.domain.EntityId;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFlushEvent;
 import com.hedera.mirror.importer.repository.NftRepository;
 import com.hedera.mirror.importer.util.Utility;
 
@@ -35,10 +37,12 @@ import com.hedera.mirror.importer.util.Utility;
 public class TokenUpdateTransactionHandler extends AbstractEntityCrudTransactionHandler {
 
     static final long WILDCARD_SERIAL_NUMBER = -1;
+    private final ApplicationEventPublisher eventPublisher;
     private final NftRepository nftRepository;
 
-    public TokenUpdateTransactionHandler(NftRepository nftRepository) {
+    public TokenUpdateTransactionHandler(ApplicationEventPublisher eventPublisher, NftRepository nftRepository) {
         super(EntityOperationEnum.UPDATE);
+        this.eventPublisher = eventPublisher;
         this.nftRepository = nftRepository;
     }
 
@@ -82,6 +86,8 @@ public class TokenUpdateTransactionHandler extends AbstractEntityCrudTransaction
                     EntityId previousTreasury = EntityId.of(nftTransfer.getSenderAccountID());
                     EntityId tokenId = EntityId.of(tokenTransferList.getToken());
 
+                    // the nfts being updated may belong to record files that are still pending to be written
+                    eventPublisher.publishEvent(new EntityBatchFlushEvent(this));
                     nftRepository.updateTreasury(tokenId.getId(), previousTreasury.getId(), newTreasury.getId(),
                             recordItem.getConsensusTimestamp());
                 }
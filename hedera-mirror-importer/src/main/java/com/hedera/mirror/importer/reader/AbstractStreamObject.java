@@ -42,4 +42,9 @@ public abstract class AbstractStreamObject {
             throw new InvalidStreamFileException(e);
         }
     }
+
+    protected AbstractStreamObject(ValidatedByteBuffer buffer) {
+        classId = buffer.readLong();
+        classVersion = buffer.readInt();
+    }
 }
@@ -21,6 +21,7 @@ package com.hedera.mirror.importer.reader;
  */
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 
@@ -50,6 +51,16 @@ public class HashObject extends AbstractStreamObject {
         this(dis, null, digestAlgorithm);
     }
 
+    public HashObject(ValidatedByteBuffer buffer, DigestAlgorithm digestAlgorithm) {
+        super(buffer);
+
+        digestType = buffer.readInt(digestAlgorithm.getType(), "hash digest type");
+        int hashLength = digestAlgorithm.getSize();
+        ByteBuffer hashBuffer = buffer.readLengthAndBytes(hashLength, hashLength, false, "hash");
+        hash = new byte[hashLength];
+        hashBuffer.get(hash);
+    }
+
     protected HashObject(long classId, int classVersion, int digestType, byte[] hash) {
         super(classId, classVersion);
         this.digestType = digestType;
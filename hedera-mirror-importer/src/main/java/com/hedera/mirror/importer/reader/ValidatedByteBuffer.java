@@ -0,0 +1,193 @@
+package com.hedera.mirror.importer.reader;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+import com.hedera.mirror.importer.exception.InvalidStreamFileException;
+
+/**
+ * The {@link ByteBuffer} counterpart of {@link ValidatedDataInputStream} that reads and validates big-endian values
+ * directly from an in-memory buffer. Variable length fields are returned as slices sharing the underlying buffer, and
+ * any range already read can be sliced again to be digested, so a file can be parsed and hashed without copying it.
+ */
+public class ValidatedByteBuffer {
+
+    private static final String NOT_EQUAL_ERROR_MESSAGE = "Unable to read %s: Expected %s but got %s";
+    private static final String NOT_IN_RANGE_ERROR_MESSAGE = "Unable to read %s: " +
+            "Expected value between %d and %d but got %d";
+    private static final String UNDERFLOW_ERROR_MESSAGE = "Unable to read %s: Expected %d bytes but only %d remain";
+    private static final int SIMPLE_SUM = 101;
+
+    private final ByteBuffer buffer;
+    private final String resourceName;
+
+    /**
+     * Creates a ValidatedByteBuffer that reads from the position to the limit of the specified {@link ByteBuffer}. The
+     * buffer should be backed by an accessible array for slices to be read and digested without copying.
+     *
+     * @param buffer       the specified buffer
+     * @param resourceName the name of the resource {@code buffer} is created from
+     */
+    public ValidatedByteBuffer(ByteBuffer buffer, String resourceName) {
+        this.buffer = buffer.slice();
+        this.resourceName = resourceName;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Returns a view of the bytes between two positions of this buffer without advancing it.
+     *
+     * @param start the inclusive start position
+     * @param end   the exclusive end position
+     * @return the slice
+     */
+    public ByteBuffer slice(int start, int end) {
+        return buffer.duplicate().position(start).limit(end).slice();
+    }
+
+    public byte readByte() {
+        ensureRemaining(Byte.BYTES, null, "byte");
+        return buffer.get();
+    }
+
+    public byte readByte(byte expected, String fieldName) {
+        return readByte(expected, null, fieldName);
+    }
+
+    public byte readByte(byte expected, String sectionName, String fieldName) {
+        ensureRemaining(Byte.BYTES, sectionName, fieldName);
+        return validate(expected, buffer.get(), sectionName, fieldName);
+    }
+
+    public int readInt() {
+        ensureRemaining(Integer.BYTES, null, "int");
+        return buffer.getInt();
+    }
+
+    public int readInt(int expected, String fieldName) {
+        return readInt(expected, null, fieldName);
+    }
+
+    public int readInt(int expected, String sectionName, String fieldName) {
+        ensureRemaining(Integer.BYTES, sectionName, fieldName);
+        return validate(expected, buffer.getInt(), sectionName, fieldName);
+    }
+
+    public long readLong() {
+        ensureRemaining(Long.BYTES, null, "long");
+        return buffer.getLong();
+    }
+
+    /**
+     * Reads the next long without advancing the buffer.
+     *
+     * @return the next long
+     */
+    public long peekLong() {
+        ensureRemaining(Long.BYTES, null, "long");
+        return buffer.getLong(buffer.position());
+    }
+
+    public ByteBuffer readLengthAndBytes(int minLength, int maxLength, boolean hasChecksum, String type) {
+        return readLengthAndBytes(minLength, maxLength, hasChecksum, null, type);
+    }
+
+    public ByteBuffer readLengthAndBytes(int minLength, int maxLength, boolean hasChecksum, String sectionName,
+                                         String type) {
+        String typeLength = type + " length";
+
+        ensureRemaining(Integer.BYTES, sectionName, typeLength);
+        int length = buffer.getInt();
+        if (minLength == maxLength) {
+            validate(minLength, length, sectionName, typeLength);
+        } else {
+            validateBetween(minLength, maxLength, length, sectionName, typeLength);
+        }
+
+        if (hasChecksum) {
+            ensureRemaining(Integer.BYTES, sectionName, "checksum");
+            validate(SIMPLE_SUM - length, buffer.getInt(), sectionName, "checksum");
+        }
+
+        return readNBytes(length, sectionName, "actual " + typeLength);
+    }
+
+    public ByteBuffer readNBytes(int expectedLength, String fieldName) {
+        return readNBytes(expectedLength, null, fieldName);
+    }
+
+    public ByteBuffer readNBytes(int expectedLength, String sectionName, String fieldName) {
+        ensureRemaining(expectedLength, sectionName, fieldName);
+        int start = buffer.position();
+        buffer.position(start + expectedLength);
+        return slice(start, start + expectedLength);
+    }
+
+    private void ensureRemaining(int length, String sectionName, String fieldName) {
+        if (buffer.remaining() < length) {
+            throw new InvalidStreamFileException(String.format(UNDERFLOW_ERROR_MESSAGE,
+                    getFullFieldName(sectionName, fieldName), length, buffer.remaining()));
+        }
+    }
+
+    private <T> T validate(T expected, T actual, String sectionName, String fieldName) {
+        if (!Objects.equals(expected, actual)) {
+            throw new InvalidStreamFileException(
+                    String.format(NOT_EQUAL_ERROR_MESSAGE, getFullFieldName(sectionName, fieldName),
+                            expected, actual));
+        }
+
+        return actual;
+    }
+
+    private void validateBetween(int minimumExpected, int maximumExpected, int actual, String sectionName,
+                                 String fieldName) {
+        if (actual < minimumExpected || actual > maximumExpected) {
+            throw new InvalidStreamFileException(
+                    String.format(NOT_IN_RANGE_ERROR_MESSAGE, getFullFieldName(sectionName, fieldName),
+                            minimumExpected, maximumExpected, actual));
+        }
+    }
+
+    private String getFullFieldName(String sectionName, String fieldName) {
+        List<String> parts = Arrays.asList(resourceName, "field", sectionName, fieldName).stream()
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toList());
+        if (parts.size() == 1) {
+            return "";
+        }
+
+        return StringUtils.join(parts, ' ');
+    }
+}
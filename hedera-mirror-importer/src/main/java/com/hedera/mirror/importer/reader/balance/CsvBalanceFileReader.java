@@ -26,16 +26,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.publisher.Flux;
 
@@ -85,44 +81,58 @@ public abstract class CsvBalanceFileReader implements BalanceFileReader {
 
     @Override
     public AccountBalanceFile read(StreamFileData streamFileData) {
-        MessageDigest messageDigest = DigestUtils.getSha384Digest();
-        int bufferSize = balanceParserProperties.getFileBufferSize();
-
-        try (InputStream inputStream = new DigestInputStream(streamFileData.getInputStream(), messageDigest);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, CHARSET), bufferSize)) {
+        try (InputStream inputStream = streamFileData.getInputStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, CHARSET), BUFFER_SIZE)) {
             long consensusTimestamp = parseConsensusTimestamp(reader);
-            AtomicLong count = new AtomicLong(0L);
-            List<AccountBalance> items = new ArrayList<>();
 
             AccountBalanceFile accountBalanceFile = new AccountBalanceFile();
             accountBalanceFile.setBytes(streamFileData.getBytes());
             accountBalanceFile.setConsensusTimestamp(consensusTimestamp);
+            accountBalanceFile.setFileHash(DigestUtils.sha384Hex(streamFileData.getInputStream()));
+            accountBalanceFile.setItems(toFlux(streamFileData, accountBalanceFile));
             accountBalanceFile.setLoadStart(Instant.now().getEpochSecond());
             accountBalanceFile.setName(streamFileData.getFilename());
-
-            reader.lines()
-                    .map(line -> {
-                        try {
-                            AccountBalance accountBalance = parser.parse(line, consensusTimestamp);
-                            count.incrementAndGet();
-                            return accountBalance;
-                        } catch (InvalidDatasetException ex) {
-                            log.error(ex);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .forEachOrdered(items::add);
-
-            accountBalanceFile.setCount(count.get());
-            accountBalanceFile.setFileHash(Utility.bytesToHex(messageDigest.digest()));
-            accountBalanceFile.setItems(Flux.fromIterable(items));
             return accountBalanceFile;
         } catch (IOException ex) {
             throw new InvalidDatasetException("Error reading account balance file", ex);
         }
     }
 
+    /**
+     * Streams the lines after the header, parsing them in parallel batches. The count of the file is set once all of
+     * its lines have been consumed.
+     */
+    private Flux<AccountBalance> toFlux(StreamFileData streamFileData, AccountBalanceFile accountBalanceFile) {
+        long consensusTimestamp = accountBalanceFile.getConsensusTimestamp();
+        int bufferSize = balanceParserProperties.getFileBufferSize();
+
+        return Flux.defer(() -> {
+            AtomicLong count = new AtomicLong(0L);
+            Flux<String> lines = Flux.using(
+                    () -> new BufferedReader(new InputStreamReader(streamFileData.getInputStream(), CHARSET),
+                            bufferSize),
+                    reader -> {
+                        parseConsensusTimestamp(reader); // skip the header
+                        return Flux.fromStream(reader.lines());
+                    },
+                    IOUtils::closeQuietly);
+
+            return ParallelBalanceParser.parse(lines, line -> parse(line, consensusTimestamp),
+                            balanceParserProperties.getParallelism())
+                    .doOnNext(accountBalance -> count.incrementAndGet())
+                    .doOnComplete(() -> accountBalanceFile.setCount(count.get()));
+        });
+    }
+
+    private AccountBalance parse(String line, long consensusTimestamp) {
+        try {
+            return parser.parse(line, consensusTimestamp);
+        } catch (InvalidDatasetException ex) {
+            log.error(ex);
+            return null;
+        }
+    }
+
     protected abstract long parseConsensusTimestamp(BufferedReader reader);
 
     protected long convertTimestamp(String timestamp) {
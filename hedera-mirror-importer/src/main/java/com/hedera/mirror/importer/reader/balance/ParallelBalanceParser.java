@@ -0,0 +1,82 @@
+package com.hedera.mirror.importer.reader.balance;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.hedera.mirror.importer.domain.AccountBalance;
+
+/**
+ * Parses the raw entries of a balance file in batches on a dedicated bounded scheduler while still emitting the account
+ * balances in their original order. Only a bounded number of batches are read ahead of the consumer, so the memory used
+ * doesn't depend on the size of the file.
+ */
+final class ParallelBalanceParser {
+
+    static final int PARSE_BATCH_SIZE = 1000;
+
+    private static final Scheduler PARSE_SCHEDULER = Schedulers.newBoundedElastic(
+            Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE, "balance-parser", 60, true);
+
+    private ParallelBalanceParser() {
+    }
+
+    /**
+     * @param entries     the raw lines or protobuf messages of the file
+     * @param parser      parses an entry, returning null if it should be skipped
+     * @param parallelism the maximum number of batches of entries to parse concurrently
+     * @return the lazily parsed account balances
+     */
+    static <E> Flux<AccountBalance> parse(Flux<E> entries, Function<E, AccountBalance> parser, int parallelism) {
+        if (parallelism <= 1) {
+            return entries.handle((entry, sink) -> {
+                AccountBalance accountBalance = parser.apply(entry);
+                if (accountBalance != null) {
+                    sink.next(accountBalance);
+                }
+            });
+        }
+
+        return entries.buffer(PARSE_BATCH_SIZE)
+                .flatMapSequential(batch -> Mono.fromCallable(() -> parseBatch(batch, parser))
+                        .subscribeOn(PARSE_SCHEDULER), parallelism, 1)
+                .flatMapIterable(Function.identity());
+    }
+
+    private static <E> List<AccountBalance> parseBatch(List<E> batch, Function<E, AccountBalance> parser) {
+        List<AccountBalance> accountBalances = new ArrayList<>(batch.size());
+
+        for (E entry : batch) {
+            AccountBalance accountBalance = parser.apply(entry);
+            if (accountBalance != null) {
+                accountBalances.add(accountBalance);
+            }
+        }
+
+        return accountBalances;
+    }
+}
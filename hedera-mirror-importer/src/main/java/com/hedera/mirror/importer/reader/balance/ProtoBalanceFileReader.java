@@ -20,8 +20,10 @@ package com.hedera.mirror.importer.reader.balance;
  * ‍
  */
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.UnknownFieldSet;
 import com.hederahashgraph.api.proto.java.Timestamp;
 import java.io.IOException;
@@ -31,6 +33,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.inject.Named;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
@@ -44,11 +47,13 @@ import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.domain.TokenBalance;
 import com.hedera.mirror.importer.exception.InvalidStreamFileException;
 import com.hedera.mirror.importer.exception.StreamFileReaderException;
+import com.hedera.mirror.importer.parser.balance.BalanceParserProperties;
 import com.hedera.mirror.importer.util.Utility;
 import com.hedera.services.stream.proto.SingleAccountBalances;
 
 @Log4j2
 @Named
+@RequiredArgsConstructor
 public class ProtoBalanceFileReader implements BalanceFileReader {
 
     private static final String FILE_EXTENSION = "pb";
@@ -56,6 +61,8 @@ public class ProtoBalanceFileReader implements BalanceFileReader {
     private static final int TAG_TIMESTAMP = 10;
     private static final int TAG_BALANCE = 18;
 
+    private final BalanceParserProperties balanceParserProperties;
+
     @Override
     public boolean supports(StreamFileData streamFileData) {
         return FILE_EXTENSION.equals(streamFileData.getStreamFilename().getExtension().getName());
@@ -83,6 +90,9 @@ public class ProtoBalanceFileReader implements BalanceFileReader {
         }
     }
 
+    /**
+     * Reads the raw bytes of each SingleAccountBalances message sequentially and parses them in parallel batches.
+     */
     private Flux<AccountBalance> toFlux(StreamFileData streamFileData) {
         return Flux.defer(() -> {
             InputStream inputStream = streamFileData.getInputStream();
@@ -91,7 +101,7 @@ public class ProtoBalanceFileReader implements BalanceFileReader {
             AtomicLong consensusTimestamp = new AtomicLong(0L);
             UnknownFieldSet.Builder unknownFieldSet = UnknownFieldSet.newBuilder();
 
-            return Flux.<AccountBalance>generate(sink -> {
+            Flux<ByteString> balances = Flux.<ByteString>generate(sink -> {
                 try {
                     boolean done = false;
                     while (!done) {
@@ -106,8 +116,7 @@ public class ProtoBalanceFileReader implements BalanceFileReader {
                                 break;
                             case TAG_BALANCE:
                                 Assert.state(consensusTimestamp.get() > 0, "Missing consensus timestamp)");
-                                var ab = input.readMessage(SingleAccountBalances.parser(), extensionRegistry);
-                                sink.next(toAccountBalance(consensusTimestamp.get(), ab));
+                                sink.next(input.readBytes());
                                 return;
                             default:
                                 log.warn("Unsupported tag: {}", tag);
@@ -123,9 +132,20 @@ public class ProtoBalanceFileReader implements BalanceFileReader {
                     sink.error(new InvalidStreamFileException(e));
                 }
             }).doFinally(s -> IOUtils.closeQuietly(inputStream));
+
+            return ParallelBalanceParser.parse(balances, bytes -> toAccountBalance(consensusTimestamp.get(), bytes),
+                    balanceParserProperties.getParallelism());
         });
     }
 
+    private AccountBalance toAccountBalance(long consensusTimestamp, ByteString bytes) {
+        try {
+            return toAccountBalance(consensusTimestamp, SingleAccountBalances.parseFrom(bytes));
+        } catch (InvalidProtocolBufferException e) {
+            throw new StreamFileReaderException(e);
+        }
+    }
+
     private AccountBalance toAccountBalance(long consensusTimestamp, SingleAccountBalances balances) {
         EntityId accountId = EntityId.of(balances.getAccountID());
         List<TokenBalance> tokenBalances = balances.getTokenUnitBalancesList().stream()
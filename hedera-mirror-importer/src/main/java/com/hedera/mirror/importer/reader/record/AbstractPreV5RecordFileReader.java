@@ -20,19 +20,13 @@ package com.hedera.mirror.importer.reader.record;
  * ‍
  */
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.security.DigestInputStream;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.codec.binary.Hex;
-import reactor.core.publisher.Flux;
 
 import com.hedera.mirror.importer.domain.DigestAlgorithm;
 import com.hedera.mirror.importer.domain.RecordFile;
@@ -40,7 +34,8 @@ import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.exception.ImporterException;
 import com.hedera.mirror.importer.exception.StreamFileReaderException;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
-import com.hedera.mirror.importer.reader.ValidatedDataInputStream;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.reader.ValidatedByteBuffer;
 
 @RequiredArgsConstructor
 public abstract class AbstractPreV5RecordFileReader implements RecordFileReader {
@@ -49,22 +44,23 @@ public abstract class AbstractPreV5RecordFileReader implements RecordFileReader
     protected static final byte PREV_HASH_MARKER = 1;
     protected static final byte RECORD_MARKER = 2;
 
+    private final RecordParserProperties recordParserProperties;
     private final int readerVersion;
 
     @Override
     public RecordFile read(@NonNull StreamFileData streamFileData) {
         String filename = streamFileData.getFilename();
 
-        try (RecordFileDigest digest = getRecordFileDigest(streamFileData.getInputStream());
-             ValidatedDataInputStream vdis = new ValidatedDataInputStream(digest.getDigestInputStream(), filename)) {
+        try {
+            ValidatedByteBuffer buffer = new ValidatedByteBuffer(streamFileData.getByteBuffer(), filename);
             RecordFile recordFile = new RecordFile();
             recordFile.setBytes(streamFileData.getBytes());
             recordFile.setLoadStart(Instant.now().getEpochSecond());
             recordFile.setName(filename);
             recordFile.setDigestAlgorithm(DIGEST_ALGORITHM);
 
-            readHeader(vdis, recordFile);
-            readBody(vdis, digest, recordFile);
+            readHeader(buffer, recordFile);
+            readBody(buffer, recordFile);
 
             return recordFile;
         } catch (ImporterException e) {
@@ -74,116 +70,93 @@ public abstract class AbstractPreV5RecordFileReader implements RecordFileReader
         }
     }
 
-    protected abstract RecordFileDigest getRecordFileDigest(InputStream is);
+    protected abstract RecordFileDigest getRecordFileDigest();
 
     /**
-     * Reads the record file header, updates the message digest with data from the header, and sets corresponding {@link
-     * RecordFile} fields. {@code vdis} should point at the beginning of the stream. The header should contain file
-     * version, HAPI version, and the previous file hash.
+     * Reads the record file header and sets corresponding {@link RecordFile} fields. {@code buffer} should point at the
+     * beginning of the file. The header should contain file version, HAPI version, and the previous file hash.
      *
-     * @param vdis       the {@link ValidatedDataInputStream} of the record file
+     * @param buffer     the {@link ValidatedByteBuffer} of the record file
      * @param recordFile the {@link RecordFile} object
-     * @throws IOException
      */
-    private void readHeader(ValidatedDataInputStream vdis, RecordFile recordFile) throws IOException {
-        int version = vdis.readInt(readerVersion, "record file version");
-        vdis.readInt(); // HAPI version, not used
-        vdis.readByte(PREV_HASH_MARKER, "previous hash marker");
-        byte[] prevHash = vdis.readNBytes(DIGEST_ALGORITHM.getSize(), "previous hash");
+    private void readHeader(ValidatedByteBuffer buffer, RecordFile recordFile) {
+        int version = buffer.readInt(readerVersion, "record file version");
+        buffer.readInt(); // HAPI version, not used
+        buffer.readByte(PREV_HASH_MARKER, "previous hash marker");
+        byte[] prevHash = new byte[DIGEST_ALGORITHM.getSize()];
+        buffer.readNBytes(prevHash.length, "previous hash").get(prevHash);
 
         recordFile.setVersion(version);
         recordFile.setPreviousHash(Hex.encodeHexString(prevHash));
     }
 
     /**
-     * Reads the record file body, updates the message digest with data from the body, and sets corresponding {@link
-     * RecordFile} fields. {@code vdis} should point at the beginning of the body. The body should contain a variable
-     * number of transaction and record pairs ordered by consensus timestamp. The body may also contain metadata to mark
-     * the boundary of the pairs.
+     * Reads the record file body, computes the file hash over slices of the header and the body, and sets
+     * corresponding {@link RecordFile} fields. {@code buffer} should point at the beginning of the body. The body should
+     * contain a variable number of transaction and record pairs ordered by consensus timestamp. The body may also
+     * contain metadata to mark the boundary of the pairs. The pairs are only parsed into {@link RecordItem}s when the
+     * items are consumed.
      *
-     * @param vdis       the {@link ValidatedDataInputStream} of the record file
-     * @param digest     the {@link RecordFileDigest} to update the digest with
+     * @param buffer     the {@link ValidatedByteBuffer} of the record file
      * @param recordFile the {@link RecordFile} object
-     * @throws IOException
      */
-    private void readBody(ValidatedDataInputStream vdis, RecordFileDigest digest, RecordFile recordFile) throws IOException {
-        long count = 0;
-        long consensusStart = 0;
-        long consensusEnd = 0;
-        digest.startBody();
-        List<RecordItem> items = new ArrayList<>();
-
-        while (vdis.available() != 0) {
-            vdis.readByte(RECORD_MARKER, "record marker");
-            byte[] transactionBytes = vdis.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false, "transaction bytes");
-            byte[] recordBytes = vdis.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false, "record bytes");
-            RecordItem recordItem = new RecordItem(transactionBytes, recordBytes);
-            items.add(recordItem);
-
-            if (count == 0) {
-                consensusStart = recordItem.getConsensusTimestamp();
-            }
-
-            if (vdis.available() == 0) {
-                consensusEnd = recordItem.getConsensusTimestamp();
-            }
-
-            count++;
+    private void readBody(ValidatedByteBuffer buffer, RecordFile recordFile) {
+        int bodyStart = buffer.position();
+        RecordItemBytes recordItemBytes = new RecordItemBytes();
+
+        while (buffer.remaining() != 0) {
+            buffer.readByte(RECORD_MARKER, "record marker");
+            ByteBuffer transactionBytes = buffer.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false,
+                    "transaction bytes");
+            ByteBuffer recordBytes = buffer.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false, "record bytes");
+            recordItemBytes.add(transactionBytes, recordBytes);
         }
 
-        String fileHash = Hex.encodeHexString(digest.digest());
+        ByteBuffer header = buffer.slice(0, bodyStart);
+        ByteBuffer body = buffer.slice(bodyStart, buffer.position());
+        String fileHash = Hex.encodeHexString(getRecordFileDigest().digest(header, body));
 
-        recordFile.setConsensusStart(consensusStart);
-        recordFile.setConsensusEnd(consensusEnd);
-        recordFile.setCount(count);
+        recordFile.setConsensusStart(recordItemBytes.getConsensusStart());
+        recordFile.setConsensusEnd(recordItemBytes.getConsensusEnd());
+        recordFile.setCount(recordItemBytes.getCount());
         recordFile.setFileHash(fileHash);
         recordFile.setHash(fileHash);
-        recordFile.setItems(Flux.fromIterable(items));
+        recordFile.setItems(recordItemBytes.toFlux(recordParserProperties.getParallelism()));
     }
 
-    protected static class RecordFileDigest implements AutoCloseable {
+    protected static class RecordFileDigest {
 
-        @Getter
-        private final DigestInputStream digestInputStream;
+        private final boolean simple;
 
-        private final MessageDigest messageDigestFile;
-
-        private final MessageDigest messageDigestBody;
-
-        public RecordFileDigest(InputStream is, boolean simple) {
-            try {
-                messageDigestFile = MessageDigest.getInstance(DIGEST_ALGORITHM.getName());
-                digestInputStream = new DigestInputStream(is, messageDigestFile);
-
-                if (simple) {
-                    messageDigestBody = null;
-                } else {
-                    // calculate the hash of the body separately, and the file hash is calculated as
-                    // h(header | h(body))
-                    messageDigestBody = MessageDigest.getInstance(DIGEST_ALGORITHM.getName());
-                }
-            } catch (NoSuchAlgorithmException e) {
-                throw new StreamFileReaderException("Unable to instantiate RecordFileDigest", e);
-            }
+        /**
+         * @param simple whether the file hash is calculated over the whole file, otherwise the hash of the body is
+         *               calculated separately and the file hash is calculated as h(header | h(body))
+         */
+        public RecordFileDigest(boolean simple) {
+            this.simple = simple;
         }
 
-        public byte[] digest() {
-            if (messageDigestBody != null) {
+        public byte[] digest(ByteBuffer header, ByteBuffer body) {
+            MessageDigest messageDigestFile = createMessageDigest();
+            messageDigestFile.update(header);
+
+            if (simple) {
+                messageDigestFile.update(body);
+            } else {
+                MessageDigest messageDigestBody = createMessageDigest();
+                messageDigestBody.update(body);
                 messageDigestFile.update(messageDigestBody.digest());
             }
 
             return messageDigestFile.digest();
         }
 
-        public void startBody() {
-            if (messageDigestBody != null) {
-                digestInputStream.setMessageDigest(messageDigestBody);
+        private MessageDigest createMessageDigest() {
+            try {
+                return MessageDigest.getInstance(DIGEST_ALGORITHM.getName());
+            } catch (NoSuchAlgorithmException e) {
+                throw new StreamFileReaderException("Unable to instantiate RecordFileDigest", e);
             }
         }
-
-        @Override
-        public void close() throws IOException {
-            digestInputStream.close();
-        }
     }
 }
@@ -20,18 +20,19 @@ package com.hedera.mirror.importer.reader.record;
  * ‍
  */
 
-import java.io.InputStream;
 import javax.inject.Named;
 
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
 @Named
 public class RecordFileReaderImplV1 extends AbstractPreV5RecordFileReader {
 
-    public RecordFileReaderImplV1() {
-        super(1);
+    public RecordFileReaderImplV1(RecordParserProperties recordParserProperties) {
+        super(recordParserProperties, 1);
     }
 
     @Override
-    protected RecordFileDigest getRecordFileDigest(final InputStream is) {
-        return new RecordFileDigest(is, true);
+    protected RecordFileDigest getRecordFileDigest() {
+        return new RecordFileDigest(true);
     }
 }
@@ -20,18 +20,19 @@ package com.hedera.mirror.importer.reader.record;
  * ‍
  */
 
-import java.io.InputStream;
 import javax.inject.Named;
 
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
 @Named
 public class RecordFileReaderImplV2 extends AbstractPreV5RecordFileReader {
 
-    public RecordFileReaderImplV2() {
-        super(2);
+    public RecordFileReaderImplV2(RecordParserProperties recordParserProperties) {
+        super(recordParserProperties, 2);
     }
 
     @Override
-    protected RecordFileDigest getRecordFileDigest(InputStream is) {
-        return new RecordFileDigest(is, false);
+    protected RecordFileDigest getRecordFileDigest() {
+        return new RecordFileDigest(false);
     }
 }
@@ -20,124 +20,110 @@ package com.hedera.mirror.importer.reader.record;
  * ‍
  */
 
-import com.google.common.primitives.Longs;
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
-import java.io.IOException;
-import java.security.DigestInputStream;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import javax.inject.Named;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.codec.binary.Hex;
-import reactor.core.publisher.Flux;
 
 import com.hedera.mirror.importer.domain.DigestAlgorithm;
 import com.hedera.mirror.importer.domain.RecordFile;
 import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.exception.InvalidStreamFileException;
 import com.hedera.mirror.importer.exception.StreamFileReaderException;
-import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
 import com.hedera.mirror.importer.reader.AbstractStreamObject;
 import com.hedera.mirror.importer.reader.HashObject;
-import com.hedera.mirror.importer.reader.ValidatedDataInputStream;
+import com.hedera.mirror.importer.reader.ValidatedByteBuffer;
 
 @Named
+@RequiredArgsConstructor
 public class RecordFileReaderImplV5 implements RecordFileReader {
 
     private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA384;
     private static final int VERSION = 5;
 
+    private final RecordParserProperties recordParserProperties;
+
     @Override
     public RecordFile read(StreamFileData streamFileData) {
-        MessageDigest messageDigestFile = createMessageDigest(DIGEST_ALGORITHM);
-        MessageDigest messageDigestMetadata = createMessageDigest(DIGEST_ALGORITHM);
         String filename = streamFileData.getFilename();
+        ValidatedByteBuffer buffer = new ValidatedByteBuffer(streamFileData.getByteBuffer(), filename);
 
-        // the first DigestInputStream is for file hash and the second is for metadata hash. Any BufferedInputStream
-        // should not wrap, directly or indirectly, the second DigestInputStream. The BufferedInputStream after the
-        // first DigestInputStream is needed to avoid digesting some class ID fields twice.
-        try (DigestInputStream digestInputStream = new DigestInputStream(
-                new BufferedInputStream(new DigestInputStream(streamFileData.getInputStream(), messageDigestFile)),
-                messageDigestMetadata);
-             ValidatedDataInputStream vdis = new ValidatedDataInputStream(digestInputStream, filename)) {
-            RecordFile recordFile = new RecordFile();
-            recordFile.setBytes(streamFileData.getBytes());
-            recordFile.setDigestAlgorithm(DIGEST_ALGORITHM);
-            recordFile.setLoadStart(Instant.now().getEpochSecond());
-            recordFile.setName(filename);
-
-            readHeader(vdis, recordFile);
-            readBody(vdis, digestInputStream, recordFile);
-
-            recordFile.setFileHash(Hex.encodeHexString(messageDigestFile.digest()));
-            recordFile.setMetadataHash(Hex.encodeHexString(messageDigestMetadata.digest()));
-
-            return recordFile;
-        } catch (IOException e) {
-            throw new StreamFileReaderException("Error reading record file " + filename, e);
-        }
+        RecordFile recordFile = new RecordFile();
+        recordFile.setBytes(streamFileData.getBytes());
+        recordFile.setDigestAlgorithm(DIGEST_ALGORITHM);
+        recordFile.setLoadStart(Instant.now().getEpochSecond());
+        recordFile.setName(filename);
+
+        readHeader(buffer, recordFile);
+        readBody(buffer, recordFile);
+
+        return recordFile;
     }
 
-    private void readHeader(ValidatedDataInputStream vdis, RecordFile recordFile) throws IOException {
-        vdis.readInt(VERSION, "record file version");
-        recordFile.setHapiVersionMajor(vdis.readInt());
-        recordFile.setHapiVersionMinor(vdis.readInt());
-        recordFile.setHapiVersionPatch(vdis.readInt());
+    private void readHeader(ValidatedByteBuffer buffer, RecordFile recordFile) {
+        buffer.readInt(VERSION, "record file version");
+        recordFile.setHapiVersionMajor(buffer.readInt());
+        recordFile.setHapiVersionMinor(buffer.readInt());
+        recordFile.setHapiVersionPatch(buffer.readInt());
         recordFile.setVersion(VERSION);
     }
 
-    private void readBody(ValidatedDataInputStream vdis, DigestInputStream metadataDigestInputStream,
-                          RecordFile recordFile) throws IOException {
+    /**
+     * Reads the record file body and computes the file hash and the metadata hash over slices of the buffer once the
+     * whole file is validated. The metadata hash covers everything but the record stream objects, i.e. the header and
+     * the start object running hash up to {@code metadataEnd} and the end object running hash from {@code
+     * endHashStart}.
+     */
+    private void readBody(ValidatedByteBuffer buffer, RecordFile recordFile) {
         String filename = recordFile.getName();
 
-        vdis.readInt(); // object stream version
+        buffer.readInt(); // object stream version
 
         // start object running hash
-        HashObject startHashObject = new HashObject(vdis, DIGEST_ALGORITHM);
-        metadataDigestInputStream.on(false); // metadata hash is not calculated on record stream objects
+        HashObject startHashObject = new HashObject(buffer, DIGEST_ALGORITHM);
+        int metadataEnd = buffer.position();
         long hashObjectClassId = startHashObject.getClassId();
 
-        long count = 0;
-        long consensusStart = 0;
-        RecordStreamObject lastRecordStreamObject = null;
-        List<RecordItem> items = new ArrayList<>();
-
-        // read record stream objects
-        while (!isHashObject(vdis, hashObjectClassId)) {
-            RecordStreamObject recordStreamObject = new RecordStreamObject(vdis);
-            items.add(recordStreamObject.getRecordItem());
-
-            if (count == 0) {
-                consensusStart = recordStreamObject.getRecordItem().getConsensusTimestamp();
-            }
+        RecordItemBytes recordItemBytes = new RecordItemBytes();
 
-            lastRecordStreamObject = recordStreamObject;
-            count++;
+        // read record stream objects, deferring the parsing of the items until they are consumed
+        while (buffer.peekLong() != hashObjectClassId) {
+            RecordStreamObject recordStreamObject = new RecordStreamObject(buffer);
+            recordItemBytes.add(recordStreamObject.getTransactionBytes(), recordStreamObject.getRecordBytes());
         }
 
-        if (count == 0) {
+        if (recordItemBytes.getCount() == 0) {
             throw new InvalidStreamFileException("No record stream objects in record file " + filename);
         }
-        long consensusEnd = lastRecordStreamObject.getRecordItem().getConsensusTimestamp();
 
-        // end object running hash, metadata hash is calculated on it
-        metadataDigestInputStream.on(true);
-        HashObject endHashObject = new HashObject(vdis, DIGEST_ALGORITHM);
+        // end object running hash
+        int endHashStart = buffer.position();
+        HashObject endHashObject = new HashObject(buffer, DIGEST_ALGORITHM);
 
-        if (vdis.available() != 0) {
+        if (buffer.remaining() != 0) {
             throw new InvalidStreamFileException("Extra data discovered in record file " + filename);
         }
 
-        recordFile.setCount(count);
-        recordFile.setConsensusEnd(consensusEnd);
-        recordFile.setConsensusStart(consensusStart);
+        MessageDigest messageDigestFile = createMessageDigest(DIGEST_ALGORITHM);
+        messageDigestFile.update(buffer.slice(0, buffer.position()));
+
+        MessageDigest messageDigestMetadata = createMessageDigest(DIGEST_ALGORITHM);
+        messageDigestMetadata.update(buffer.slice(0, metadataEnd));
+        messageDigestMetadata.update(buffer.slice(endHashStart, buffer.position()));
+
+        recordFile.setCount(recordItemBytes.getCount());
+        recordFile.setConsensusEnd(recordItemBytes.getConsensusEnd());
+        recordFile.setConsensusStart(recordItemBytes.getConsensusStart());
+        recordFile.setFileHash(Hex.encodeHexString(messageDigestFile.digest()));
         recordFile.setHash(Hex.encodeHexString(endHashObject.getHash()));
-        recordFile.setItems(Flux.fromIterable(items));
+        recordFile.setItems(recordItemBytes.toFlux(recordParserProperties.getParallelism()));
+        recordFile.setMetadataHash(Hex.encodeHexString(messageDigestMetadata.digest()));
         recordFile.setPreviousHash(Hex.encodeHexString(startHashObject.getHash()));
     }
 
@@ -149,45 +135,20 @@ public class RecordFileReaderImplV5 implements RecordFileReader {
         }
     }
 
-    private boolean isHashObject(DataInputStream dis, long hashObjectClassId) throws IOException {
-        dis.mark(Longs.BYTES);
-        long classId = dis.readLong();
-        dis.reset();
-
-        return classId == hashObjectClassId;
-    }
-
     @EqualsAndHashCode(callSuper = true)
     @Getter
     private static class RecordStreamObject extends AbstractStreamObject {
 
         private static final int MAX_RECORD_LENGTH = 64 * 1024;
 
-        private final byte[] recordBytes;
-        private final byte[] transactionBytes;
-        private RecordItem recordItem;
-
-        RecordStreamObject(ValidatedDataInputStream vdis) {
-            super(vdis);
-
-            try {
-                recordBytes = vdis.readLengthAndBytes(1, MAX_RECORD_LENGTH, false, "record bytes");
-                transactionBytes = vdis.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false, "transaction bytes");
-            } catch (IOException e) {
-                throw new InvalidStreamFileException(e);
-            }
-        }
-
-        RecordItem getRecordItem() {
-            if (recordBytes == null || transactionBytes == null) {
-                return null;
-            }
+        private final ByteBuffer recordBytes;
+        private final ByteBuffer transactionBytes;
 
-            if (recordItem == null) {
-                recordItem = new RecordItem(transactionBytes, recordBytes);
-            }
+        RecordStreamObject(ValidatedByteBuffer buffer) {
+            super(buffer);
 
-            return recordItem;
+            recordBytes = buffer.readLengthAndBytes(1, MAX_RECORD_LENGTH, false, "record bytes");
+            transactionBytes = buffer.readLengthAndBytes(1, MAX_TRANSACTION_LENGTH, false, "transaction bytes");
         }
     }
 }
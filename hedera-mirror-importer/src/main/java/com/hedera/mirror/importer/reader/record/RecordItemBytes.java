@@ -0,0 +1,130 @@
+package com.hedera.mirror.importer.reader.record;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.hedera.mirror.importer.parser.domain.RecordItem;
+
+/**
+ * Collects views of the raw transaction and record bytes of a record file while it's being read and hashed, deferring
+ * the protobuf parsing of each {@link RecordItem} until the items are consumed. Only the first and the last items are
+ * parsed eagerly since their consensus timestamps are needed for the record file metadata.
+ */
+class RecordItemBytes {
+
+    static final int DECODE_BATCH_SIZE = 32;
+
+    // Dedicated to decoding so it doesn't compete with other users of the shared parallel scheduler. Idle threads are
+    // evicted, so nothing is kept around when parallelism is disabled.
+    private static final Scheduler DECODE_SCHEDULER = Schedulers.newBoundedElastic(
+            Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE, "record-item-decoder", 60, true);
+
+    private final List<ByteBuffer> recordBytesList = new ArrayList<>();
+    private final List<ByteBuffer> transactionBytesList = new ArrayList<>();
+    private RecordItem first;
+    private RecordItem last;
+
+    void add(ByteBuffer transactionBytes, ByteBuffer recordBytes) {
+        transactionBytesList.add(transactionBytes);
+        recordBytesList.add(recordBytes);
+
+        if (first == null) {
+            first = new RecordItem(transactionBytes, recordBytes);
+        }
+    }
+
+    long getCount() {
+        return transactionBytesList.size();
+    }
+
+    long getConsensusStart() {
+        return first != null ? first.getConsensusTimestamp() : 0L;
+    }
+
+    long getConsensusEnd() {
+        RecordItem recordItem = getLast();
+        return recordItem != null ? recordItem.getConsensusTimestamp() : 0L;
+    }
+
+    /**
+     * Returns a {@link Flux} that parses each item on demand. When {@code parallelism} is greater than one, batches of
+     * items are parsed concurrently on a dedicated bounded scheduler while still being emitted in their original consensus
+     * order. The bytes are owned by the returned flux, so this instance should no longer be modified once it's called.
+     *
+     * @param parallelism the maximum number of batches of items to parse concurrently
+     * @return the lazily parsed record items
+     */
+    Flux<RecordItem> toFlux(int parallelism) {
+        int count = transactionBytesList.size();
+        getLast();
+
+        if (parallelism <= 1 || count <= DECODE_BATCH_SIZE) {
+            return Flux.range(0, count).map(index -> decode(index));
+        }
+
+        int batches = (count + DECODE_BATCH_SIZE - 1) / DECODE_BATCH_SIZE;
+        return Flux.range(0, batches)
+                .flatMapSequential(batch -> Mono.fromCallable(() -> {
+                    int start = batch * DECODE_BATCH_SIZE;
+                    int end = Math.min(start + DECODE_BATCH_SIZE, count);
+                    List<RecordItem> recordItems = new ArrayList<>(end - start);
+
+                    for (int index = start; index < end; index++) {
+                        recordItems.add(decode(index));
+                    }
+
+                    return recordItems;
+                }).subscribeOn(DECODE_SCHEDULER), parallelism, 1)
+                .flatMapIterable(Function.identity());
+    }
+
+    private RecordItem decode(int index) {
+        if (index == 0) {
+            return first;
+        } else if (index == transactionBytesList.size() - 1) {
+            return last;
+        }
+
+        return new RecordItem(transactionBytesList.get(index), recordBytesList.get(index));
+    }
+
+    private RecordItem getLast() {
+        int count = transactionBytesList.size();
+
+        if (count <= 1) {
+            return first;
+        }
+
+        if (last == null) {
+            last = new RecordItem(transactionBytesList.get(count - 1), recordBytesList.get(count - 1));
+        }
+
+        return last;
+    }
+}
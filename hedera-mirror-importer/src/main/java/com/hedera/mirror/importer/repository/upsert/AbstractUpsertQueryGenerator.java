@@ -64,6 +64,9 @@ public abstract class AbstractUpsertQueryGenerator<T> implements UpsertQueryGene
     @Getter(lazy = true)
     private final String insertQuery = generateInsertQuery();
 
+    @Getter(lazy = true)
+    private final String stagedMergeQuery = generateStagedMergeQuery();
+
     @Getter(lazy = true)
     private final String updateQuery = generateUpdateQuery();
 
@@ -75,12 +78,25 @@ public abstract class AbstractUpsertQueryGenerator<T> implements UpsertQueryGene
 
     protected abstract String getUpdateWhereClause();
 
+    @Override
+    public String getCreateStagingTableQuery() {
+        // unlike the temp table it outlives the transaction, so it only has to be created once per connection. It's
+        // truncated on commit since temporary tables are never vacuumed
+        return String.format("create temporary table if not exists %s on commit delete rows as table %s limit 0",
+                getStagingTableName(), getFinalTableName());
+    }
+
     @Override
     public String getCreateTempTableQuery() {
         return String.format("create temporary table if not exists %s on commit drop as table %s limit 0",
                 getTemporaryTableName(), getFinalTableName());
     }
 
+    @Override
+    public String getStagingTableName() {
+        return getFinalTableName() + "_staging";
+    }
+
     protected String getAttributeSelectQuery(String attributeName) {
         return null;
     }
@@ -137,6 +153,15 @@ public abstract class AbstractUpsertQueryGenerator<T> implements UpsertQueryGene
         return updateQueryBuilder.toString();
     }
 
+    private String generateStagedMergeQuery() {
+        // drain the staging table into a CTE named after the temp table so the insert and update queries apply as is.
+        // All parts of the statement share a snapshot, so the update only sees rows that existed before it and the
+        // insert skips those on conflict
+        return String.format("with %s as (delete from %s returning *), %s_updated as (%s) %s",
+                getTemporaryTableName(), getStagingTableName(), getFinalTableName(), getUpdateQuery(),
+                getInsertQuery());
+    }
+
     private boolean isNullableColumn(String columnName) {
         return getNullableColumns() != null && getNullableColumns().contains(columnName);
     }
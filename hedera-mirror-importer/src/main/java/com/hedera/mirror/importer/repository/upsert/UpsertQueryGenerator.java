@@ -21,12 +21,18 @@ package com.hedera.mirror.importer.repository.upsert;
  */
 
 public interface UpsertQueryGenerator {
+    String getCreateStagingTableQuery();
+
     String getCreateTempTableQuery();
 
     String getFinalTableName();
 
     String getInsertQuery();
 
+    String getStagedMergeQuery();
+
+    String getStagingTableName();
+
     String getTemporaryTableName();
 
     String getUpdateQuery();
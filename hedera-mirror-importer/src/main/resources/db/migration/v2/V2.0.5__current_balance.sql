@@ -0,0 +1,22 @@
+-------------------
+-- Add the current hbar and token balances, updated from the transfers of each record file and reconciled against each
+-- balance file
+-------------------
+
+create table if not exists current_balance
+(
+    account_id          bigint primary key,
+    balance             bigint not null,
+    consensus_timestamp bigint not null
+);
+comment on table current_balance is 'Current account balances in tinybars';
+
+create table if not exists current_token_balance
+(
+    account_id          bigint not null,
+    token_id            bigint not null,
+    balance             bigint not null,
+    consensus_timestamp bigint not null,
+    primary key (account_id, token_id)
+);
+comment on table current_token_balance is 'Current account token balances';
@@ -0,0 +1,10 @@
+-------------------
+-- Record the prepared transactions of connections enlisted in the importer's transactions, so that the ones left
+-- behind by a crash between the two phases of the commit can be completed according to the importer's transaction
+-------------------
+
+create table if not exists two_phase_commit
+(
+    gid varchar(200) primary key
+);
+comment on table two_phase_commit is 'Prepared transactions whose importer transaction committed';
@@ -6,6 +6,8 @@ TRUNCATE TABLE address_book_entry RESTART IDENTITY CASCADE;
 TRUNCATE TABLE address_book_service_endpoint RESTART IDENTITY CASCADE;
 TRUNCATE TABLE contract_result RESTART IDENTITY CASCADE;
 TRUNCATE TABLE crypto_transfer RESTART IDENTITY CASCADE;
+TRUNCATE TABLE current_balance RESTART IDENTITY CASCADE;
+TRUNCATE TABLE current_token_balance RESTART IDENTITY CASCADE;
 TRUNCATE TABLE custom_fee RESTART IDENTITY CASCADE;
 TRUNCATE TABLE entity RESTART IDENTITY CASCADE;
 TRUNCATE TABLE file_data RESTART IDENTITY CASCADE;
@@ -22,3 +24,4 @@ TRUNCATE TABLE token_transfer RESTART IDENTITY CASCADE;
 TRUNCATE TABLE topic_message RESTART IDENTITY CASCADE;
 TRUNCATE TABLE transaction RESTART IDENTITY CASCADE;
 TRUNCATE TABLE transaction_signature RESTART IDENTITY CASCADE;
+TRUNCATE TABLE two_phase_commit RESTART IDENTITY CASCADE;
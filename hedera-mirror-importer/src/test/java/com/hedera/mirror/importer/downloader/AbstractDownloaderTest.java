@@ -273,6 +273,71 @@ public abstract class AbstractDownloaderTest {
         assertThat(downloaderProperties.getStreamPath()).doesNotExist();
     }
 
+    @Test
+    @DisplayName("Download and verify files with pipeline")
+    void pipeline() throws Exception {
+        commonDownloaderProperties.getPipeline().setEnabled(true);
+        fileCopier.copy();
+        expectLastStreamFile(Instant.EPOCH);
+        downloader.download();
+
+        verifyForSuccess();
+        assertThat(downloaderProperties.getStreamPath()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Pipeline lists the next batch while verifying the current batch")
+    void pipelineNextBatch() throws Exception {
+        commonDownloaderProperties.getPipeline().setEnabled(true);
+        downloaderProperties.setBatchSize(1);
+        fileCopier.copy();
+        expectLastStreamFile(Instant.EPOCH);
+
+        downloader.download();
+        verifyStreamFiles(List.of(file1));
+
+        downloader.download();
+        verifyForSuccess();
+    }
+
+    @Test
+    @DisplayName("Download and verify files with pipeline batch verification")
+    void pipelineBatchVerification() throws Exception {
+        commonDownloaderProperties.getPipeline().setEnabled(true);
+        commonDownloaderProperties.getPipeline().setBatchVerification(true);
+        commonDownloaderProperties.getPipeline().setWindowSize(1);
+        fileCopier.copy();
+        expectLastStreamFile(Instant.EPOCH);
+        downloader.download();
+
+        verifyForSuccess();
+    }
+
+    @Test
+    @DisplayName("Pipeline signature verification fails")
+    void pipelineSignatureMismatch() throws Exception {
+        commonDownloaderProperties.getPipeline().setEnabled(true);
+        fileCopier.copy();
+        Files.walk(s3Path).filter(this::isSigFile).forEach(AbstractDownloaderTest::corruptFile);
+        expectLastStreamFile(Instant.EPOCH);
+        downloader.download();
+        verifyUnsuccessful();
+    }
+
+    @ParameterizedTest(name = "pipeline with node {0} stream file corrupted")
+    @MethodSource("provideAllNodeAccountIds")
+    void pipelineSingleNodeStreamFileCorrupted(EntityId nodeAccountId) throws Exception {
+        commonDownloaderProperties.getPipeline().setEnabled(true);
+        corruptedNodeAccountId = nodeAccountId;
+        fileCopier.copy();
+        Files.walk(s3Path).filter(Predicate.not(this::isSigFile))
+                .filter(p -> p.toString().contains(nodeAccountId.entityIdToString()))
+                .forEach(AbstractDownloaderTest::corruptFile);
+        expectLastStreamFile(Instant.EPOCH);
+        downloader.download();
+        verifyForSuccess();
+    }
+
     @Test
     @DisplayName("Non-unanimous consensus reached")
     void partialConsensus() throws Exception {
@@ -0,0 +1,200 @@
+package com.hedera.mirror.importer.downloader;
+
+/*
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import com.hedera.mirror.importer.downloader.archive.SegmentArchiver;
+
+class LocalStorageClientTest {
+
+    private static final String BUCKET = "bucket";
+    private static final String PREFIX = "recordstreams/record0.0.3/";
+
+    @TempDir
+    Path root;
+
+    private LocalStorageClient localStorageClient;
+
+    @BeforeEach
+    void setup() throws IOException {
+        localStorageClient = new LocalStorageClient(root);
+        Files.createDirectories(root.resolve(PREFIX));
+        Files.createDirectories(root.resolve("recordstreams/record0.0.4"));
+    }
+
+    @Test
+    void listObjects() throws Exception {
+        write("2021-01-01T00_00_00Z.rcd_sig", "a");
+        write("2021-01-01T00_00_02Z.rcd_sig", "b");
+        write("2021-01-01T00_00_04Z.rcd_sig", "c");
+        Files.createDirectories(root.resolve(PREFIX + "sidecar"));
+        Files.writeString(root.resolve("recordstreams/record0.0.4/2021-01-01T00_00_01Z.rcd_sig"), "d");
+
+        assertThat(list(PREFIX + "2021-01-01T00_00_00Z.rcd_sig", 10))
+                .containsExactly(PREFIX + "2021-01-01T00_00_02Z.rcd_sig", PREFIX + "2021-01-01T00_00_04Z.rcd_sig");
+        assertThat(list(PREFIX, 10)).hasSize(3);
+        assertThat(list(PREFIX + "2021-01-01T00_00_04Z.rcd_sig", 10)).isEmpty();
+    }
+
+    @Test
+    void listObjectsMaxKeys() throws Exception {
+        write("2021-01-01T00_00_00Z.rcd_sig", "a");
+        write("2021-01-01T00_00_02Z.rcd_sig", "b");
+        write("2021-01-01T00_00_04Z.rcd_sig", "c");
+
+        ListObjectsResponse response = localStorageClient.listObjects(request(PREFIX, 2)).get();
+        assertThat(response.contents())
+                .extracting(S3Object::key)
+                .containsExactly(PREFIX + "2021-01-01T00_00_00Z.rcd_sig", PREFIX + "2021-01-01T00_00_02Z.rcd_sig");
+        assertThat(response.isTruncated()).isTrue();
+    }
+
+    @Test
+    void listObjectsNewFiles() throws Exception {
+        Path directory = root.resolve(PREFIX);
+        write("2021-01-01T00_00_00Z.rcd_sig", "a");
+        Files.setLastModifiedTime(directory, FileTime.from(Instant.ofEpochSecond(1)));
+        assertThat(list(PREFIX, 10)).hasSize(1);
+
+        write("2021-01-01T00_00_02Z.rcd_sig", "b");
+        Files.setLastModifiedTime(directory, FileTime.from(Instant.ofEpochSecond(2)));
+        assertThat(list(PREFIX + "2021-01-01T00_00_00Z.rcd_sig", 10))
+                .containsExactly(PREFIX + "2021-01-01T00_00_02Z.rcd_sig");
+    }
+
+    @Test
+    void listObjectsMissingDirectory() throws Exception {
+        assertThat(list("recordstreams/record0.0.5/", 10)).isEmpty();
+    }
+
+    @Test
+    void getObject() throws Exception {
+        Instant lastModified = Instant.ofEpochSecond(1600000000L);
+        Path path = write("2021-01-01T00_00_00Z.rcd", "contents");
+        Files.setLastModifiedTime(path, FileTime.from(lastModified));
+
+        ResponseBytes<GetObjectResponse> responseBytes = get(PREFIX + "2021-01-01T00_00_00Z.rcd");
+        assertThat(responseBytes.asUtf8String()).isEqualTo("contents");
+        assertThat(responseBytes.response().lastModified()).isEqualTo(lastModified);
+        assertThat(responseBytes.response().contentLength()).isEqualTo(8L);
+    }
+
+    @Test
+    void archivedSegments() throws Exception {
+        var archiveProperties = new CommonDownloaderProperties.ArchiveProperties();
+        archiveProperties.setFormat(CommonDownloaderProperties.ArchiveFormat.SEGMENT);
+        SegmentArchiver segmentArchiver = new SegmentArchiver(archiveProperties);
+        Path directory = root.resolve(PREFIX);
+        segmentArchiver.archive("2021-01-01T00_00_00Z.rcd", bytes("a"), directory);
+        segmentArchiver.archive("2021-01-01T00_00_00Z.rcd_sig", bytes("b"), directory);
+        segmentArchiver.archive("2021-01-01T01_00_00Z.rcd", bytes("c"), directory);
+        write("2021-01-01T02_00_00Z.rcd", "d");
+
+        assertThat(list(PREFIX, 10)).containsExactly(
+                PREFIX + "2021-01-01T00_00_00Z.rcd",
+                PREFIX + "2021-01-01T00_00_00Z.rcd_sig",
+                PREFIX + "2021-01-01T01_00_00Z.rcd",
+                PREFIX + "2021-01-01T02_00_00Z.rcd");
+        assertThat(get(PREFIX + "2021-01-01T00_00_00Z.rcd_sig").asUtf8String()).isEqualTo("b");
+        assertThat(get(PREFIX + "2021-01-01T01_00_00Z.rcd").asUtf8String()).isEqualTo("c");
+
+        segmentArchiver.archive("2021-01-01T01_00_02Z.rcd", bytes("e"), directory);
+        assertThat(list(PREFIX + "2021-01-01T01_00_00Z.rcd", 10))
+                .containsExactly(PREFIX + "2021-01-01T01_00_02Z.rcd", PREFIX + "2021-01-01T02_00_00Z.rcd");
+        assertThat(get(PREFIX + "2021-01-01T01_00_02Z.rcd").asUtf8String()).isEqualTo("e");
+    }
+
+    @Test
+    void getObjectEmpty() throws Exception {
+        write("2021-01-01T00_00_00Z.rcd", "");
+        assertThat(get(PREFIX + "2021-01-01T00_00_00Z.rcd").asByteArray()).isEmpty();
+    }
+
+    @Test
+    void getObjectMissing() {
+        assertThatThrownBy(() -> get(PREFIX + "2021-01-01T00_00_00Z.rcd"))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NoSuchKeyException.class);
+    }
+
+    @Test
+    void getObjectOutsideRoot() {
+        assertThatThrownBy(() -> get("../outside"))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ResponseBytes<GetObjectResponse> get(String key) throws Exception {
+        GetObjectRequest request = GetObjectRequest.builder().bucket(BUCKET).key(key).build();
+        return localStorageClient.getObject(request, AsyncResponseTransformer.toBytes()).get();
+    }
+
+    private List<String> list(String marker, int maxKeys) throws Exception {
+        return localStorageClient.listObjects(request(marker, maxKeys))
+                .get()
+                .contents()
+                .stream()
+                .map(S3Object::key)
+                .collect(Collectors.toList());
+    }
+
+    private ListObjectsRequest request(String marker, int maxKeys) {
+        String prefix = marker.substring(0, marker.lastIndexOf('/') + 1);
+        return ListObjectsRequest.builder()
+                .bucket(BUCKET)
+                .prefix(prefix)
+                .delimiter("/")
+                .marker(marker)
+                .maxKeys(maxKeys)
+                .build();
+    }
+
+    private byte[] bytes(String contents) {
+        return contents.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path write(String filename, String contents) throws IOException {
+        return Files.writeString(root.resolve(PREFIX + filename), contents, StandardCharsets.UTF_8);
+    }
+}
@@ -32,6 +32,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -83,6 +84,7 @@ class NodeSignatureVerifierTest {
 
     @BeforeEach
     void setup() throws GeneralSecurityException {
+        when(commonDownloaderProperties.getSignatureVerificationThreads()).thenReturn(2);
         nodeSignatureVerifier = new NodeSignatureVerifier(
                 addressBookService,
                 commonDownloaderProperties,
@@ -278,6 +280,74 @@ class NodeSignatureVerifierTest {
                 .verify(Arrays.asList(fileStreamSignatureNode3, fileStreamSignatureNode4, fileStreamSignatureNode5));
     }
 
+    @Test
+    void testVerifiedWithConsensusReachedEarly() throws GeneralSecurityException {
+        Map<String, PublicKey> nodeAccountIDPubKeyMap = new HashMap();
+        List<FileStreamSignature> fileStreamSignatures = new ArrayList<>();
+        byte[] fileHash = TestUtils.generateRandomByteArray(48);
+        byte[] fileHashSignature = signHash(fileHash);
+
+        for (long nodeNum = 3L; nodeNum < 13L; nodeNum++) {
+            EntityId nodeAccountId = new EntityId(0L, 0L, nodeNum, EntityTypeEnum.ACCOUNT.getId());
+            nodeAccountIDPubKeyMap.put(nodeAccountId.entityIdToString(), publicKey);
+            FileStreamSignature fileStreamSignature = buildFileStreamSignature(fileHash, fileHashSignature, null,
+                    null);
+            fileStreamSignature.setNodeAccountId(nodeAccountId);
+            fileStreamSignatures.add(fileStreamSignature);
+        }
+        when(currentAddressBook.getNodeAccountIDPubKeyMap()).thenReturn(nodeAccountIDPubKeyMap);
+        when(commonDownloaderProperties.isEarlyConsensus()).thenReturn(true);
+
+        nodeSignatureVerifier.verify(fileStreamSignatures);
+
+        assertTrue(fileStreamSignatures.stream()
+                .allMatch(s -> s.getStatus() == FileStreamSignature.SignatureStatus.CONSENSUS_REACHED));
+    }
+
+    @Test
+    void testVerifiedWithEarlyConsensusDisabled() throws GeneralSecurityException {
+        Map<String, PublicKey> nodeAccountIDPubKeyMap = new HashMap();
+        List<FileStreamSignature> fileStreamSignatures = new ArrayList<>();
+        byte[] fileHash = TestUtils.generateRandomByteArray(48);
+        byte[] fileHashSignature = signHash(fileHash);
+
+        for (long nodeNum = 3L; nodeNum < 13L; nodeNum++) {
+            EntityId nodeAccountId = new EntityId(0L, 0L, nodeNum, EntityTypeEnum.ACCOUNT.getId());
+            nodeAccountIDPubKeyMap.put(nodeAccountId.entityIdToString(), publicKey);
+            FileStreamSignature fileStreamSignature = buildFileStreamSignature(fileHash, fileHashSignature, null,
+                    null);
+            fileStreamSignature.setNodeAccountId(nodeAccountId);
+            fileStreamSignatures.add(fileStreamSignature);
+        }
+        fileStreamSignatures.get(9).setFileHashSignature(corruptSignature(fileHashSignature.clone()));
+        when(currentAddressBook.getNodeAccountIDPubKeyMap()).thenReturn(nodeAccountIDPubKeyMap);
+
+        nodeSignatureVerifier.verify(fileStreamSignatures);
+
+        assertEquals(9, fileStreamSignatures.stream()
+                .filter(s -> s.getStatus() == FileStreamSignature.SignatureStatus.CONSENSUS_REACHED)
+                .count());
+        assertEquals(FileStreamSignature.SignatureStatus.DOWNLOADED, fileStreamSignatures.get(9).getStatus());
+    }
+
+    @Test
+    void testVerifyAfterInvalidSignature() throws GeneralSecurityException {
+        byte[] fileHash = TestUtils.generateRandomByteArray(48);
+        byte[] metadataHash = TestUtils.generateRandomByteArray(48);
+
+        FileStreamSignature invalidSignature = buildFileStreamSignature(fileHash, signHash(fileHash),
+                metadataHash, corruptSignature(signHash(fileHash)));
+        assertThrows(SignatureVerificationException.class, () -> nodeSignatureVerifier
+                .verify(List.of(invalidSignature)));
+
+        for (int i = 0; i < 5; i++) {
+            FileStreamSignature fileStreamSignature = buildFileStreamSignature(fileHash, signHash(fileHash),
+                    metadataHash, signHash(metadataHash));
+            nodeSignatureVerifier.verify(List.of(fileStreamSignature));
+            assertEquals(FileStreamSignature.SignatureStatus.CONSENSUS_REACHED, fileStreamSignature.getStatus());
+        }
+    }
+
     @Test
     void testNoSignatureType() throws GeneralSecurityException {
 
@@ -0,0 +1,107 @@
+package com.hedera.mirror.importer.downloader.archive;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.hedera.mirror.importer.downloader.CommonDownloaderProperties;
+
+class SegmentArchiverTest {
+
+    @TempDir
+    Path directory;
+
+    private CommonDownloaderProperties.ArchiveProperties archiveProperties;
+    private SegmentArchiver segmentArchiver;
+
+    @BeforeEach
+    void setup() {
+        archiveProperties = new CommonDownloaderProperties.ArchiveProperties();
+        archiveProperties.setFormat(CommonDownloaderProperties.ArchiveFormat.SEGMENT);
+        segmentArchiver = new SegmentArchiver(archiveProperties);
+    }
+
+    @Test
+    void archive() throws Exception {
+        segmentArchiver.archive("2021-01-01T00_00_00Z.rcd", bytes("a"), directory);
+        segmentArchiver.archive("2021-01-01T00_00_00Z.rcd_sig", bytes("b"), directory);
+        segmentArchiver.archive("2021-01-01T00_59_58Z.rcd", bytes("c"), directory);
+        segmentArchiver.archive("2021-01-01T01_00_00Z.rcd", bytes("d"), directory);
+
+        assertThat(Files.list(directory).map(p -> p.getFileName().toString()).sorted())
+                .containsExactly("segment_2021-01-01T00_00_00Z.gz", "segment_2021-01-01T00_00_00Z.gz.idx",
+                        "segment_2021-01-01T01_00_00Z.gz", "segment_2021-01-01T01_00_00Z.gz.idx");
+
+        List<SegmentArchiveReader.Entry> entries = SegmentArchiveReader
+                .readIndex(directory.resolve("segment_2021-01-01T00_00_00Z.gz.idx"));
+        assertThat(entries)
+                .extracting(SegmentArchiveReader.Entry::getFilename)
+                .containsExactly("2021-01-01T00_00_00Z.rcd", "2021-01-01T00_00_00Z.rcd_sig",
+                        "2021-01-01T00_59_58Z.rcd");
+        assertThat(SegmentArchiveReader.read(entries.get(1))).isEqualTo(bytes("b"));
+        assertThat(entries.get(1).getOffset()).isEqualTo(entries.get(0).getLength());
+    }
+
+    @Test
+    void archiveSegmentDuration() {
+        archiveProperties.setSegmentDuration(Duration.ofMinutes(10L));
+        segmentArchiver = new SegmentArchiver(archiveProperties);
+        assertThat(segmentArchiver.getSegmentName("2021-01-01T00_19_58.123456Z.rcd"))
+                .isEqualTo("segment_2021-01-01T00_10_00Z.gz");
+    }
+
+    @Test
+    void archiveInvalidFilename() {
+        segmentArchiver.archive("invalid.txt", bytes("a"), directory);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    void archiveAfterInterruptedWrite() throws Exception {
+        segmentArchiver.archive("2021-01-01T00_00_00Z.rcd", bytes("a"), directory);
+        Path segment = directory.resolve("segment_2021-01-01T00_00_00Z.gz");
+        Path index = directory.resolve("segment_2021-01-01T00_00_00Z.gz.idx");
+        Files.write(segment, bytes("partial"), StandardOpenOption.APPEND);
+        Files.write(index, bytes("2021-01-01T00_00_02Z.rcd 2"), StandardOpenOption.APPEND);
+
+        segmentArchiver.archive("2021-01-01T00_00_04Z.rcd", bytes("b"), directory);
+
+        List<SegmentArchiveReader.Entry> entries = SegmentArchiveReader.readIndex(index);
+        assertThat(entries)
+                .extracting(SegmentArchiveReader.Entry::getFilename)
+                .containsExactly("2021-01-01T00_00_00Z.rcd", "2021-01-01T00_00_04Z.rcd");
+        assertThat(SegmentArchiveReader.read(entries.get(1))).isEqualTo(bytes("b"));
+    }
+
+    private byte[] bytes(String contents) {
+        return contents.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -81,7 +81,7 @@ class AccountBalancesDownloaderTest extends AbstractDownloaderTest {
         // for the mixed scenario, both .csv and .pb.gz files exist for the same timestamp; however, all .csv and
         // .csv_sig files are intentionally made empty so if two account balance files are processed, they must be
         // the .pb.gz files
-        ProtoBalanceFileReader protoBalanceFileReader = new ProtoBalanceFileReader();
+        ProtoBalanceFileReader protoBalanceFileReader = new ProtoBalanceFileReader(new BalanceParserProperties());
         downloader = new AccountBalancesDownloader(s3AsyncClient, addressBookService,
                 (BalanceDownloaderProperties) downloaderProperties, meterRegistry, nodeSignatureVerifier,
                 signatureFileReader, protoBalanceFileReader, streamFileNotifier, dateRangeProcessor);
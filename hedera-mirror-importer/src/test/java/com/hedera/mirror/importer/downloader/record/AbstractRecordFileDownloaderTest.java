@@ -28,6 +28,7 @@ import com.hedera.mirror.importer.domain.RecordFile;
 import com.hedera.mirror.importer.downloader.AbstractLinkedStreamDownloaderTest;
 import com.hedera.mirror.importer.downloader.Downloader;
 import com.hedera.mirror.importer.downloader.DownloaderProperties;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
 import com.hedera.mirror.importer.reader.record.CompositeRecordFileReader;
 import com.hedera.mirror.importer.reader.record.RecordFileReader;
 import com.hedera.mirror.importer.reader.record.RecordFileReaderImplV1;
@@ -55,8 +56,10 @@ abstract class AbstractRecordFileDownloaderTest extends AbstractLinkedStreamDown
 
     @Override
     protected Downloader getDownloader() {
-        RecordFileReader recordFileReader = new CompositeRecordFileReader(new RecordFileReaderImplV1(),
-                new RecordFileReaderImplV2(), new RecordFileReaderImplV5());
+        RecordParserProperties recordParserProperties = new RecordParserProperties();
+        RecordFileReader recordFileReader = new CompositeRecordFileReader(
+                new RecordFileReaderImplV1(recordParserProperties), new RecordFileReaderImplV2(recordParserProperties),
+                new RecordFileReaderImplV5(recordParserProperties));
         return new RecordFileDownloader(s3AsyncClient, addressBookService,
                 (RecordDownloaderProperties) downloaderProperties, meterRegistry,
                 nodeSignatureVerifier, signatureFileReader, recordFileReader, streamFileNotifier, dateRangeProcessor);
@@ -0,0 +1,160 @@
+package com.hedera.mirror.importer.parser;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hedera.mirror.importer.IntegrationTest;
+
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class TwoPhaseCommitTest extends IntegrationTest {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private TwoPhaseCommit twoPhaseCommit;
+
+    @BeforeEach
+    void beforeEach() {
+        twoPhaseCommit = new TwoPhaseCommit(dataSource);
+    }
+
+    @Test
+    void supported() {
+        assertThat(twoPhaseCommit.isSupported(1)).isTrue();
+        assertThat(twoPhaseCommit.isSupported(Integer.MAX_VALUE)).isFalse();
+    }
+
+    @Test
+    void commitWithTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            twoPhaseCommit.enlist(insert(1L));
+            assertThat(count()).isZero();
+        });
+
+        assertThat(count()).isOne();
+        assertThat(preparedCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from two_phase_commit", Long.class)).isZero();
+    }
+
+    @Test
+    void commitWithoutTransaction() {
+        twoPhaseCommit.enlist(insert(1L));
+        assertThat(count()).isOne();
+    }
+
+    @Test
+    void rollbackWithTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            twoPhaseCommit.enlist(insert(1L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(count()).isZero();
+        assertThat(preparedCount()).isZero();
+    }
+
+    @Test
+    void recoverCommitted() {
+        crash(true);
+        transactionTemplate.executeWithoutResult(status -> twoPhaseCommit.enlist(insert(2L)));
+
+        assertThat(count()).isEqualTo(2L);
+        assertThat(preparedCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from two_phase_commit", Long.class)).isZero();
+    }
+
+    @Test
+    void recoverRolledBack() {
+        crash(false);
+        transactionTemplate.executeWithoutResult(status -> twoPhaseCommit.enlist(insert(2L)));
+
+        assertThat(count()).isOne();
+        assertThat(preparedCount()).isZero();
+    }
+
+    @Test
+    void recoverOnStartup() {
+        crash(true);
+        new TwoPhaseCommit(dataSource).afterSingletonsInstantiated();
+
+        assertThat(count()).isOne();
+        assertThat(preparedCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from two_phase_commit", Long.class)).isZero();
+    }
+
+    /**
+     * Leaves a prepared transaction behind as if the importer crashed right after the caller's transaction completed.
+     */
+    private void crash(boolean committed) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long transactionId = jdbcTemplate.queryForObject("select txid_current()", Long.class);
+            String gid = "mirror_" + transactionId + "_0";
+
+            try (Connection connection = insert(1L); Statement statement = connection.createStatement()) {
+                statement.execute("prepare transaction '" + gid + "'");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            if (committed) {
+                jdbcTemplate.update("insert into two_phase_commit (gid) values (?)", gid);
+            } else {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private Connection insert(long consensusTimestamp) {
+        try {
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into live_hash (consensus_timestamp, livehash) values (" +
+                        consensusTimestamp + ", '\\x01')");
+            }
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("select count(*) from live_hash", Long.class);
+    }
+
+    private long preparedCount() {
+        return jdbcTemplate.queryForObject("select count(*) from pg_prepared_xacts where database = " +
+                "current_database()", Long.class);
+    }
+}
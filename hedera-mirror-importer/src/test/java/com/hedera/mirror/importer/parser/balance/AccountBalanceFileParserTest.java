@@ -24,25 +24,48 @@ import static com.hedera.mirror.importer.domain.StreamFilename.FileType.DATA;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.primitives.Longs;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.util.List;
 import javax.annotation.Resource;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Flux;
 
 import com.hedera.mirror.importer.IntegrationTest;
 import com.hedera.mirror.importer.domain.AccountBalance;
 import com.hedera.mirror.importer.domain.AccountBalanceFile;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.CurrentBalance;
+import com.hedera.mirror.importer.domain.CurrentTokenBalance;
+import com.hedera.mirror.importer.domain.DigestAlgorithm;
 import com.hedera.mirror.importer.domain.EntityId;
 import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.RecordFile;
 import com.hedera.mirror.importer.domain.StreamFilename;
 import com.hedera.mirror.importer.domain.StreamType;
 import com.hedera.mirror.importer.domain.TokenBalance;
+import com.hedera.mirror.importer.domain.TokenTransfer;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
+import com.hedera.mirror.importer.parser.CurrentBalancePgCopy;
 import com.hedera.mirror.importer.parser.StreamFileParser;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
+import com.hedera.mirror.importer.parser.record.entity.sql.SqlEntityListener;
 import com.hedera.mirror.importer.repository.AccountBalanceFileRepository;
 import com.hedera.mirror.importer.repository.AccountBalanceRepository;
+import com.hedera.mirror.importer.repository.CryptoTransferRepository;
+import com.hedera.mirror.importer.repository.CurrentBalanceRepository;
+import com.hedera.mirror.importer.repository.CurrentTokenBalanceRepository;
+import com.hedera.mirror.importer.repository.RecordFileRepository;
 import com.hedera.mirror.importer.repository.TokenBalanceRepository;
+import com.hedera.mirror.importer.repository.TokenTransferRepository;
 
 class AccountBalanceFileParserTest extends IntegrationTest {
 
@@ -58,12 +81,48 @@ class AccountBalanceFileParserTest extends IntegrationTest {
     @Resource
     private TokenBalanceRepository tokenBalanceRepository;
 
+    @Resource
+    private CryptoTransferRepository cryptoTransferRepository;
+
+    @Resource
+    private CurrentBalanceRepository currentBalanceRepository;
+
+    @Resource
+    private CurrentTokenBalanceRepository currentTokenBalanceRepository;
+
+    @Resource
+    private RecordFileRepository recordFileRepository;
+
+    @Resource
+    private TokenTransferRepository tokenTransferRepository;
+
     @Resource
     private BalanceParserProperties parserProperties;
 
+    @Resource
+    private CommonParserProperties commonParserProperties;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private SqlEntityListener sqlEntityListener;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void setup() {
         parserProperties.setEnabled(true);
+        commonParserProperties.setCurrentBalances(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        commonParserProperties.setCurrentBalances(false);
     }
 
     @Test
@@ -86,6 +145,20 @@ class AccountBalanceFileParserTest extends IntegrationTest {
         assertPostParseAccountBalanceFile(accountBalanceFile, true);
     }
 
+    @Test
+    void rollback() {
+        AccountBalanceFile accountBalanceFile = accountBalanceFile(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            accountBalanceFileParser.parse(accountBalanceFile);
+            status.setRollbackOnly();
+        });
+
+        assertThat(accountBalanceFileRepository.count()).isZero();
+        assertThat(accountBalanceRepository.count()).isZero();
+        assertThat(tokenBalanceRepository.count()).isZero();
+    }
+
     @Test
     void duplicateFile() {
         AccountBalanceFile accountBalanceFile = accountBalanceFile(1);
@@ -110,6 +183,100 @@ class AccountBalanceFileParserTest extends IntegrationTest {
         assertPostParseAccountBalanceFile(accountBalanceFile, true);
     }
 
+    @Test
+    void reconcileCurrentBalances() {
+        EntityId account1 = EntityId.of(0, 0, 1001, EntityTypeEnum.ACCOUNT);
+        EntityId account2 = EntityId.of(0, 0, 1002, EntityTypeEnum.ACCOUNT);
+        EntityId account3 = EntityId.of(0, 0, 1003, EntityTypeEnum.ACCOUNT);
+        EntityId account4 = EntityId.of(0, 0, 1004, EntityTypeEnum.ACCOUNT);
+        EntityId token1 = EntityId.of(0, 0, 2001, EntityTypeEnum.ACCOUNT);
+        EntityId token2 = EntityId.of(0, 0, 2002, EntityTypeEnum.ACCOUNT);
+        recordFileRepository.save(recordFile(3L));
+        cryptoTransferRepository.save(new CryptoTransfer(1L, 50L, account1)); // included in the balance file
+        cryptoTransferRepository.save(new CryptoTransfer(2L, 10L, account1));
+        tokenTransferRepository.save(new TokenTransfer(2L, 5L, token1, account1));
+        currentBalanceRepository.save(new CurrentBalance(account2.getId(), 999L, 1L));
+        currentBalanceRepository.save(new CurrentBalance(account3.getId(), 7L, 2L));
+        currentBalanceRepository.save(new CurrentBalance(account4.getId(), 3L, 1L)); // missing from the balance file
+        currentTokenBalanceRepository.save(new CurrentTokenBalance(new CurrentTokenBalance.Id(account4.getId(),
+                token1.getId()), 4L, 1L));
+
+        accountBalanceFileParser.parse(accountBalanceFile(1));
+
+        assertThat(currentBalanceRepository.findAll()).containsExactlyInAnyOrder(
+                new CurrentBalance(account1.getId(), 11L, 2L),
+                new CurrentBalance(account2.getId(), 2L, 1L),
+                new CurrentBalance(account3.getId(), 7L, 2L));
+        assertThat(currentTokenBalanceRepository.findAll()).containsExactlyInAnyOrder(
+                new CurrentTokenBalance(new CurrentTokenBalance.Id(account1.getId(), token1.getId()), 6L, 2L),
+                new CurrentTokenBalance(new CurrentTokenBalance.Id(account2.getId(), token2.getId()), 2L, 1L));
+    }
+
+    @Test
+    void reconcileCurrentBalancesDisabled() {
+        commonParserProperties.setCurrentBalances(false);
+        recordFileRepository.save(recordFile(3L));
+
+        accountBalanceFileParser.parse(accountBalanceFile(1));
+
+        assertThat(accountBalanceRepository.count()).isEqualTo(2L);
+        assertThat(currentBalanceRepository.count()).isZero();
+        assertThat(currentTokenBalanceRepository.count()).isZero();
+    }
+
+    @Test
+    void reconcileCurrentBalancesWhenRecordFilesBehind() {
+        recordFileRepository.save(recordFile(0L));
+
+        accountBalanceFileParser.parse(accountBalanceFile(1));
+
+        assertThat(accountBalanceRepository.count()).isEqualTo(2L);
+        assertThat(currentBalanceRepository.count()).isZero();
+        assertThat(currentTokenBalanceRepository.count()).isZero();
+    }
+
+    @Test
+    @Timeout(30)
+    void recoverPreparedTransactionOnStartup() {
+        EntityId account1 = EntityId.of(0, 0, 1001, EntityTypeEnum.ACCOUNT);
+        EntityId token1 = EntityId.of(0, 0, 2001, EntityTypeEnum.ACCOUNT);
+
+        // a reconcile that committed but crashed before committing its prepared transaction, which still holds the
+        // token balance lock and row
+        transactionTemplate.executeWithoutResult(status -> {
+            long transactionId = jdbcTemplate.queryForObject("select txid_current()", Long.class);
+            String gid = "mirror_" + transactionId + "_0";
+
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(false);
+                statement.execute("select pg_advisory_xact_lock(" + CurrentBalancePgCopy.CURRENT_TOKEN_BALANCE_LOCK +
+                        ")");
+                statement.execute("insert into current_token_balance values (" + account1.getId() + ", " +
+                        token1.getId() + ", 100, 1)");
+                statement.execute("prepare transaction '" + gid + "'");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+
+            jdbcTemplate.update("insert into two_phase_commit (gid) values (?)", gid);
+        });
+
+        new TwoPhaseCommit(dataSource).afterSingletonsInstantiated();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            sqlEntityListener.onStart();
+            sqlEntityListener.onTokenTransfer(new TokenTransfer(2L, 5L, token1, account1));
+            sqlEntityListener.onEnd(recordFile(3L));
+        });
+        accountBalanceFileParser.parse(accountBalanceFile(1));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pg_prepared_xacts where database = " +
+                "current_database()", Long.class)).isZero();
+        assertThat(currentTokenBalanceRepository.findById(new CurrentTokenBalance.Id(account1.getId(),
+                token1.getId()))).get().extracting(CurrentTokenBalance::getBalance).isEqualTo(6L);
+    }
+
     void assertPostParseAccountBalanceFile(AccountBalanceFile accountBalanceFile, boolean success) {
         if (success) {
             assertThat(accountBalanceFile.getBytes()).isNull();
@@ -161,6 +328,24 @@ class AccountBalanceFileParserTest extends IntegrationTest {
                 .build();
     }
 
+    private RecordFile recordFile(long consensusEnd) {
+        return RecordFile.builder()
+                .consensusStart(consensusEnd)
+                .consensusEnd(consensusEnd)
+                .count(1L)
+                .digestAlgorithm(DigestAlgorithm.SHA384)
+                .fileHash("fileHash" + consensusEnd)
+                .hash("hash" + consensusEnd)
+                .index(consensusEnd)
+                .loadEnd(consensusEnd)
+                .loadStart(consensusEnd)
+                .name(consensusEnd + ".rcd")
+                .nodeAccountId(EntityId.of("0.0.3", EntityTypeEnum.ACCOUNT))
+                .previousHash("previousHash")
+                .version(1)
+                .build();
+    }
+
     private AccountBalance accountBalance(long timestamp, int offset) {
         EntityId accountId = EntityId.of(0, 0, offset + 1000, EntityTypeEnum.ACCOUNT);
         EntityId tokenId = EntityId.of(0, 0, offset + 2000, EntityTypeEnum.ACCOUNT);
@@ -32,6 +32,7 @@ import com.hederahashgraph.api.proto.java.Transaction;
 import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionReceipt;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
+import java.nio.ByteBuffer;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
 import org.junit.jupiter.api.Test;
@@ -97,6 +98,28 @@ class RecordItemTest {
         assertRecordItem(transaction, recordItem);
     }
 
+    @Test
+    void testWithByteBufferSlices() {
+        Transaction transaction = Transaction.newBuilder()
+                .setBody(TRANSACTION_BODY)
+                .setSigMap(SIGNATURE_MAP)
+                .build();
+        byte[] transactionBytes = transaction.toByteArray();
+        byte[] recordBytes = TRANSACTION_RECORD.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(transactionBytes.length + recordBytes.length + 2);
+        buffer.put((byte) 1).put(transactionBytes).put(recordBytes).put((byte) 2);
+
+        ByteBuffer transactionSlice = buffer.duplicate().position(1).limit(1 + transactionBytes.length).slice();
+        ByteBuffer recordSlice = buffer.duplicate().position(1 + transactionBytes.length)
+                .limit(1 + transactionBytes.length + recordBytes.length).slice();
+        RecordItem recordItem = new RecordItem(transactionSlice, recordSlice);
+
+        assertRecordItem(transaction, recordItem);
+        assertThat(recordItem.getTransactionSize()).isEqualTo(transactionBytes.length);
+        assertThat(transactionSlice.position()).isZero();
+        assertThat(recordSlice.position()).isZero();
+    }
+
     @Test
     void testWithBodyProto() {
         //An encoded protobuf Transaction with the body set in TransactionBody, as seen in an older proto version
@@ -22,6 +22,7 @@ package com.hedera.mirror.importer.parser.record;
 
 import static com.hedera.mirror.importer.domain.StreamFilename.FileType.DATA;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
@@ -38,6 +39,7 @@ import com.hederahashgraph.api.proto.java.TransactionBody;
 import com.hederahashgraph.api.proto.java.TransactionRecord;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -55,6 +57,7 @@ import com.hedera.mirror.importer.domain.StreamFilename;
 import com.hedera.mirror.importer.exception.ParserSQLException;
 import com.hedera.mirror.importer.parser.AbstractStreamFileParserTest;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFailedEvent;
 
 class RecordFileParserTest extends AbstractStreamFileParserTest<RecordFileParser> {
 
@@ -141,6 +144,50 @@ class RecordFileParserTest extends AbstractStreamFileParserTest<RecordFileParser
         assertPostParseStreamFile(recordFile, true);
     }
 
+    @Test
+    void backfill() {
+        // given
+        RecordParserProperties backfillProperties = new RecordParserProperties();
+        backfillProperties.getBackfill().setEnabled(true);
+        RecordFileParser backfillParser = new RecordFileParser(new SimpleMeterRegistry(), backfillProperties,
+                streamFileRepository, recordItemListener, recordStreamFileListener, mirrorDateRangePropertiesProcessor);
+        RecordFile existing = (RecordFile) getStreamFile();
+        RecordFile recordFile1 = (RecordFile) getStreamFile();
+        RecordFile recordFile2 = (RecordFile) getStreamFile();
+        when(streamFileRepository.findLatest()).thenReturn(Optional.of(existing));
+
+        // when
+        backfillParser.parse(existing);
+        backfillParser.parse(recordFile1);
+        backfillParser.parse(recordFile2);
+
+        // then
+        verify(recordStreamFileListener, never()).onEnd(existing);
+        verify(recordStreamFileListener).onEnd(recordFile1);
+        verify(recordStreamFileListener).onEnd(recordFile2);
+        verify(streamFileRepository).findLatest();
+        verify(streamFileRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void resumeAfterBatchFailed() {
+        // given
+        RecordFile latest = (RecordFile) getStreamFile();
+        RecordFile failed = (RecordFile) getStreamFile();
+        RecordFile queued = (RecordFile) getStreamFile();
+        failed.setPreviousHash(latest.getHash());
+        when(streamFileRepository.findLatest()).thenReturn(Optional.of(latest));
+
+        // when
+        parser.onBatchFailed(new EntityBatchFailedEvent(this));
+        parser.parse(queued);
+        parser.parse(failed);
+
+        // then
+        verify(recordStreamFileListener, never()).onEnd(queued);
+        verify(recordStreamFileListener).onEnd(failed);
+    }
+
     @ParameterizedTest(name = "endDate with offset {0}ns")
     @CsvSource({"-1", "0", "1"})
     void endDate(long offset) {
@@ -0,0 +1,379 @@
+package com.hedera.mirror.importer.parser.record;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Stopwatch;
+import com.google.protobuf.ByteString;
+import com.hederahashgraph.api.proto.java.AccountAmount;
+import com.hederahashgraph.api.proto.java.AccountID;
+import com.hederahashgraph.api.proto.java.ConsensusSubmitMessageTransactionBody;
+import com.hederahashgraph.api.proto.java.CryptoTransferTransactionBody;
+import com.hederahashgraph.api.proto.java.Duration;
+import com.hederahashgraph.api.proto.java.Key;
+import com.hederahashgraph.api.proto.java.NftTransfer;
+import com.hederahashgraph.api.proto.java.ResponseCodeEnum;
+import com.hederahashgraph.api.proto.java.SignatureMap;
+import com.hederahashgraph.api.proto.java.SignaturePair;
+import com.hederahashgraph.api.proto.java.SignedTransaction;
+import com.hederahashgraph.api.proto.java.Timestamp;
+import com.hederahashgraph.api.proto.java.TokenCreateTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenID;
+import com.hederahashgraph.api.proto.java.TokenMintTransactionBody;
+import com.hederahashgraph.api.proto.java.TokenTransferList;
+import com.hederahashgraph.api.proto.java.TokenType;
+import com.hederahashgraph.api.proto.java.TopicID;
+import com.hederahashgraph.api.proto.java.Transaction;
+import com.hederahashgraph.api.proto.java.TransactionBody;
+import com.hederahashgraph.api.proto.java.TransactionID;
+import com.hederahashgraph.api.proto.java.TransactionReceipt;
+import com.hederahashgraph.api.proto.java.TransactionRecord;
+import com.hederahashgraph.api.proto.java.TransferList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import reactor.core.publisher.Flux;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.DigestAlgorithm;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.RecordFile;
+import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.repository.TransactionRepository;
+
+/**
+ * Measures the throughput of parsing synthetic record files through the RecordFileParser, the EntityRecordItemListener
+ * and the SqlEntityListener into PostgreSQL. It only runs when the number of files is given, and the size of the files
+ * and the mix of transactions can be overridden as well, e.g. -Dbenchmark.files=200
+ * -Dbenchmark.mix=CRYPTO_TRANSFER=1,TOKEN_MINT=1
+ */
+@EnabledIfSystemProperty(named = "benchmark.files", matches = "\\d+")
+@Tag("performance")
+class RecordFileParserThroughputTest extends IntegrationTest {
+
+    private static final long FEE = 84_000L;
+    private static final long FUNGIBLE_TOKEN = 5000L;
+    private static final long NFT_TOKEN = 5001L;
+    private static final long NODE = 3L;
+    private static final long TREASURY = 2L;
+    private static final String INSERT_METRIC = "hedera.mirror.importer.parse.insert";
+    private static final Key KEY = Key.newBuilder().setEd25519(ByteString.copyFrom(new byte[32])).build();
+
+    @Value("${benchmark.accounts:100000}")
+    private int accounts;
+
+    @Value("${benchmark.files:50}")
+    private int files;
+
+    @Value("${benchmark.mix:CRYPTO_TRANSFER=70,CONSENSUS_SUBMIT_MESSAGE=20,TOKEN_TRANSFER=7,TOKEN_MINT=3}")
+    private String mix;
+
+    @Value("${benchmark.transactionsPerFile:1000}")
+    private int transactionsPerFile;
+
+    @Value("${benchmark.warmupFiles:5}")
+    private int warmupFiles;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RecordFileParser recordFileParser;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final Random random = new Random(0L);
+    private long serialNumber = 0L;
+
+    @Test
+    void throughput() {
+        NavigableMap<Integer, Type> weights = weights();
+        Instant start = Instant.now().minusSeconds(86400L);
+        List<RecordFile> recordFiles = new ArrayList<>();
+        long transactions = 0;
+
+        for (int index = 0; index < warmupFiles + files; index++) {
+            RecordFile recordFile = recordFile(index, start.plusSeconds(2L * index), weights);
+            recordFiles.add(recordFile);
+            transactions += recordFile.getCount();
+        }
+
+        recordFiles.subList(0, warmupFiles).forEach(recordFileParser::parse);
+        List<RecordFile> measured = recordFiles.subList(warmupFiles, recordFiles.size());
+        long measuredTransactions = measured.stream().mapToLong(RecordFile::getCount).sum();
+
+        Map<String, Timer> timers = insertTimers();
+        Map<String, Long> copyStart = new HashMap<>();
+        timers.forEach((table, timer) -> copyStart.put(table, (long) timer.totalTime(TimeUnit.MILLISECONDS)));
+        Map<Long, Long> allocatedStart = allocatedBytes();
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        measured.forEach(recordFileParser::parse);
+
+        long elapsed = Math.max(stopwatch.elapsed(TimeUnit.MILLISECONDS), 1L);
+        Map<Long, Long> allocatedEnd = allocatedBytes();
+        long allocated = allocatedEnd.entrySet().stream()
+                .mapToLong(e -> e.getValue() - allocatedStart.getOrDefault(e.getKey(), 0L))
+                .sum();
+
+        log.info("Parsed {} files with {} transactions of {} in {} ms: {} files/s, {} transactions/s, {} MB allocated",
+                measured.size(), measuredTransactions, mix, elapsed, measured.size() * 1000L / elapsed,
+                measuredTransactions * 1000L / elapsed, allocated / 1024 / 1024);
+        insertTimers().forEach((table, timer) -> {
+            long copyTime = (long) timer.totalTime(TimeUnit.MILLISECONDS) - copyStart.getOrDefault(table, 0L);
+            if (copyTime > 0) {
+                log.info("Copied to {} in {} ms ({}%)", table, copyTime, copyTime * 100 / elapsed);
+            }
+        });
+
+        assertThat(transactionRepository.count()).isEqualTo(transactions);
+    }
+
+    private NavigableMap<Integer, Type> weights() {
+        NavigableMap<Integer, Type> weights = new TreeMap<>();
+        int total = 0;
+
+        for (var entry : Splitter.on(',').trimResults().withKeyValueSeparator('=').split(mix).entrySet()) {
+            weights.put(total, Type.valueOf(entry.getKey()));
+            total += Integer.parseInt(entry.getValue());
+        }
+
+        weights.put(total, null); // upper bound for picking a random type
+        return weights;
+    }
+
+    private Map<String, Timer> insertTimers() {
+        Map<String, Timer> timers = new TreeMap<>();
+        meterRegistry.find(INSERT_METRIC).timers().forEach(t -> timers.put(t.getId().getTag("table"), t));
+        return timers;
+    }
+
+    // Summed over all threads, since record files may be written by the async writer's thread
+    private Map<Long, Long> allocatedBytes() {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        long[] allocated = threadMXBean.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> allocatedBytes = new HashMap<>();
+
+        for (int i = 0; i < threadIds.length; i++) {
+            allocatedBytes.put(threadIds[i], allocated[i]);
+        }
+
+        return allocatedBytes;
+    }
+
+    private RecordFile recordFile(int index, Instant consensusStart, NavigableMap<Integer, Type> weights) {
+        long timestamp = consensusStart.getEpochSecond() * 1_000_000_000L + consensusStart.getNano();
+        List<RecordItem> recordItems = new ArrayList<>(transactionsPerFile + 2);
+
+        // tokens must exist before their NFTs can be minted
+        if (index == 0) {
+            recordItems.add(tokenCreate(timestamp++, FUNGIBLE_TOKEN, TokenType.FUNGIBLE_COMMON));
+            recordItems.add(tokenCreate(timestamp++, NFT_TOKEN, TokenType.NON_FUNGIBLE_UNIQUE));
+        }
+
+        Map<Type, Integer> counts = new EnumMap<>(Type.class);
+        int total = weights.lastKey();
+
+        for (int i = 0; i < transactionsPerFile; i++) {
+            Type type = weights.floorEntry(random.nextInt(total)).getValue();
+            recordItems.add(recordItem(type, timestamp++));
+            counts.merge(type, 1, Integer::sum);
+        }
+
+        log.debug("Generated record file {} with {}", index, counts);
+        RecordFile recordFile = new RecordFile();
+        recordFile.setConsensusStart(recordItems.get(0).getConsensusTimestamp());
+        recordFile.setConsensusEnd(timestamp - 1);
+        recordFile.setCount((long) recordItems.size());
+        recordFile.setDigestAlgorithm(DigestAlgorithm.SHA384);
+        recordFile.setFileHash("fileHash" + index);
+        recordFile.setHash("hash" + index);
+        recordFile.setIndex((long) index);
+        recordFile.setItems(Flux.fromIterable(recordItems));
+        recordFile.setLoadStart(Instant.now().getEpochSecond());
+        recordFile.setName(consensusStart.toString().replace(':', '_') + ".rcd");
+        recordFile.setNodeAccountId(EntityId.of(0L, 0L, NODE, EntityTypeEnum.ACCOUNT));
+        recordFile.setPreviousHash("hash" + (index - 1));
+        recordFile.setVersion(5);
+        return recordFile;
+    }
+
+    private RecordItem recordItem(Type type, long timestamp) {
+        AccountID payer = randomAccount();
+        TransactionBody.Builder body = TransactionBody.newBuilder();
+        TransactionRecord.Builder record = TransactionRecord.newBuilder();
+        TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder();
+
+        switch (type) {
+            case CONSENSUS_SUBMIT_MESSAGE:
+                body.setConsensusSubmitMessage(ConsensusSubmitMessageTransactionBody.newBuilder()
+                        .setMessage(randomBytes(256))
+                        .setTopicID(TopicID.newBuilder().setTopicNum(1000L)));
+                receipt.setTopicRunningHash(randomBytes(48))
+                        .setTopicRunningHashVersion(3L)
+                        .setTopicSequenceNumber(timestamp);
+                break;
+            case CRYPTO_TRANSFER:
+                TransferList transfers = transfers(payer, randomAccount());
+                body.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder().setTransfers(transfers));
+                record.setTransferList(transfers);
+                break;
+            case TOKEN_MINT:
+                var tokenMint = TokenMintTransactionBody.newBuilder().setToken(token(NFT_TOKEN));
+                var nftTransfers = TokenTransferList.newBuilder().setToken(token(NFT_TOKEN));
+                int mints = 1 + random.nextInt(5);
+                for (int i = 0; i < mints; i++) {
+                    tokenMint.addMetadata(randomBytes(100));
+                    receipt.addSerialNumbers(++serialNumber);
+                    nftTransfers.addNftTransfers(NftTransfer.newBuilder()
+                            .setReceiverAccountID(account(TREASURY))
+                            .setSenderAccountID(AccountID.getDefaultInstance())
+                            .setSerialNumber(serialNumber));
+                }
+                body.setTokenMint(tokenMint);
+                receipt.setNewTotalSupply(serialNumber);
+                record.addTokenTransferLists(nftTransfers);
+                break;
+            case TOKEN_TRANSFER:
+                TokenTransferList tokenTransfers = TokenTransferList.newBuilder()
+                        .setToken(token(FUNGIBLE_TOKEN))
+                        .addAllTransfers(transfers(payer, randomAccount()).getAccountAmountsList())
+                        .build();
+                body.setCryptoTransfer(CryptoTransferTransactionBody.newBuilder().addTokenTransfers(tokenTransfers));
+                record.addTokenTransferLists(tokenTransfers);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type " + type);
+        }
+
+        return recordItem(body, record, receipt, payer, timestamp);
+    }
+
+    private RecordItem tokenCreate(long timestamp, long tokenNum, TokenType tokenType) {
+        TransactionBody.Builder body = TransactionBody.newBuilder()
+                .setTokenCreation(TokenCreateTransactionBody.newBuilder()
+                        .setName("Benchmark " + tokenNum)
+                        .setSupplyKey(KEY)
+                        .setSymbol("BENCH" + tokenNum)
+                        .setTokenType(tokenType)
+                        .setTreasury(account(TREASURY)));
+        TransactionReceipt.Builder receipt = TransactionReceipt.newBuilder().setTokenID(token(tokenNum));
+        return recordItem(body, TransactionRecord.newBuilder(), receipt, account(TREASURY), timestamp);
+    }
+
+    private RecordItem recordItem(TransactionBody.Builder body, TransactionRecord.Builder record,
+                                  TransactionReceipt.Builder receipt, AccountID payer, long timestamp) {
+        Timestamp consensusTimestamp = Timestamp.newBuilder()
+                .setSeconds(timestamp / 1_000_000_000L)
+                .setNanos((int) (timestamp % 1_000_000_000L))
+                .build();
+        TransactionID transactionId = TransactionID.newBuilder()
+                .setAccountID(payer)
+                .setTransactionValidStart(consensusTimestamp.toBuilder()
+                        .setSeconds(consensusTimestamp.getSeconds() - 5L))
+                .build();
+        body.setMemo("benchmark")
+                .setNodeAccountID(account(NODE))
+                .setTransactionFee(100_000_000L)
+                .setTransactionID(transactionId)
+                .setTransactionValidDuration(Duration.newBuilder().setSeconds(120L));
+        SignedTransaction signedTransaction = SignedTransaction.newBuilder()
+                .setBodyBytes(body.build().toByteString())
+                .setSigMap(SignatureMap.newBuilder().addSigPair(SignaturePair.newBuilder()
+                        .setEd25519(randomBytes(64))
+                        .setPubKeyPrefix(randomBytes(32))))
+                .build();
+        Transaction transaction = Transaction.newBuilder()
+                .setSignedTransactionBytes(signedTransaction.toByteString())
+                .build();
+
+        // The fee transfers are added to any transfers of the transaction itself
+        TransferList.Builder transferList = record.getTransferList().toBuilder()
+                .addAccountAmounts(accountAmount(payer, -FEE))
+                .addAccountAmounts(accountAmount(account(NODE), FEE / 4))
+                .addAccountAmounts(accountAmount(account(98L), FEE - FEE / 4));
+        record.setConsensusTimestamp(consensusTimestamp)
+                .setMemo(body.getMemo())
+                .setReceipt(receipt.setStatus(ResponseCodeEnum.SUCCESS))
+                .setTransactionFee(FEE)
+                .setTransactionHash(randomBytes(48))
+                .setTransactionID(transactionId)
+                .setTransferList(transferList);
+        return new RecordItem(transaction.toByteArray(), record.build().toByteArray());
+    }
+
+    private TransferList transfers(AccountID sender, AccountID receiver) {
+        long amount = 1L + random.nextInt(1_000_000);
+        return TransferList.newBuilder()
+                .addAccountAmounts(accountAmount(sender, -amount))
+                .addAccountAmounts(accountAmount(receiver, amount))
+                .build();
+    }
+
+    private AccountAmount accountAmount(AccountID accountId, long amount) {
+        return AccountAmount.newBuilder().setAccountID(accountId).setAmount(amount).build();
+    }
+
+    private AccountID account(long num) {
+        return AccountID.newBuilder().setAccountNum(num).build();
+    }
+
+    private AccountID randomAccount() {
+        return account(1001L + random.nextInt(accounts));
+    }
+
+    private ByteString randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return ByteString.copyFrom(bytes);
+    }
+
+    private TokenID token(long num) {
+        return TokenID.newBuilder().setTokenNum(num).build();
+    }
+
+    private enum Type {
+        CONSENSUS_SUBMIT_MESSAGE,
+        CRYPTO_TRANSFER,
+        TOKEN_MINT,
+        TOKEN_TRANSFER
+    }
+}
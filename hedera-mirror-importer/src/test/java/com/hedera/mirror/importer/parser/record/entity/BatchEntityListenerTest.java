@@ -23,6 +23,7 @@ package com.hedera.mirror.importer.parser.record.entity;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -77,6 +78,25 @@ public abstract class BatchEntityListenerTest extends IntegrationTest {
                 .verify(Duration.ofMillis(1000));
     }
 
+    @Test
+    void onSaveWithTopicMessages() throws InterruptedException {
+        // given
+        TopicMessage topicMessage1 = topicMessage();
+        TopicMessage topicMessage2 = topicMessage();
+        Flux<TopicMessage> topicMessages = subscribe(topicMessage1.getTopicNum());
+
+        // when the batch of the first message is saved after the listener moved on to the second
+        entityListener.onTopicMessage(topicMessage2);
+        entityListener.onSave(new EntityBatchSaveEvent(this, List.of(topicMessage1)));
+        entityListener.onCleanup(new EntityBatchCleanupEvent(this));
+
+        // then
+        topicMessages.as(StepVerifier::create)
+                .expectNext(topicMessage1)
+                .thenCancel()
+                .verify(Duration.ofMillis(1000));
+    }
+
     @Test
     void onTopicMessageEmpty() throws InterruptedException {
         // given
@@ -21,6 +21,7 @@ package com.hedera.mirror.importer.parser.record.entity.redis;
  */
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +38,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
@@ -134,6 +138,29 @@ class RedisEntityListenerTest {
                 .executePipelined(any(SessionCallback.class));
     }
 
+    @Test
+    void onSaveWithTopicMessages() throws InterruptedException {
+        entityListener.onSave(new EntityBatchSaveEvent(this, List.of(topicMessage())));
+        verify(redisOperations, timeout(TIMEOUT.toMillis()).times(1))
+                .executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void onSaveWithTopicMessagesAfterCommit() throws InterruptedException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            entityListener.onSave(new EntityBatchSaveEvent(this, List.of(topicMessage())));
+            verify(redisOperations, after(100L).never()).executePipelined(any(SessionCallback.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(redisOperations, timeout(TIMEOUT.toMillis()).times(1))
+                    .executePipelined(any(SessionCallback.class));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     protected TopicMessage topicMessage() {
         TopicMessage topicMessage = new TopicMessage();
         topicMessage.setChunkNum(1);
@@ -0,0 +1,135 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.exception.ParserException;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.repository.TransactionRepository;
+
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class AsyncBatchWriterTest extends IntegrationTest {
+
+    private static final EntityId ENTITY_ID = EntityId.of(0L, 0L, 1001L, EntityTypeEnum.ACCOUNT);
+
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionRepository transactionRepository;
+
+    private AtomicInteger failures;
+    private RecordParserProperties recordParserProperties;
+
+    @BeforeEach
+    void beforeEach() {
+        failures = new AtomicInteger();
+        recordParserProperties = new RecordParserProperties();
+        recordParserProperties.getRetry().setMaxAttempts(2);
+        recordParserProperties.getRetry().setMinBackoff(Duration.ofMillis(100L));
+    }
+
+    @Test
+    void writeInOrder() {
+        AsyncBatchWriter asyncBatchWriter = new AsyncBatchWriter(transactionManager, recordParserProperties, 2,
+                failures::incrementAndGet);
+        List<Long> written = new CopyOnWriteArrayList<>();
+
+        for (long i = 1; i <= 3; i++) {
+            long consensusNs = i;
+            asyncBatchWriter.submit("file" + i, () -> {
+                transactionRepository.save(transaction(consensusNs));
+                written.add(consensusNs);
+            });
+        }
+
+        asyncBatchWriter.await();
+
+        assertThat(written).containsExactly(1L, 2L, 3L);
+        assertThat(transactionRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void retry() {
+        AsyncBatchWriter asyncBatchWriter = new AsyncBatchWriter(transactionManager, recordParserProperties, 1,
+                failures::incrementAndGet);
+        AtomicInteger attempts = new AtomicInteger();
+
+        asyncBatchWriter.submit("file", () -> {
+            transactionRepository.save(transaction(1L));
+            if (attempts.incrementAndGet() == 1) {
+                throw new ParserException("Failed first attempt");
+            }
+        });
+
+        asyncBatchWriter.await();
+
+        assertThat(attempts).hasValue(2);
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void failure() {
+        recordParserProperties.getRetry().setMaxAttempts(1);
+        AsyncBatchWriter asyncBatchWriter = new AsyncBatchWriter(transactionManager, recordParserProperties, 2,
+                failures::incrementAndGet);
+
+        asyncBatchWriter.submit("file1", () -> {
+            transactionRepository.save(transaction(1L));
+            throw new ParserException("Failed");
+        });
+        asyncBatchWriter.submit("file2", () -> transactionRepository.save(transaction(2L)));
+
+        assertThatThrownBy(asyncBatchWriter::await).isInstanceOf(ParserException.class);
+        assertThat(failures).hasValue(1);
+        assertThat(transactionRepository.count()).isZero();
+
+        // the failure is only reported once, so the failed record files can be written again
+        asyncBatchWriter.submit("file1", () -> transactionRepository.save(transaction(1L)));
+        asyncBatchWriter.await();
+        assertThat(failures).hasValue(1);
+        assertThat(transactionRepository.count()).isEqualTo(1);
+    }
+
+    private Transaction transaction(long consensusNs) {
+        Transaction transaction = new Transaction();
+        transaction.setConsensusNs(consensusNs);
+        transaction.setNodeAccountId(ENTITY_ID);
+        transaction.setPayerAccountId(ENTITY_ID);
+        transaction.setResult(22);
+        transaction.setType(14);
+        transaction.setValidStartNs(consensusNs - 1);
+        return transaction;
+    }
+}
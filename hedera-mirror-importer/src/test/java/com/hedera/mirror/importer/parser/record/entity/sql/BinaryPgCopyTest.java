@@ -0,0 +1,160 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static com.hedera.mirror.importer.domain.EntityTypeEnum.ACCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.util.List;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.RandomUtils;
+import org.bouncycastle.util.Strings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.TopicMessage;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.parser.BinaryPgCopy;
+import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.repository.CryptoTransferRepository;
+import com.hedera.mirror.importer.repository.TopicMessageRepository;
+import com.hedera.mirror.importer.repository.TransactionRepository;
+
+class BinaryPgCopyTest extends IntegrationTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Resource
+    private DataSource dataSource;
+    @Resource
+    private CryptoTransferRepository cryptoTransferRepository;
+    @Resource
+    private TransactionRepository transactionRepository;
+    @Resource
+    private TopicMessageRepository topicMessageRepository;
+    @Resource
+    private RecordParserProperties properties;
+
+    private PgCopy<CryptoTransfer> cryptoTransferPgCopy;
+    private PgCopy<Transaction> transactionPgCopy;
+    private PgCopy<TopicMessage> topicMessagePgCopy;
+
+    @BeforeEach
+    void beforeEach() {
+        cryptoTransferPgCopy = new BinaryPgCopy<>(CryptoTransfer.class, meterRegistry, properties,
+                CryptoTransferRowWriter.INSTANCE);
+        transactionPgCopy = new BinaryPgCopy<>(Transaction.class, meterRegistry, properties,
+                TransactionRowWriter.INSTANCE);
+        topicMessagePgCopy = new BinaryPgCopy<>(TopicMessage.class, meterRegistry, properties,
+                TopicMessageRowWriter.INSTANCE);
+    }
+
+    @Test
+    void copyCryptoTransfers() throws SQLException {
+        var cryptoTransfers = List.of(cryptoTransfer(1), cryptoTransfer(2), cryptoTransfer(3));
+
+        cryptoTransferPgCopy.copy(cryptoTransfers, dataSource.getConnection());
+
+        assertThat(cryptoTransferRepository.findAll()).containsExactlyInAnyOrderElementsOf(cryptoTransfers);
+    }
+
+    @Test
+    void copyTransactions() throws SQLException {
+        Transaction transactionWithNulls = transaction(3);
+        transactionWithNulls.setEntityId(null);
+        transactionWithNulls.setInitialBalance(null);
+        transactionWithNulls.setMemo(null);
+        transactionWithNulls.setNodeAccountId(null);
+        transactionWithNulls.setScheduled(true);
+        transactionWithNulls.setTransactionBytes(null);
+        transactionWithNulls.setValidDurationSeconds(null);
+        var transactions = List.of(transaction(1), transaction(2), transactionWithNulls);
+
+        transactionPgCopy.copy(transactions, dataSource.getConnection());
+
+        assertThat(transactionRepository.findAll()).hasSize(3).containsExactlyInAnyOrderElementsOf(transactions);
+    }
+
+    @Test
+    void copyTopicMessages() throws SQLException {
+        TopicMessage chunkedTopicMessage = topicMessage(3, 1024);
+        chunkedTopicMessage.setChunkNum(1);
+        chunkedTopicMessage.setChunkTotal(2);
+        chunkedTopicMessage.setPayerAccountId(EntityId.of(0L, 0L, 1001L, ACCOUNT));
+        chunkedTopicMessage.setValidStartTimestamp(2L);
+        var topicMessages = List.of(topicMessage(1, 6000), topicMessage(2, 0), chunkedTopicMessage);
+
+        topicMessagePgCopy.copy(topicMessages, dataSource.getConnection());
+
+        assertThat(topicMessageRepository.findAll()).hasSize(3).containsExactlyInAnyOrderElementsOf(topicMessages);
+    }
+
+    @Test
+    void copyEmpty() throws SQLException {
+        transactionPgCopy.copy(List.of(), dataSource.getConnection());
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    private CryptoTransfer cryptoTransfer(long consensusTimestamp) {
+        return new CryptoTransfer(consensusTimestamp, -consensusTimestamp, EntityId.of(0L, 1L, 2L, ACCOUNT));
+    }
+
+    private Transaction transaction(long consensusNs) {
+        EntityId entityId = EntityId.of(10, 10, 10, EntityTypeEnum.ACCOUNT);
+        Transaction transaction = new Transaction();
+        transaction.setConsensusNs(consensusNs);
+        transaction.setEntityId(entityId);
+        transaction.setNodeAccountId(entityId);
+        transaction.setMemo("memo".getBytes());
+        transaction.setType(14);
+        transaction.setResult(22);
+        transaction.setTransactionHash("transaction hash".getBytes());
+        transaction.setTransactionBytes("transaction bytes".getBytes());
+        transaction.setPayerAccountId(entityId);
+        transaction.setValidStartNs(1L);
+        transaction.setValidDurationSeconds(1L);
+        transaction.setMaxFee(1L);
+        transaction.setChargedTxFee(1L);
+        transaction.setInitialBalance(0L);
+        return transaction;
+    }
+
+    private TopicMessage topicMessage(long consensusNs, int messageSize) {
+        TopicMessage topicMessage = new TopicMessage();
+        topicMessage.setConsensusTimestamp(consensusNs);
+        topicMessage.setMessage(RandomUtils.nextBytes(messageSize));
+        topicMessage.setRealmNum(0);
+        topicMessage.setRunningHash(Strings.toByteArray("running hash"));
+        topicMessage.setRunningHashVersion(2);
+        topicMessage.setSequenceNumber(consensusNs);
+        topicMessage.setTopicNum(1001);
+        return topicMessage;
+    }
+}
@@ -0,0 +1,187 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.exception.ParserException;
+import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.repository.CryptoTransferRepository;
+import com.hedera.mirror.importer.repository.TransactionRepository;
+
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class ConcurrentPgCopyTest extends IntegrationTest {
+
+    private static final EntityId ENTITY_ID = EntityId.of(0L, 0L, 1001L, EntityTypeEnum.ACCOUNT);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CryptoTransferRepository cryptoTransferRepository;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecordParserProperties recordParserProperties;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TwoPhaseCommit twoPhaseCommit;
+
+    private ConcurrentPgCopy concurrentPgCopy;
+    private PgCopy<CryptoTransfer> cryptoTransferPgCopy;
+    private PgCopy<Transaction> transactionPgCopy;
+
+    @BeforeEach
+    void beforeEach() {
+        concurrentPgCopy = new ConcurrentPgCopy(dataSource, twoPhaseCommit, 2);
+        cryptoTransferPgCopy = new PgCopy<>(CryptoTransfer.class, meterRegistry, recordParserProperties);
+        transactionPgCopy = new PgCopy<>(Transaction.class, meterRegistry, recordParserProperties);
+    }
+
+    @Test
+    void commitWithTransaction() {
+        var cryptoTransfers = List.of(cryptoTransfer(1), cryptoTransfer(2));
+        var transactions = List.of(transaction(1), transaction(2));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            concurrentPgCopy.copy(tables(cryptoTransfers, transactions)).join();
+            concurrentPgCopy.complete(true);
+
+            // not visible to the caller's transaction until it commits
+            assertThat(transactionRepository.count()).isZero();
+        });
+
+        assertThat(cryptoTransferRepository.findAll()).containsExactlyInAnyOrderElementsOf(cryptoTransfers);
+        assertThat(transactionRepository.findAll()).containsExactlyInAnyOrderElementsOf(transactions);
+    }
+
+    @Test
+    void commitWithoutTransaction() {
+        var cryptoTransfers = List.of(cryptoTransfer(1));
+        var transactions = List.of(transaction(1));
+
+        concurrentPgCopy.copy(tables(cryptoTransfers, transactions)).join();
+        concurrentPgCopy.complete(true);
+
+        assertThat(cryptoTransferRepository.findAll()).containsExactlyInAnyOrderElementsOf(cryptoTransfers);
+        assertThat(transactionRepository.findAll()).containsExactlyInAnyOrderElementsOf(transactions);
+    }
+
+    @Test
+    void rollbackWithTransaction() {
+        var cryptoTransfers = List.of(cryptoTransfer(1), cryptoTransfer(2));
+        var transactions = List.of(transaction(1), transaction(2));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            concurrentPgCopy.copy(tables(cryptoTransfers, transactions)).join();
+            concurrentPgCopy.complete(true);
+            status.setRollbackOnly();
+        });
+
+        assertThat(cryptoTransferRepository.count()).isZero();
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    void rollbackOnCopyFailure() {
+        var cryptoTransfers = List.of(cryptoTransfer(1));
+        var transactions = List.of(transaction(1), transaction(1)); // duplicate primary key
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var future = concurrentPgCopy.copy(tables(cryptoTransfers, transactions));
+            assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(ParserException.class);
+            concurrentPgCopy.complete(false);
+            status.setRollbackOnly();
+        });
+
+        assertThat(cryptoTransferRepository.count()).isZero();
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    void rollbackOnCopyFailureWithoutTransaction() {
+        var cryptoTransfers = List.of(cryptoTransfer(1));
+        var transactions = List.of(transaction(1), transaction(1)); // duplicate primary key
+
+        var future = concurrentPgCopy.copy(tables(cryptoTransfers, transactions));
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ParserException.class);
+        concurrentPgCopy.complete(false);
+
+        assertThat(cryptoTransferRepository.count()).isZero();
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    void rollbackOnCommitFailure() {
+        var cryptoTransfers = List.of(cryptoTransfer(1));
+        var transactions = List.of(transaction(1));
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            concurrentPgCopy.copy(tables(cryptoTransfers, transactions)).join();
+            concurrentPgCopy.complete(true);
+            // fails the caller's commit after the concurrent copies have been prepared
+            jdbcTemplate.execute("create temporary table fail (id int primary key deferrable initially deferred) " +
+                    "on commit drop; insert into fail values (1), (1)");
+        })).isInstanceOf(RuntimeException.class);
+
+        assertThat(cryptoTransferRepository.count()).isZero();
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    private List<ConcurrentPgCopy.Table<?>> tables(List<CryptoTransfer> cryptoTransfers,
+                                                   List<Transaction> transactions) {
+        return List.of(new ConcurrentPgCopy.Table<>(cryptoTransferPgCopy, cryptoTransfers),
+                new ConcurrentPgCopy.Table<>(transactionPgCopy, transactions));
+    }
+
+    private CryptoTransfer cryptoTransfer(long consensusTimestamp) {
+        return new CryptoTransfer(consensusTimestamp, -consensusTimestamp, ENTITY_ID);
+    }
+
+    private Transaction transaction(long consensusNs) {
+        Transaction transaction = new Transaction();
+        transaction.setConsensusNs(consensusNs);
+        transaction.setNodeAccountId(ENTITY_ID);
+        transaction.setPayerAccountId(ENTITY_ID);
+        transaction.setResult(22);
+        transaction.setType(14);
+        transaction.setValidStartNs(consensusNs - 1);
+        return transaction;
+    }
+}
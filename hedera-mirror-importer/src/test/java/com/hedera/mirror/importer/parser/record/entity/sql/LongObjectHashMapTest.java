@@ -0,0 +1,83 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    private final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+    @Test
+    void merge() {
+        assertThat(map.merge(1L, "a", String::concat)).isEqualTo("a");
+        assertThat(map.merge(1L, "b", String::concat)).isEqualTo("ab");
+        assertThat(map.merge(0L, "c", String::concat)).isEqualTo("c");
+        assertThat(map.merge(-1L, "d", String::concat)).isEqualTo("d");
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(0L)).isEqualTo("c");
+        assertThat(map.get(1L)).isEqualTo("ab");
+        assertThat(map.get(-1L)).isEqualTo("d");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.values()).containsExactlyInAnyOrder("ab", "c", "d");
+    }
+
+    @Test
+    void grow() {
+        int count = 10_000;
+        for (long key = 0; key < count; key++) {
+            map.merge(key << 32 | key, String.valueOf(key), String::concat);
+        }
+
+        assertThat(map.size()).isEqualTo(count);
+        assertThat(map.values()).hasSize(count);
+        for (long key = 0; key < count; key++) {
+            assertThat(map.get(key << 32 | key)).isEqualTo(String.valueOf(key));
+        }
+    }
+
+    @Test
+    void clear() {
+        map.merge(1L, "a", String::concat);
+        map.merge(2L, "b", String::concat);
+        map.clear();
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.values()).isEmpty();
+
+        map.merge(1L, "c", String::concat);
+        assertThat(map.get(1L)).isEqualTo("c");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void valuesIsSnapshot() {
+        map.merge(1L, "a", String::concat);
+        var values = map.values();
+        map.clear();
+
+        assertThat(values).containsExactly("a");
+    }
+}
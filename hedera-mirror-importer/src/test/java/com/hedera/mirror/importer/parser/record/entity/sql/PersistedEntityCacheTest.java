@@ -0,0 +1,125 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hedera.mirror.importer.domain.Entity;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.parser.record.entity.AbstractEntityListener;
+
+class PersistedEntityCacheTest {
+
+    private static final EntityId ENTITY_ID = EntityId.of(0L, 0L, 1001L, EntityTypeEnum.ACCOUNT);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PersistedEntityCache persistedEntityCache;
+
+    @BeforeEach
+    void beforeEach() {
+        SqlProperties.EntityCacheProperties properties = new SqlProperties.EntityCacheProperties();
+        persistedEntityCache = new PersistedEntityCache(properties, meterRegistry, new Merger()::merge);
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void elideUnchanged() {
+        assertThat(persistedEntityCache.filter(List.of(ENTITY_ID.toEntity()))).hasSize(1);
+        assertThat(persistedEntityCache.filter(List.of(ENTITY_ID.toEntity()))).isEmpty();
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).hasSize(1);
+        assertThat(persistedEntityCache.filter(List.of(update("memo"), ENTITY_ID.toEntity()))).isEmpty();
+        assertThat(persistedEntityCache.filter(List.of(update("memo2")))).hasSize(1);
+
+        assertCount("hit", 5);
+        assertCount("miss", 1);
+        assertCount("elided", 3);
+    }
+
+    @Test
+    void createOfExistingEntity() {
+        Entity create = update("memo");
+        create.setCreatedTimestamp(1L);
+
+        assertThat(persistedEntityCache.filter(List.of(create))).hasSize(1);
+        assertThat(persistedEntityCache.filter(List.of(create))).isEmpty();
+
+        // the fields of a create are not known to be written, since it's skipped for an existing row
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).hasSize(1);
+    }
+
+    @Test
+    void withinTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).hasSize(1);
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).isEmpty();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).containsExactly(persistedEntityCache);
+
+        persistedEntityCache.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).isEmpty();
+    }
+
+    @Test
+    void rollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).hasSize(1);
+        persistedEntityCache.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(persistedEntityCache.filter(List.of(update("memo")))).hasSize(1);
+        assertCount("miss", 2);
+    }
+
+    private void assertCount(String type, double count) {
+        assertThat(meterRegistry.find("hedera.mirror.importer.parse.entity.cache").tag("type", type).counter())
+                .isNotNull()
+                .returns(count, c -> c.count());
+    }
+
+    private Entity update(String memo) {
+        Entity entity = ENTITY_ID.toEntity();
+        entity.setMemo(memo);
+        entity.setModifiedTimestamp(2L);
+        return entity;
+    }
+
+    private static class Merger extends AbstractEntityListener {
+        Entity merge(Entity cachedEntity, Entity newEntity) {
+            return mergeEntity(cachedEntity, newEntity);
+        }
+    }
+}
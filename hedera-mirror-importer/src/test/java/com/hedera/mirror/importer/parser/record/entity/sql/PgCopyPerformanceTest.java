@@ -0,0 +1,141 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Stopwatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.TopicMessage;
+import com.hedera.mirror.importer.domain.Transaction;
+import com.hedera.mirror.importer.parser.BinaryPgCopy;
+import com.hedera.mirror.importer.parser.BinaryRowWriter;
+import com.hedera.mirror.importer.parser.PgCopy;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
+/**
+ * Compares the throughput of the CSV and the binary COPY writers for the highest volume tables. It only runs when
+ * enabled with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Tag("performance")
+class PgCopyPerformanceTest extends IntegrationTest {
+
+    private static final EntityId ENTITY_ID = EntityId.of(0L, 0L, 1001L, EntityTypeEnum.ACCOUNT);
+    private static final int ROWS = 100_000;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private RecordParserProperties properties;
+
+    @ParameterizedTest(name = "binary {0}")
+    @ValueSource(booleans = {false, true})
+    void cryptoTransfer(boolean binary) throws Exception {
+        copy(CryptoTransfer.class, CryptoTransferRowWriter.INSTANCE, binary,
+                timestamp -> new CryptoTransfer(timestamp, -timestamp, ENTITY_ID));
+    }
+
+    @ParameterizedTest(name = "binary {0}")
+    @ValueSource(booleans = {false, true})
+    void topicMessage(boolean binary) throws Exception {
+        copy(TopicMessage.class, TopicMessageRowWriter.INSTANCE, binary, timestamp -> {
+            TopicMessage topicMessage = new TopicMessage();
+            topicMessage.setConsensusTimestamp(timestamp);
+            topicMessage.setMessage(RandomUtils.nextBytes(256));
+            topicMessage.setPayerAccountId(ENTITY_ID);
+            topicMessage.setRunningHash(RandomUtils.nextBytes(48));
+            topicMessage.setRunningHashVersion(3);
+            topicMessage.setSequenceNumber(timestamp);
+            topicMessage.setTopicNum(1000);
+            topicMessage.setValidStartTimestamp(timestamp - 1);
+            return topicMessage;
+        });
+    }
+
+    @ParameterizedTest(name = "binary {0}")
+    @ValueSource(booleans = {false, true})
+    void transaction(boolean binary) throws Exception {
+        copy(Transaction.class, TransactionRowWriter.INSTANCE, binary, timestamp -> {
+            Transaction transaction = new Transaction();
+            transaction.setChargedTxFee(100L);
+            transaction.setConsensusNs(timestamp);
+            transaction.setEntityId(ENTITY_ID);
+            transaction.setInitialBalance(0L);
+            transaction.setMaxFee(200L);
+            transaction.setMemo(RandomUtils.nextBytes(32));
+            transaction.setNodeAccountId(ENTITY_ID);
+            transaction.setPayerAccountId(ENTITY_ID);
+            transaction.setResult(22);
+            transaction.setTransactionHash(RandomUtils.nextBytes(48));
+            transaction.setType(14);
+            transaction.setValidDurationSeconds(120L);
+            transaction.setValidStartNs(timestamp - 1);
+            return transaction;
+        });
+    }
+
+    private <T> void copy(Class<T> entityClass, BinaryRowWriter<T> rowWriter, boolean binary,
+                          LongFunction<T> supplier) throws Exception {
+        List<T> items = new ArrayList<>(ROWS);
+        for (long timestamp = 1; timestamp <= ROWS; timestamp++) {
+            items.add(supplier.apply(timestamp));
+        }
+
+        PgCopy<T> pgCopy = binary ? new BinaryPgCopy<>(entityClass, meterRegistry, properties, rowWriter) :
+                new PgCopy<>(entityClass, meterRegistry, properties);
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        try (Connection connection = dataSource.getConnection()) {
+            pgCopy.copy(items, connection);
+        }
+
+        log.info("Copied {} {} rows using {} COPY in {}", ROWS, entityClass.getSimpleName(),
+                binary ? "binary" : "CSV", stopwatch);
+        String table = CaseFormat.UPPER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, entityClass.getSimpleName());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from " + table, Long.class)).isEqualTo(ROWS);
+    }
+}
@@ -0,0 +1,179 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static com.hedera.mirror.importer.domain.EntityTypeEnum.ACCOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.hedera.mirror.importer.IntegrationTest;
+import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.DigestAlgorithm;
+import com.hedera.mirror.importer.domain.Entity;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.RecordFile;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
+import com.hedera.mirror.importer.parser.TwoPhaseCommit;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFlushEvent;
+import com.hedera.mirror.importer.repository.CryptoTransferRepository;
+import com.hedera.mirror.importer.repository.EntityRepository;
+import com.hedera.mirror.importer.repository.RecordFileRepository;
+import com.hedera.mirror.importer.repository.upsert.EntityUpsertQueryGenerator;
+import com.hedera.mirror.importer.repository.upsert.NftUpsertQueryGenerator;
+import com.hedera.mirror.importer.repository.upsert.ScheduleUpsertQueryGenerator;
+import com.hedera.mirror.importer.repository.upsert.TokenAccountUpsertQueryGenerator;
+import com.hedera.mirror.importer.repository.upsert.TokenUpsertQueryGenerator;
+
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+class SqlEntityListenerBackfillTest extends IntegrationTest {
+
+    private final CryptoTransferRepository cryptoTransferRepository;
+    private final DataSource dataSource;
+    private final EntityRepository entityRepository;
+    private final EntityUpsertQueryGenerator entityUpsertQueryGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final NftUpsertQueryGenerator nftUpsertQueryGenerator;
+    private final RecordFileRepository recordFileRepository;
+    private final ScheduleUpsertQueryGenerator scheduleUpsertQueryGenerator;
+    private final SqlProperties sqlProperties;
+    private final TokenAccountUpsertQueryGenerator tokenAccountUpsertQueryGenerator;
+    private final TokenUpsertQueryGenerator tokenUpsertQueryGenerator;
+    private final PlatformTransactionManager transactionManager;
+    private final TwoPhaseCommit twoPhaseCommit;
+
+    private RecordParserProperties recordParserProperties;
+    private SqlEntityListener sqlEntityListener;
+
+    @BeforeEach
+    void beforeEach() {
+        recordParserProperties = new RecordParserProperties();
+        recordParserProperties.getBackfill().setEnabled(true);
+        recordParserProperties.getBackfill().setIdleTimeout(Duration.ofMillis(100L));
+        recordParserProperties.getBackfill().setMaxFiles(2);
+        sqlEntityListener = new SqlEntityListener(recordParserProperties, sqlProperties, dataSource, twoPhaseCommit,
+                recordFileRepository, meterRegistry, eventPublisher, transactionManager, entityUpsertQueryGenerator,
+                scheduleUpsertQueryGenerator, tokenUpsertQueryGenerator, tokenAccountUpsertQueryGenerator,
+                nftUpsertQueryGenerator, new CommonParserProperties());
+    }
+
+    @Test
+    void mergeAcrossRecordFiles() {
+        sqlEntityListener.onStart();
+        sqlEntityListener.onEntity(entity(1L, 1L, "created"));
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, 1L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onEnd(recordFile(1L));
+        assertThat(recordFileRepository.count()).isZero();
+
+        sqlEntityListener.onStart();
+        sqlEntityListener.onEntity(entity(1L, null, "updated"));
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(3L, 1L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onEnd(recordFile(3L));
+        sqlEntityListener.onFlush(new EntityBatchFlushEvent(this));
+
+        assertThat(recordFileRepository.count()).isEqualTo(2);
+        assertThat(cryptoTransferRepository.count()).isEqualTo(2);
+        assertThat(entityRepository.findById(1L))
+                .get()
+                .returns(1L, Entity::getCreatedTimestamp)
+                .returns("updated", Entity::getMemo);
+    }
+
+    @Test
+    void failedRecordFileKeepsGroup() {
+        sqlEntityListener.onStart();
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, 1L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onEnd(recordFile(1L));
+
+        sqlEntityListener.onStart();
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(3L, 1L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onError();
+
+        sqlEntityListener.onStart();
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(3L, 2L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onEnd(recordFile(3L));
+        sqlEntityListener.onFlush(new EntityBatchFlushEvent(this));
+
+        assertThat(recordFileRepository.count()).isEqualTo(2);
+        assertThat(cryptoTransferRepository.findAll())
+                .extracting(CryptoTransfer::getAmount)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void idle() throws Exception {
+        sqlEntityListener.onStart();
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, 1L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onEnd(recordFile(1L));
+
+        sqlEntityListener.onIdle();
+        assertThat(recordFileRepository.count()).isZero();
+
+        Thread.sleep(recordParserProperties.getBackfill().getIdleTimeout().toMillis());
+        sqlEntityListener.onIdle();
+        sqlEntityListener.onFlush(new EntityBatchFlushEvent(this));
+
+        assertThat(recordFileRepository.count()).isEqualTo(1);
+        assertThat(cryptoTransferRepository.count()).isEqualTo(1);
+    }
+
+    private Entity entity(long id, Long createdTimestamp, String memo) {
+        Entity entity = new Entity();
+        entity.setId(id);
+        entity.setCreatedTimestamp(createdTimestamp);
+        entity.setMemo(memo);
+        entity.setModifiedTimestamp(createdTimestamp != null ? createdTimestamp : 3L);
+        entity.setNum(id);
+        entity.setRealm(0L);
+        entity.setShard(0L);
+        entity.setType(1);
+        return entity;
+    }
+
+    private RecordFile recordFile(long consensusStart) {
+        String hash = UUID.randomUUID().toString();
+        return RecordFile.builder()
+                .consensusStart(consensusStart)
+                .consensusEnd(consensusStart + 1)
+                .count(1L)
+                .digestAlgorithm(DigestAlgorithm.SHA384)
+                .fileHash(hash)
+                .hash(hash)
+                .index(consensusStart)
+                .loadEnd(1L)
+                .loadStart(1L)
+                .name(consensusStart + ".rcd")
+                .nodeAccountId(EntityId.of("0.0.3", ACCOUNT))
+                .previousHash(hash)
+                .build();
+    }
+}
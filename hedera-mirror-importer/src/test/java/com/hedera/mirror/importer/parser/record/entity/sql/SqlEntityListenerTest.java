@@ -37,6 +37,7 @@ import lombok.RequiredArgsConstructor;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.util.Strings;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,6 +50,8 @@ import com.hedera.mirror.importer.IntegrationTest;
 import com.hedera.mirror.importer.config.CacheConfiguration;
 import com.hedera.mirror.importer.domain.ContractResult;
 import com.hedera.mirror.importer.domain.CryptoTransfer;
+import com.hedera.mirror.importer.domain.CurrentBalance;
+import com.hedera.mirror.importer.domain.CurrentTokenBalance;
 import com.hedera.mirror.importer.domain.DigestAlgorithm;
 import com.hedera.mirror.importer.domain.Entity;
 import com.hedera.mirror.importer.domain.EntityId;
@@ -75,8 +78,11 @@ import com.hedera.mirror.importer.domain.TopicMessage;
 import com.hedera.mirror.importer.domain.Transaction;
 import com.hedera.mirror.importer.domain.TransactionSignature;
 import com.hedera.mirror.importer.domain.TransactionTypeEnum;
+import com.hedera.mirror.importer.parser.CommonParserProperties;
 import com.hedera.mirror.importer.repository.ContractResultRepository;
 import com.hedera.mirror.importer.repository.CryptoTransferRepository;
+import com.hedera.mirror.importer.repository.CurrentBalanceRepository;
+import com.hedera.mirror.importer.repository.CurrentTokenBalanceRepository;
 import com.hedera.mirror.importer.repository.EntityRepository;
 import com.hedera.mirror.importer.repository.FileDataRepository;
 import com.hedera.mirror.importer.repository.LiveHashRepository;
@@ -97,9 +103,12 @@ class SqlEntityListenerTest extends IntegrationTest {
     private static final String KEY = "0a2212200aa8e21064c61eab86e2a9c164565b4e7a9a4146106e0a6cd03a8c395a110fff";
     private static final String KEY2 = "0a3312200aa8e21064c61eab86e2a9c164565b4e7a9a4146106e0a6cd03a8c395a110e92";
 
+    private final CommonParserProperties commonParserProperties;
     private final TransactionRepository transactionRepository;
     private final EntityRepository entityRepository;
     private final CryptoTransferRepository cryptoTransferRepository;
+    private final CurrentBalanceRepository currentBalanceRepository;
+    private final CurrentTokenBalanceRepository currentTokenBalanceRepository;
     private final NonFeeTransferRepository nonFeeTransferRepository;
     private final ContractResultRepository contractResultRepository;
     private final LiveHashRepository liveHashRepository;
@@ -134,6 +143,11 @@ class SqlEntityListenerTest extends IntegrationTest {
         sqlEntityListener.onStart();
     }
 
+    @AfterEach
+    void afterEach() {
+        commonParserProperties.setCurrentBalances(false);
+    }
+
     @Test
     void isEnabled() {
         sqlProperties.setEnabled(false);
@@ -161,6 +175,53 @@ class SqlEntityListenerTest extends IntegrationTest {
         assertExistsAndEquals(cryptoTransferRepository, cryptoTransfer2, cryptoTransfer2.getId());
     }
 
+    @Test
+    void onCryptoTransferCurrentBalance() {
+        commonParserProperties.setCurrentBalances(true);
+        EntityId accountId1 = EntityId.of(0L, 0L, 1L, ACCOUNT);
+        EntityId accountId2 = EntityId.of(0L, 0L, 2L, ACCOUNT);
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, 100L, accountId1));
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, -100L, accountId2));
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(2L, -30L, accountId1));
+        completeFileAndCommit();
+
+        RecordFile recordFile2 = recordFile(3L, UUID.randomUUID().toString(), null, 1L, null);
+        sqlEntityListener.onStart();
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(3L, 5L, accountId2));
+        completeFileAndCommit(recordFile2);
+
+        assertThat(currentBalanceRepository.findAll()).containsExactlyInAnyOrder(
+                new CurrentBalance(accountId1.getId(), 70L, 2L),
+                new CurrentBalance(accountId2.getId(), -95L, 3L));
+    }
+
+    @Test
+    void onTokenTransferCurrentBalance() {
+        commonParserProperties.setCurrentBalances(true);
+        sqlEntityListener.onTokenTransfer(getTokenTransfer(1000, 2L, "0.0.3", "0.0.5"));
+        sqlEntityListener.onTokenTransfer(getTokenTransfer(50, 2L, "0.0.7", "0.0.5"));
+        sqlEntityListener.onTokenTransfer(getTokenTransfer(-444, 4L, "0.0.3", "0.0.5"));
+        completeFileAndCommit();
+
+        long accountId = EntityId.of("0.0.5", ACCOUNT).getId();
+        assertThat(currentTokenBalanceRepository.findAll()).containsExactlyInAnyOrder(
+                new CurrentTokenBalance(new CurrentTokenBalance.Id(accountId, EntityId.of("0.0.3", TOKEN).getId()),
+                        556L, 4L),
+                new CurrentTokenBalance(new CurrentTokenBalance.Id(accountId, EntityId.of("0.0.7", TOKEN).getId()),
+                        50L, 2L));
+    }
+
+    @Test
+    void onTransferCurrentBalanceDisabled() {
+        sqlEntityListener.onCryptoTransfer(new CryptoTransfer(1L, 100L, EntityId.of(0L, 0L, 1L, ACCOUNT)));
+        sqlEntityListener.onTokenTransfer(getTokenTransfer(1000, 2L, "0.0.3", "0.0.5"));
+        completeFileAndCommit();
+
+        assertThat(cryptoTransferRepository.count()).isOne();
+        assertThat(currentBalanceRepository.count()).isZero();
+        assertThat(currentTokenBalanceRepository.count()).isZero();
+    }
+
     @Test
     void onNonFeeTransfer() throws Exception {
         // given
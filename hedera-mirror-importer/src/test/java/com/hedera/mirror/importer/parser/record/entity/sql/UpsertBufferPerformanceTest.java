@@ -0,0 +1,109 @@
+package com.hedera.mirror.importer.parser.record.entity.sql;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.hedera.mirror.importer.domain.Entity;
+import com.hedera.mirror.importer.domain.EntityId;
+import com.hedera.mirror.importer.domain.EntityTypeEnum;
+import com.hedera.mirror.importer.domain.TokenAccount;
+import com.hedera.mirror.importer.domain.TokenAccountId;
+
+/**
+ * Compares the bytes allocated merging the entities and token accounts of a large record file into the boxed HashMap
+ * buffers and into the primitive long-keyed buffers used by the SqlEntityListener. It only runs when enabled with
+ * -Dbenchmark=true.
+ */
+@Log4j2
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Tag("performance")
+class UpsertBufferPerformanceTest {
+
+    private static final int ITERATIONS = 20;
+    private static final int TRANSACTIONS = 20_000;
+    private static final EntityId TOKEN_ID = EntityId.of(0L, 0L, 2000L, EntityTypeEnum.TOKEN);
+
+    private final Entity[] entities = new Entity[TRANSACTIONS];
+    private final TokenAccount[] tokenAccounts = new TokenAccount[TRANSACTIONS];
+
+    UpsertBufferPerformanceTest() {
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            // a few hot accounts touched repeatedly alongside many accounts touched once
+            long num = i % 2 == 0 ? 1000L + (i % 100) : 10_000L + i;
+            EntityId accountId = EntityId.of(0L, 0L, num, EntityTypeEnum.ACCOUNT);
+            entities[i] = accountId.toEntity();
+            tokenAccounts[i] = new TokenAccount(TOKEN_ID, accountId);
+        }
+    }
+
+    @Test
+    void allocations() {
+        Map<Long, Entity> boxedEntities = new HashMap<>();
+        Map<TokenAccountId, TokenAccount> boxedTokenAccounts = new HashMap<>();
+        LongObjectHashMap<Entity> primitiveEntities = new LongObjectHashMap<>();
+        PackedKeyMap<TokenAccountId, TokenAccount> packedTokenAccounts = new PackedKeyMap<>(id -> true,
+                id -> id.getTokenId().getId() << 32 | id.getAccountId().getId());
+
+        // warm up both paths before measuring
+        long boxed = 0;
+        long primitive = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            boxed = allocated(() -> {
+                for (int j = 0; j < TRANSACTIONS; j++) {
+                    boxedEntities.merge(entities[j].getId(), entities[j], (a, b) -> b);
+                    boxedTokenAccounts.merge(tokenAccounts[j].getId(), tokenAccounts[j], (a, b) -> b);
+                }
+                boxedEntities.clear();
+                boxedTokenAccounts.clear();
+            });
+            primitive = allocated(() -> {
+                for (int j = 0; j < TRANSACTIONS; j++) {
+                    primitiveEntities.merge(entities[j].getId(), entities[j], (a, b) -> b);
+                    packedTokenAccounts.merge(tokenAccounts[j].getId(), tokenAccounts[j], (a, b) -> b);
+                }
+                primitiveEntities.clear();
+                packedTokenAccounts.clear();
+            });
+        }
+
+        log.info("Merging {} entities and token accounts allocated {} bytes using HashMap and {} bytes using " +
+                "primitive keys", TRANSACTIONS, boxed, primitive);
+        assertThat(primitive).isLessThan(boxed);
+    }
+
+    private static long allocated(Runnable runnable) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - start;
+    }
+}
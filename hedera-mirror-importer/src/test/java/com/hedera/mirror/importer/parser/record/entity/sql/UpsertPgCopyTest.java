@@ -107,15 +107,19 @@ class UpsertPgCopyTest extends IntegrationTest {
     @BeforeEach
     void beforeEach() {
         entityPgCopy = new UpsertPgCopy<>(Entity.class, meterRegistry, recordParserProperties,
-                entityUpsertQueryGenerator);
+                entityUpsertQueryGenerator, isStagedMerge());
         nftPgCopy = new UpsertPgCopy<>(Nft.class, meterRegistry, recordParserProperties,
-                nftUpsertQueryGenerator);
+                nftUpsertQueryGenerator, isStagedMerge());
         schedulePgCopy = new UpsertPgCopy<>(Schedule.class, meterRegistry, recordParserProperties,
-                scheduleUpsertQueryGenerator);
+                scheduleUpsertQueryGenerator, isStagedMerge());
         tokenAccountPgCopy = new UpsertPgCopy<>(TokenAccount.class, meterRegistry, recordParserProperties,
-                tokenAccountUpsertQueryGenerator);
+                tokenAccountUpsertQueryGenerator, isStagedMerge());
         tokenPgCopy = new UpsertPgCopy<>(Token.class, meterRegistry, recordParserProperties,
-                tokenUpsertQueryGenerator);
+                tokenUpsertQueryGenerator, isStagedMerge());
+    }
+
+    protected boolean isStagedMerge() {
+        return false;
     }
 
     @Test
@@ -34,22 +34,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.hedera.mirror.importer.domain.Entity;
 import com.hedera.mirror.importer.domain.EntityTypeEnum;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.entity.EntityBatchFlushEvent;
 import com.hedera.mirror.importer.repository.NftRepository;
 import com.hedera.mirror.importer.util.Utility;
 
 @ExtendWith(MockitoExtension.class)
 class TokenUpdateTransactionHandlerTest extends AbstractTransactionHandlerTest {
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private NftRepository nftRepository;
 
     @Override
     protected TransactionHandler getTransactionHandler() {
-        return new TokenUpdateTransactionHandler(nftRepository);
+        return new TokenUpdateTransactionHandler(eventPublisher, nftRepository);
     }
 
     @Override
@@ -96,6 +101,7 @@ class TokenUpdateTransactionHandlerTest extends AbstractTransactionHandlerTest {
 
         transactionHandler.updateEntity(entity, recordItem);
 
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(EntityBatchFlushEvent.class));
         Mockito.verify(nftRepository).updateTreasury(tokenID.getTokenNum(), previousAccountId.getAccountNum(),
                 newAccountId.getAccountNum(), consensusTimestamp);
     }
@@ -116,6 +122,6 @@ class TokenUpdateTransactionHandlerTest extends AbstractTransactionHandlerTest {
 
         transactionHandler.updateEntity(entity, recordItem);
 
-        Mockito.verifyNoInteractions(nftRepository);
+        Mockito.verifyNoInteractions(eventPublisher, nftRepository);
     }
 }
@@ -0,0 +1,173 @@
+package com.hedera.mirror.importer.reader;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.hedera.mirror.importer.exception.InvalidStreamFileException;
+
+class ValidatedByteBufferTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "0, 1"
+    })
+    void readByte(byte actual, byte expected) {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(new byte[] {actual});
+        if (actual == expected) {
+            assertThat(buffer.readByte(expected, "testfield")).isEqualTo(expected);
+        } else {
+            assertThrows(InvalidStreamFileException.class, () -> buffer.readByte(expected, "testfield"));
+        }
+    }
+
+    @Test
+    void readByteTruncated() {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(new byte[0]);
+        assertThrows(InvalidStreamFileException.class, () -> buffer.readByte((byte) 0, "testfield"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "0, 1"
+    })
+    void readInt(int actual, int expected) {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(Ints.toByteArray(actual));
+        if (actual == expected) {
+            assertThat(buffer.readInt(expected, "testfield")).isEqualTo(expected);
+        } else {
+            assertThrows(InvalidStreamFileException.class, () -> buffer.readInt(expected, "testfield"));
+        }
+    }
+
+    @Test
+    void readIntTruncated() {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(new byte[Integer.BYTES - 1]);
+        assertThrows(InvalidStreamFileException.class, () -> buffer.readInt(0, "testfield"));
+    }
+
+    @Test
+    void peekLong() {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(Longs.toByteArray(5L));
+        assertThat(buffer.peekLong()).isEqualTo(5L);
+        assertThat(buffer.position()).isZero();
+        assertThat(buffer.readLong()).isEqualTo(5L);
+        assertThat(buffer.remaining()).isZero();
+        assertThrows(InvalidStreamFileException.class, buffer::peekLong);
+    }
+
+    @ParameterizedTest(name = "read length({0}) data from {1}-byte value field with valid length in [{3}, {4}]")
+    @CsvSource({
+            "1, 2, 1, 10, false",
+            "6, 6, 1, 10, false",
+            "6, 10, 1, 10, false",
+            "6, 6, 6, 6, false",
+            "6, 6, 7, 10, true",
+            "5, 6, 6, 6, true",
+            "6, 5, 1, 10, true",
+            "0, 2, 1, 10, true",
+            "-1, 2, 1, 10, true",
+            "11, 10, 1, 10, true"
+    })
+    void readLengthAndBytes(int length, int dataLength, int minLength, int maxLength, boolean expectThrown) {
+        ByteBuffer data = ByteBuffer.allocate(Integer.BYTES + dataLength).putInt(length).rewind();
+        ValidatedByteBuffer buffer = new ValidatedByteBuffer(data, "testfile");
+
+        if (expectThrown) {
+            assertThrows(InvalidStreamFileException.class,
+                    () -> buffer.readLengthAndBytes(minLength, maxLength, false, "test"));
+        } else {
+            ByteBuffer actual = buffer.readLengthAndBytes(minLength, maxLength, false, "test");
+
+            assertThat(actual.remaining()).isEqualTo(length);
+            assertThat(actual.array()).isSameAs(data.array());
+            assertThat(buffer.position()).isEqualTo(Integer.BYTES + length);
+        }
+    }
+
+    @ParameterizedTest(name = "read length({0}) data with checksum {1}, expectThrown ? {2}")
+    @CsvSource({
+            "101, 0, false",
+            "101, 100, true"
+    })
+    void readLengthAndBytesWithChecksum(int length, int checksum, boolean expectThrown) {
+        ByteBuffer data = ByteBuffer.allocate(2 * Integer.BYTES + length)
+                .putInt(length)
+                .putInt(checksum)
+                .rewind();
+        ValidatedByteBuffer buffer = new ValidatedByteBuffer(data, "testfile");
+
+        if (expectThrown) {
+            assertThrows(InvalidStreamFileException.class, () -> buffer.readLengthAndBytes(length, length, true,
+                    "test"));
+        } else {
+            assertThat(buffer.readLengthAndBytes(length, length, true, "test").remaining()).isEqualTo(length);
+        }
+    }
+
+    @Test
+    void readLengthAndBytesWithTruncatedLengthField() {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(new byte[1]);
+        assertThrows(InvalidStreamFileException.class, () -> buffer.readLengthAndBytes(10, 10, false, "testfield"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "10, 10",
+            "12, 10",
+            "6, 10"
+    })
+    void readNBytes(int actualLength, int expectedLength) {
+        ValidatedByteBuffer buffer = getValidatedByteBuffer(new byte[actualLength]);
+        if (actualLength >= expectedLength) {
+            assertThat(buffer.readNBytes(expectedLength, "testfield").remaining()).isEqualTo(expectedLength);
+        } else {
+            assertThrows(InvalidStreamFileException.class, () -> buffer.readNBytes(expectedLength, "testfield"));
+        }
+    }
+
+    @Test
+    void slice() {
+        byte[] data = {1, 2, 3, 4, 5};
+        ValidatedByteBuffer buffer = new ValidatedByteBuffer(ByteBuffer.wrap(data).position(1), "testfile");
+        buffer.readNBytes(3, "testfield");
+
+        ByteBuffer slice = buffer.slice(1, 3);
+        assertThat(slice.remaining()).isEqualTo(2);
+        assertThat(slice.get(0)).isEqualTo((byte) 3);
+        assertThat(slice.array()).isSameAs(data);
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    private ValidatedByteBuffer getValidatedByteBuffer(byte[] data) {
+        return new ValidatedByteBuffer(ByteBuffer.wrap(data), "testfile");
+    }
+}
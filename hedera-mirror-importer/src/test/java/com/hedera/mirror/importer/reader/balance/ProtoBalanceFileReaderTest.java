@@ -45,6 +45,7 @@ import com.hedera.mirror.importer.domain.EntityTypeEnum;
 import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.domain.TokenBalance;
 import com.hedera.mirror.importer.exception.InvalidStreamFileException;
+import com.hedera.mirror.importer.parser.balance.BalanceParserProperties;
 import com.hedera.mirror.importer.util.Utility;
 import com.hedera.services.stream.proto.AllAccountBalances;
 import com.hedera.services.stream.proto.SingleAccountBalances;
@@ -65,7 +66,7 @@ class ProtoBalanceFileReaderTest {
         streamFileData = StreamFileData.from(file);
         expected = getExpectedAccountBalanceFile(streamFileData);
 
-        protoBalanceFileReader = new ProtoBalanceFileReader();
+        protoBalanceFileReader = new ProtoBalanceFileReader(new BalanceParserProperties());
     }
 
     @Test
@@ -24,9 +24,9 @@ class CompositeRecordFileReaderTest extends RecordFileReaderTest {
 
     @Override
     protected RecordFileReader getRecordFileReader() {
-        RecordFileReaderImplV1 v1Reader = new RecordFileReaderImplV1();
-        RecordFileReaderImplV2 v2Reader = new RecordFileReaderImplV2();
-        RecordFileReaderImplV5 v5Reader = new RecordFileReaderImplV5();
+        RecordFileReaderImplV1 v1Reader = new RecordFileReaderImplV1(recordParserProperties);
+        RecordFileReaderImplV2 v2Reader = new RecordFileReaderImplV2(recordParserProperties);
+        RecordFileReaderImplV5 v5Reader = new RecordFileReaderImplV5(recordParserProperties);
         return new CompositeRecordFileReader(v1Reader, v2Reader, v5Reader);
     }
 
@@ -24,7 +24,7 @@ class RecordFileReaderImplV1Test extends AbstractRecordFileReaderTest {
 
     @Override
     protected RecordFileReader getRecordFileReader() {
-        return new RecordFileReaderImplV1();
+        return new RecordFileReaderImplV1(recordParserProperties);
     }
 
     @Override
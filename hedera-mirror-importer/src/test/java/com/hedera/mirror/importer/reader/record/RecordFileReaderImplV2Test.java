@@ -24,7 +24,7 @@ class RecordFileReaderImplV2Test extends AbstractRecordFileReaderTest {
 
     @Override
     protected RecordFileReader getRecordFileReader() {
-        return new RecordFileReaderImplV2();
+        return new RecordFileReaderImplV2(recordParserProperties);
     }
 
     @Override
@@ -24,7 +24,7 @@ class RecordFileReaderImplV5Test extends AbstractRecordFileReaderTest {
 
     @Override
     protected RecordFileReader getRecordFileReader() {
-        return new RecordFileReaderImplV5();
+        return new RecordFileReaderImplV5(recordParserProperties);
     }
 
     @Override
@@ -0,0 +1,112 @@
+package com.hedera.mirror.importer.reader.record;
+
+/*-
+ * ‌
+ * Hedera Mirror Node
+ * ​
+ * Copyright (C) 2019 - 2021 Hedera Hashgraph, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.Stopwatch;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.hedera.mirror.importer.domain.RecordFile;
+import com.hedera.mirror.importer.domain.StreamFileData;
+import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
+
+/**
+ * Measures the throughput of reading record files and of decoding their items with different parallelism. It only
+ * runs when enabled with -Dbenchmark=true.
+ */
+@Log4j2
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Tag("performance")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RecordFileReaderPerformanceTest {
+
+    private final List<File> testFiles = new ArrayList<>();
+
+    @BeforeAll
+    void setup() throws Exception {
+        File[] files = new ClassPathResource("data/recordstreams/performance/v5").getFile()
+                .listFiles((dir, name) -> name.endsWith(".rcd"));
+        testFiles.addAll(List.of(files));
+    }
+
+    @RepeatedTest(3)
+    @Timeout(30)
+    void read() {
+        RecordFileReader recordFileReader = new RecordFileReaderImplV5(new RecordParserProperties());
+        List<StreamFileData> streamFileDataList = new ArrayList<>();
+        testFiles.forEach(file -> streamFileDataList.add(StreamFileData.from(file)));
+        long bytes = 0;
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        for (StreamFileData streamFileData : streamFileDataList) {
+            RecordFile recordFile = recordFileReader.read(streamFileData);
+            assertThat(recordFile.getFileHash()).isNotEmpty();
+            assertThat(recordFile.getMetadataHash()).isNotEmpty();
+            bytes += streamFileData.getBytes().length;
+        }
+
+        long elapsed = Math.max(stopwatch.elapsed(TimeUnit.MILLISECONDS), 1L);
+        log.info("Read and hashed {} bytes from {} files in {} ms ({} MB/s)",
+                bytes, streamFileDataList.size(), elapsed, bytes * 1000 / elapsed / 1024 / 1024);
+    }
+
+    @ParameterizedTest(name = "decode with parallelism {0}")
+    @ValueSource(ints = {1, 2, 4, 8})
+    @Timeout(30)
+    void decode(int parallelism) {
+        RecordParserProperties recordParserProperties = new RecordParserProperties();
+        recordParserProperties.setParallelism(parallelism);
+        RecordFileReader recordFileReader = new RecordFileReaderImplV5(recordParserProperties);
+        List<RecordFile> recordFiles = new ArrayList<>();
+        testFiles.forEach(file -> recordFiles.add(recordFileReader.read(StreamFileData.from(file))));
+
+        long count = 0;
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        for (RecordFile recordFile : recordFiles) {
+            List<Long> timestamps = recordFile.getItems()
+                    .map(RecordItem::getConsensusTimestamp)
+                    .collectList()
+                    .block();
+            assertThat(timestamps).hasSize(recordFile.getCount().intValue()).isSorted();
+            count += timestamps.size();
+        }
+
+        long elapsed = Math.max(stopwatch.elapsed(TimeUnit.MILLISECONDS), 1L);
+        log.info("Decoded {} record items from {} files with parallelism {} in {} ms ({} items/s)",
+                count, recordFiles.size(), parallelism, elapsed, count * 1000 / elapsed);
+    }
+}
@@ -43,6 +43,7 @@ import com.hedera.mirror.importer.domain.RecordFile;
 import com.hedera.mirror.importer.domain.StreamFileData;
 import com.hedera.mirror.importer.exception.InvalidStreamFileException;
 import com.hedera.mirror.importer.parser.domain.RecordItem;
+import com.hedera.mirror.importer.parser.record.RecordParserProperties;
 
 @ExtendWith(MockitoExtension.class)
 abstract class RecordFileReaderTest {
@@ -50,10 +51,13 @@ abstract class RecordFileReaderTest {
     private static final Collection<RecordFile> ALL_RECORD_FILES = TestRecordFiles.getAll().values();
 
     protected RecordFileReader recordFileReader;
+    protected RecordParserProperties recordParserProperties;
     protected Path testPath;
 
     @BeforeEach
     void setup() throws Exception {
+        recordParserProperties = new RecordParserProperties();
+        recordParserProperties.setParallelism(2);
         testPath = new ClassPathResource("data/recordstreams").getFile().toPath();
         recordFileReader = getRecordFileReader();
     }
@@ -82,6 +86,7 @@ abstract class RecordFileReaderTest {
                             .map(RecordItem::getConsensusTimestamp)
                             .collectList()
                             .block();
+                    assertThat(timestamps).hasSize(recordFile.getCount().intValue());
                     assertThat(timestamps).first().isEqualTo(recordFile.getConsensusStart());
                     assertThat(timestamps).last().isEqualTo(recordFile.getConsensusEnd());
                     assertThat(timestamps).doesNotHaveDuplicates().isSorted();
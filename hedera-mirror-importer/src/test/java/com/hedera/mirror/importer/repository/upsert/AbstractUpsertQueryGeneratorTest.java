@@ -79,4 +79,15 @@ abstract class AbstractUpsertQueryGeneratorTest extends AbstractRepositoryTest {
                 .replaceAll(NullableStringSerializer.NULLABLE_STRING_REPLACEMENT, "<uuid>");
         assertThat(updateQuery).isEqualTo(getUpdateQuery());
     }
+
+    @Test
+    void stagedMerge() {
+        UpsertQueryGenerator upsertQueryGenerator = getUpdatableDomainRepositoryCustom();
+        String tableName = upsertQueryGenerator.getFinalTableName();
+        String stagedMergeQuery = upsertQueryGenerator.getStagedMergeQuery()
+                .replaceAll(NullableStringSerializer.NULLABLE_STRING_REPLACEMENT, "<uuid>");
+        assertThat(stagedMergeQuery).isEqualTo(String.format(
+                "with %s_temp as (delete from %s_staging returning *), %s_updated as (%s) %s",
+                tableName, tableName, tableName, getUpdateQuery(), getInsertQuery()));
+    }
 }